@@ -0,0 +1,55 @@
+package nl.han.asd;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Blocked Floyd-Warshall in double and float mode on a random dense matrix.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 3)
+@Fork(1)
+public class AllPairsBenchmark {
+
+    @Param({"500", "1000", "2000"})
+    int vertexCount;
+
+    @Param({"0.05"})
+    double density;
+
+    @Param("42")
+    long seed;
+
+    private WeightedGraphMatrix graph;
+    private final FloydWarshall floydWarshall = new FloydWarshall();
+
+    @Setup
+    public void setUp() {
+        BenchmarkGraphs graphs = BenchmarkGraphs.createRandom(BenchmarkGraphs.WEIGHTED_MATRIX, vertexCount, density, seed);
+        graph = (WeightedGraphMatrix) graphs.view();
+    }
+
+    @Benchmark
+    public FloydWarshall.Result doubles() {
+        return floydWarshall.solve(graph);
+    }
+
+    @Benchmark
+    public FloydWarshall.Result floats() {
+        return floydWarshall.solveFloat(graph);
+    }
+}
@@ -0,0 +1,191 @@
+package nl.han.asd;
+
+import java.util.Random;
+
+/**
+ * Uniform handle over the four graph classes so every benchmark can be
+ * parameterized over the representation. All randomness is seeded.
+ */
+abstract class BenchmarkGraphs {
+
+    static final String UNWEIGHTED_LIST = "UNWEIGHTED_LIST";
+    static final String UNWEIGHTED_MATRIX = "UNWEIGHTED_MATRIX";
+    static final String WEIGHTED_LIST = "WEIGHTED_LIST";
+    static final String WEIGHTED_MATRIX = "WEIGHTED_MATRIX";
+
+    abstract void addVertex();
+
+    abstract void removeVertex(int vertex);
+
+    abstract void addEdge(int src, int dest, int weight);
+
+    abstract void removeEdge(int src, int dest);
+
+    // Read-side view of the wrapped graph
+    abstract AdjacencyGraph view();
+
+    boolean hasEdge(int src, int dest) {
+        return view().hasEdge(src, dest);
+    }
+
+    int getVertexCount() {
+        return view().getVertexCount();
+    }
+
+    // Sum of the neighbour ids of a vertex, so the scan cannot be optimized away
+    long sumNeighbors(int vertex) {
+        long[] sum = new long[1];
+        view().forEachNeighbor(vertex, neighbor -> sum[0] += neighbor);
+        return sum[0];
+    }
+
+    static BenchmarkGraphs create(String representation, int vertexCount) {
+        switch (representation) {
+            case UNWEIGHTED_LIST:
+                return new UnweightedList(new UnweightedGraphAdjList(vertexCount));
+            case UNWEIGHTED_MATRIX:
+                return new UnweightedMatrix(new UnweightedGraphMatrix(vertexCount));
+            case WEIGHTED_LIST:
+                return new WeightedList(new WeightedGraphAdjList(vertexCount));
+            case WEIGHTED_MATRIX:
+                return new WeightedMatrix(new WeightedGraphMatrix(vertexCount));
+            default:
+                throw new IllegalArgumentException("Unknown representation: " + representation);
+        }
+    }
+
+    /**
+     * Graph with vertexCount vertices and about density * vertexCount^2 random edges.
+     */
+    static BenchmarkGraphs createRandom(String representation, int vertexCount, double density, long seed) {
+        BenchmarkGraphs graph = create(representation, vertexCount);
+        Random random = new Random(seed);
+        long edges = Math.round(density * vertexCount * (double) vertexCount);
+        for (long i = 0; i < edges; i++) {
+            graph.addEdge(random.nextInt(vertexCount), random.nextInt(vertexCount), 1 + random.nextInt(100));
+        }
+        return graph;
+    }
+
+    // count random (src, dest, weight) triples with src and dest in [0, vertexCount)
+    static int[][] randomEdges(int vertexCount, int count, long seed) {
+        Random random = new Random(seed);
+        int[][] edges = new int[count][];
+        for (int i = 0; i < count; i++) {
+            edges[i] = new int[]{random.nextInt(vertexCount), random.nextInt(vertexCount), 1 + random.nextInt(100)};
+        }
+        return edges;
+    }
+
+    private static final class UnweightedList extends BenchmarkGraphs {
+        private final UnweightedGraphAdjList graph;
+
+        UnweightedList(UnweightedGraphAdjList graph) {
+            this.graph = graph;
+        }
+
+        void addVertex() {
+            graph.addVertex();
+        }
+
+        void removeVertex(int vertex) {
+            graph.removeVertex(vertex);
+        }
+
+        void addEdge(int src, int dest, int weight) {
+            graph.addEdge(src, dest);
+        }
+
+        void removeEdge(int src, int dest) {
+            graph.removeEdge(src, dest);
+        }
+
+        AdjacencyGraph view() {
+            return graph;
+        }
+    }
+
+    private static final class UnweightedMatrix extends BenchmarkGraphs {
+        private final UnweightedGraphMatrix graph;
+
+        UnweightedMatrix(UnweightedGraphMatrix graph) {
+            this.graph = graph;
+        }
+
+        void addVertex() {
+            graph.addVertex();
+        }
+
+        void removeVertex(int vertex) {
+            graph.removeVertex(vertex);
+        }
+
+        void addEdge(int src, int dest, int weight) {
+            graph.addEdge(src, dest);
+        }
+
+        void removeEdge(int src, int dest) {
+            graph.removeEdge(src, dest);
+        }
+
+        AdjacencyGraph view() {
+            return graph;
+        }
+    }
+
+    private static final class WeightedList extends BenchmarkGraphs {
+        private final WeightedGraphAdjList graph;
+
+        WeightedList(WeightedGraphAdjList graph) {
+            this.graph = graph;
+        }
+
+        void addVertex() {
+            graph.addVertex();
+        }
+
+        void removeVertex(int vertex) {
+            graph.removeVertex(vertex);
+        }
+
+        void addEdge(int src, int dest, int weight) {
+            graph.addEdge(src, dest, weight);
+        }
+
+        void removeEdge(int src, int dest) {
+            graph.removeEdge(src, dest);
+        }
+
+        AdjacencyGraph view() {
+            return graph;
+        }
+    }
+
+    private static final class WeightedMatrix extends BenchmarkGraphs {
+        private final WeightedGraphMatrix graph;
+
+        WeightedMatrix(WeightedGraphMatrix graph) {
+            this.graph = graph;
+        }
+
+        void addVertex() {
+            graph.addVertex();
+        }
+
+        void removeVertex(int vertex) {
+            graph.removeVertex(vertex);
+        }
+
+        void addEdge(int src, int dest, int weight) {
+            graph.addEdge(src, dest, weight);
+        }
+
+        void removeEdge(int src, int dest) {
+            graph.removeEdge(src, dest);
+        }
+
+        AdjacencyGraph view() {
+            return graph;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package nl.han.asd;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full BFS from vertex 0 with a growing number of worker threads, to see how
+ * ParallelBfs scales on the list and the bit-packed matrix.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BfsBenchmark {
+
+    @Param({"UNWEIGHTED_LIST", "UNWEIGHTED_MATRIX"})
+    String representation;
+
+    @Param({"20000"})
+    int vertexCount;
+
+    @Param({"16"})
+    int averageDegree;
+
+    @Param({"1", "2", "4", "8"})
+    int threads;
+
+    @Param("42")
+    long seed;
+
+    private UnweightedGraphAdjList list;
+    private UnweightedGraphMatrix matrix;
+    private ForkJoinPool pool;
+    private ParallelBfs bfs;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(seed);
+        long edges = (long) vertexCount * averageDegree / 2;
+        if (BenchmarkGraphs.UNWEIGHTED_LIST.equals(representation)) {
+            list = new UnweightedGraphAdjList(vertexCount);
+            for (long i = 0; i < edges; i++) {
+                list.addEdge(random.nextInt(vertexCount), random.nextInt(vertexCount));
+            }
+        } else {
+            matrix = new UnweightedGraphMatrix(vertexCount);
+            for (long i = 0; i < edges; i++) {
+                matrix.addEdge(random.nextInt(vertexCount), random.nextInt(vertexCount));
+            }
+        }
+        pool = new ForkJoinPool(threads);
+        bfs = new ParallelBfs(pool);
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public int[] search() {
+        ParallelBfs.Result result = list != null ? bfs.search(list, 0) : bfs.search(matrix, 0);
+        return result.getDistances();
+    }
+}
@@ -0,0 +1,110 @@
+package nl.han.asd;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of mixed hasEdge/addEdge traffic, 6 reader and 2 writer threads per
+ * group: the striped ConcurrentGraphAdjList against an UnweightedGraphAdjList
+ * behind one global lock, which is what callers did before.
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConcurrentGraphBenchmark {
+
+    @Param({"10000"})
+    int vertexCount;
+
+    @Param({"8"})
+    int averageDegree;
+
+    @Param({"64"})
+    int stripes;
+
+    private ConcurrentGraphAdjList striped;
+    private UnweightedGraphAdjList locked;
+    private final Object globalLock = new Object();
+
+    @Setup
+    public void setUp() {
+        striped = new ConcurrentGraphAdjList(vertexCount, true, stripes);
+        locked = new UnweightedGraphAdjList(vertexCount);
+        Random random = new Random(42);
+        for (long i = 0, edges = (long) vertexCount * averageDegree / 2; i < edges; i++) {
+            int u = random.nextInt(vertexCount);
+            int v = random.nextInt(vertexCount);
+            striped.addEdge(u, v);
+            locked.addEdge(u, v);
+        }
+    }
+
+    @Benchmark
+    @Group("striped")
+    @GroupThreads(6)
+    public boolean stripedRead() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return striped.hasEdge(random.nextInt(vertexCount), random.nextInt(vertexCount));
+    }
+
+    @Benchmark
+    @Group("striped")
+    @GroupThreads(2)
+    public void stripedWrite() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int u = random.nextInt(vertexCount);
+        int v = random.nextInt(vertexCount);
+        if (random.nextBoolean()) {
+            striped.addEdge(u, v);
+        } else {
+            striped.removeEdge(u, v);
+        }
+    }
+
+    @Benchmark
+    @Group("globalLock")
+    @GroupThreads(6)
+    public boolean lockedRead() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int u = random.nextInt(vertexCount);
+        int v = random.nextInt(vertexCount);
+        synchronized (globalLock) {
+            return locked.hasEdge(u, v);
+        }
+    }
+
+    @Benchmark
+    @Group("globalLock")
+    @GroupThreads(2)
+    public void lockedWrite() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int u = random.nextInt(vertexCount);
+        int v = random.nextInt(vertexCount);
+        boolean add = random.nextBoolean();
+        synchronized (globalLock) {
+            if (add) {
+                locked.addEdge(u, v);
+            } else {
+                locked.removeEdge(u, v);
+            }
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package nl.han.asd;
+
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loading a generated 'verbindingslijst_gewogen' dataset: Gson into a Map (the
+ * original Graph.loadDataset path), the streaming loader, and mapping the binary format.
+ * Loading is a cold-start cost, so each iteration is a single shot; this also keeps
+ * the number of live file mappings bounded.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 10)
+@Measurement(iterations = 20)
+@Fork(1)
+public class LoadBenchmark {
+
+    @Param({"10000", "100000"})
+    int vertexCount;
+
+    @Param("10")
+    int degree;
+
+    @Param("42")
+    long seed;
+
+    private Path jsonFile;
+    private Path binaryFile;
+
+    @Setup
+    public void writeFiles() throws IOException {
+        jsonFile = Files.createTempFile("dataset", ".json");
+        binaryFile = Files.createTempFile("dataset", ".bin");
+        Random random = new Random(seed);
+        try (Writer writer = Files.newBufferedWriter(jsonFile, StandardCharsets.UTF_8)) {
+            writer.write("{\"verbindingslijst_gewogen\": [");
+            for (int v = 0; v < vertexCount; v++) {
+                writer.write(v == 0 ? "[" : ",[");
+                for (int i = 0; i < degree; i++) {
+                    if (i > 0) {
+                        writer.write(',');
+                    }
+                    writer.write("[" + random.nextInt(vertexCount) + "," + (1 + random.nextInt(100)) + "]");
+                }
+                writer.write(']');
+            }
+            writer.write("]}");
+        }
+        BinaryGraphFormat.write(gsonMap(), binaryFile);
+    }
+
+    @TearDown
+    public void deleteFiles() throws IOException {
+        Files.deleteIfExists(jsonFile);
+        Files.deleteIfExists(binaryFile);
+    }
+
+    @Benchmark
+    public WeightedGraphAdjList gsonMap() throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(jsonFile, StandardCharsets.UTF_8)) {
+            Type type = new TypeToken<Map<String, Object>>() {}.getType();
+            Map<String, Object> dataset = new Gson().fromJson(reader, type);
+            @SuppressWarnings("unchecked")
+            List<List<List<Object>>> lists =
+                    (List<List<List<Object>>>) dataset.get("verbindingslijst_gewogen");
+            return new WeightedGraphAdjList(lists);
+        }
+    }
+
+    @Benchmark
+    public WeightedGraphAdjList streaming() throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(jsonFile, StandardCharsets.UTF_8)) {
+            return new StreamingDatasetLoader().load(reader).getWeightedAdjacencyList();
+        }
+    }
+
+    @Benchmark
+    public MappedCsrGraph binaryMapped() throws IOException {
+        return BinaryGraphFormat.map(binaryFile);
+    }
+}
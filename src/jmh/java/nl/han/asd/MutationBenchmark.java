@@ -0,0 +1,102 @@
+package nl.han.asd;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Add/remove vertex and edge costs. Every invocation starts from a freshly built,
+ * identically seeded graph and applies BATCH operations, so the list and matrix
+ * representations see exactly the same sequence of mutations.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MutationBenchmark {
+
+    static final int BATCH = 256;
+
+    @Param({"UNWEIGHTED_LIST", "UNWEIGHTED_MATRIX", "WEIGHTED_LIST", "WEIGHTED_MATRIX"})
+    String representation;
+
+    @Param({"1000", "4000"})
+    int vertexCount;
+
+    @Param({"0.001", "0.01"})
+    double density;
+
+    @Param("42")
+    long seed;
+
+    private BenchmarkGraphs graph;
+    private int[][] edges;
+    private int[] removals;
+
+    @Setup(Level.Trial)
+    public void prepareOperations() {
+        edges = BenchmarkGraphs.randomEdges(vertexCount, BATCH, seed + 1);
+        // Each removal index is drawn from the shrinking range, identical for every representation
+        Random random = new Random(seed + 2);
+        removals = new int[BATCH];
+        for (int i = 0; i < BATCH; i++) {
+            removals[i] = random.nextInt(vertexCount - i);
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void buildGraph() {
+        graph = BenchmarkGraphs.createRandom(representation, vertexCount, density, seed);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public BenchmarkGraphs addVertex() {
+        for (int i = 0; i < BATCH; i++) {
+            graph.addVertex();
+        }
+        return graph;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public BenchmarkGraphs removeVertex() {
+        for (int v : removals) {
+            graph.removeVertex(v);
+        }
+        return graph;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public BenchmarkGraphs addEdge() {
+        for (int[] e : edges) {
+            graph.addEdge(e[0], e[1], e[2]);
+        }
+        return graph;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public BenchmarkGraphs removeEdge() {
+        for (int[] e : edges) {
+            graph.removeEdge(e[0], e[1]);
+        }
+        return graph;
+    }
+}
@@ -0,0 +1,81 @@
+package nl.han.asd;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A fixed 20 PageRank iterations (tolerance 0) on a random directed weighted graph
+ * with a growing number of worker threads, to see how the pull-based engine scales.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PageRankBenchmark {
+
+    @Param({"200000"})
+    int vertexCount;
+
+    @Param({"8"})
+    int averageDegree;
+
+    @Param({"1", "2", "4", "8"})
+    int threads;
+
+    @Param("42")
+    long seed;
+
+    private CsrGraph graph;
+    private ForkJoinPool pool;
+    private PageRank pageRank;
+    private int[] seeds;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(seed);
+        int edges = vertexCount * averageDegree;
+        int[] sources = new int[edges];
+        int[] targets = new int[edges];
+        int[] weights = new int[edges];
+        for (int i = 0; i < edges; i++) {
+            sources[i] = random.nextInt(vertexCount);
+            targets[i] = random.nextInt(vertexCount);
+            weights[i] = 1 + random.nextInt(100);
+        }
+        graph = new EdgeListBuilder().buildCsr(new EdgeList(sources, targets, weights), vertexCount, false);
+        seeds = new int[]{0, vertexCount / 2};
+        pool = new ForkJoinPool(threads);
+        pageRank = new PageRank(pool, PageRank.DEFAULT_DAMPING, 0, 20);
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public double[] global() {
+        return pageRank.compute(graph).getRanks();
+    }
+
+    @Benchmark
+    public double[] personalized() {
+        return pageRank.personalized(graph, seeds).getRanks();
+    }
+}
@@ -0,0 +1,70 @@
+package nl.han.asd;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Read-only costs: hasEdge on seeded random pairs and a full neighbour scan.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QueryBenchmark {
+
+    static final int QUERIES = 4096;
+
+    @Param({"UNWEIGHTED_LIST", "UNWEIGHTED_MATRIX", "WEIGHTED_LIST", "WEIGHTED_MATRIX"})
+    String representation;
+
+    @Param({"1000", "4000"})
+    int vertexCount;
+
+    @Param({"0.001", "0.01"})
+    double density;
+
+    @Param("42")
+    long seed;
+
+    private BenchmarkGraphs graph;
+    private int[][] queries;
+
+    @Setup
+    public void setUp() {
+        graph = BenchmarkGraphs.createRandom(representation, vertexCount, density, seed);
+        queries = BenchmarkGraphs.randomEdges(vertexCount, QUERIES, seed + 1);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(QUERIES)
+    public void hasEdge(Blackhole blackhole) {
+        for (int[] q : queries) {
+            blackhole.consume(graph.hasEdge(q[0], q[1]));
+        }
+    }
+
+    // One pass over every neighbour of every vertex
+    @Benchmark
+    public long neighborScan() {
+        long sum = 0;
+        for (int v = 0, n = graph.getVertexCount(); v < n; v++) {
+            sum += graph.sumNeighbors(v);
+        }
+        return sum;
+    }
+}
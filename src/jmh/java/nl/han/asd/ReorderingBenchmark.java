@@ -0,0 +1,128 @@
+package nl.han.asd;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Traversals of a side x side grid whose ids were shuffled, before and after
+ * relabelling with VertexOrdering: a BFS over the adjacency list, and a gather
+ * sweep over the CSR copy (every vertex sums a value of each neighbour, the
+ * access pattern of PageRank). The graph is the same in every case; only the
+ * memory layout changes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReorderingBenchmark {
+
+    @Param({"SHUFFLED", "RCM", "DEGREE", "BFS"})
+    String ordering;
+
+    @Param({"1000"})
+    int side;
+
+    @Param("42")
+    long seed;
+
+    private UnweightedGraphAdjList list;
+    private CsrGraph csr;
+    private double[] values;
+    private int source;
+    private ForkJoinPool pool;
+    private ParallelBfs bfs;
+
+    @Setup
+    public void setUp() {
+        int n = side * side;
+        int[] ids = new int[n];
+        for (int v = 0; v < n; v++) {
+            ids[v] = v;
+        }
+        Random random = new Random(seed);
+        for (int v = n - 1; v > 0; v--) {
+            int j = random.nextInt(v + 1);
+            int swap = ids[v];
+            ids[v] = ids[j];
+            ids[j] = swap;
+        }
+        int[] sources = new int[2 * n];
+        int[] targets = new int[2 * n];
+        int m = 0;
+        for (int row = 0; row < side; row++) {
+            for (int col = 0; col < side; col++) {
+                if (col + 1 < side) {
+                    sources[m] = ids[row * side + col];
+                    targets[m++] = ids[row * side + col + 1];
+                }
+                if (row + 1 < side) {
+                    sources[m] = ids[row * side + col];
+                    targets[m++] = ids[(row + 1) * side + col];
+                }
+            }
+        }
+        list = new EdgeListBuilder().buildUnweightedAdjList(new EdgeList(
+                Arrays.copyOf(sources, m), Arrays.copyOf(targets, m), null), n);
+        source = ids[0];
+
+        VertexOrdering order = null;
+        if ("RCM".equals(ordering)) {
+            order = VertexOrdering.reverseCuthillMcKee(list);
+        } else if ("DEGREE".equals(ordering)) {
+            order = VertexOrdering.byDegree(list);
+        } else if ("BFS".equals(ordering)) {
+            order = VertexOrdering.bfs(list, source);
+        }
+        if (order != null) {
+            list = order.apply(list);
+            source = order.toNew(source);
+        }
+        csr = list.toCsr();
+        values = new double[n];
+        for (int v = 0; v < n; v++) {
+            values[v] = random.nextDouble();
+        }
+        pool = new ForkJoinPool(1);
+        bfs = new ParallelBfs(pool);
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public int[] bfs() {
+        return bfs.search(list, source).getDistances();
+    }
+
+    @Benchmark
+    public double gather() {
+        double total = 0;
+        for (int v = 0, n = csr.getVertexCount(); v < n; v++) {
+            double sum = 0;
+            for (int i = csr.getRowStart(v), end = csr.getRowEnd(v); i < end; i++) {
+                sum += values[csr.getTargetAt(i)];
+            }
+            total += sum;
+        }
+        return total;
+    }
+}
@@ -0,0 +1,100 @@
+package nl.han.asd;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ingesting a generated weighted text edge list: BufferedReader with split and
+ * parseInt (one String per line and field), the chunked TextEdgeListReader, and
+ * the reader followed by EdgeListBuilder into CSR.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class TextEdgeListBenchmark {
+
+    @Param({"1000000"})
+    int edgeCount;
+
+    @Param("100000")
+    int vertexCount;
+
+    @Param("42")
+    long seed;
+
+    private Path file;
+
+    @Setup
+    public void writeFile() throws IOException {
+        file = Files.createTempFile("edges", ".txt");
+        Random random = new Random(seed);
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.US_ASCII)) {
+            for (int i = 0; i < edgeCount; i++) {
+                writer.write(random.nextInt(vertexCount) + "\t" + random.nextInt(vertexCount) + "\t"
+                        + (1 + random.nextInt(100)) + "\n");
+            }
+        }
+    }
+
+    @TearDown
+    public void deleteFile() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public EdgeList bufferedReaderSplit() throws IOException {
+        int[] sources = new int[16];
+        int[] targets = new int[16];
+        int[] weights = new int[16];
+        int size = 0;
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.US_ASCII)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] fields = line.trim().split("[\\s,;]+");
+                if (size == sources.length) {
+                    sources = Arrays.copyOf(sources, size * 2);
+                    targets = Arrays.copyOf(targets, size * 2);
+                    weights = Arrays.copyOf(weights, size * 2);
+                }
+                sources[size] = Integer.parseInt(fields[0]);
+                targets[size] = Integer.parseInt(fields[1]);
+                weights[size] = Integer.parseInt(fields[2]);
+                size++;
+            }
+        }
+        return new EdgeList(Arrays.copyOf(sources, size), Arrays.copyOf(targets, size), Arrays.copyOf(weights, size));
+    }
+
+    @Benchmark
+    public EdgeList chunkedReader() throws IOException {
+        return new TextEdgeListReader().read(file, true);
+    }
+
+    @Benchmark
+    public CsrGraph chunkedReaderAndBuild() throws IOException {
+        return new EdgeListBuilder().buildCsr(new TextEdgeListReader().read(file, true), vertexCount, false);
+    }
+}
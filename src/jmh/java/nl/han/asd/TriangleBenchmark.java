@@ -0,0 +1,83 @@
+package nl.han.asd;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Triangle counting on a random graph with a few hubs (so orientation and
+ * galloping matter) with a growing number of worker threads, on the list and
+ * the bit-packed matrix.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TriangleBenchmark {
+
+    @Param({"UNWEIGHTED_LIST", "UNWEIGHTED_MATRIX"})
+    String representation;
+
+    @Param({"20000"})
+    int vertexCount;
+
+    @Param({"16"})
+    int averageDegree;
+
+    @Param({"1", "2", "4", "8"})
+    int threads;
+
+    @Param("42")
+    long seed;
+
+    private UnweightedGraphAdjList list;
+    private UnweightedGraphMatrix matrix;
+    private ForkJoinPool pool;
+    private TriangleCounter counter;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(seed);
+        list = new UnweightedGraphAdjList(vertexCount);
+        long edges = (long) vertexCount * averageDegree / 2;
+        for (long i = 0; i < edges; i++) {
+            list.addEdge(random.nextInt(vertexCount), random.nextInt(vertexCount));
+        }
+        for (int hub = 0; hub < 10; hub++) {
+            for (int v = hub; v < vertexCount; v += 4) {
+                list.addEdge(hub, v);
+            }
+        }
+        if (BenchmarkGraphs.UNWEIGHTED_MATRIX.equals(representation)) {
+            matrix = UnweightedGraphMatrix.fromAdjList(list);
+            list = null;
+        }
+        pool = new ForkJoinPool(threads);
+        counter = new TriangleCounter(pool);
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public long count() {
+        return (list != null ? counter.count(list) : counter.count(matrix)).getTotal();
+    }
+}
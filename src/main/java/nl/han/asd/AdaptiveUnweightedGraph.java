@@ -0,0 +1,173 @@
+package nl.han.asd;
+
+import java.util.function.IntConsumer;
+
+/**
+ * Undirected unweighted graph that switches between UnweightedGraphAdjList and the
+ * bit-packed UnweightedGraphMatrix based on density, with the same hysteresis rules
+ * as AdaptiveWeightedGraph. Density counts both directions of every edge, so a
+ * complete graph has density 1.
+ */
+public class AdaptiveUnweightedGraph implements AdjacencyGraph {
+
+    // The bit matrix is 64x smaller than the weighted one, so it pays off much earlier
+    public static final double DEFAULT_TO_MATRIX_DENSITY = 1.0 / 32;
+    public static final double DEFAULT_TO_LIST_DENSITY = 1.0 / 128;
+    public static final int DEFAULT_MAX_MATRIX_VERTICES = 65536;
+
+    private final double toMatrixDensity;
+    private final double toListDensity;
+    private final int maxMatrixVertices;
+
+    // Exactly one of the two is non-null
+    private UnweightedGraphAdjList list;
+    private UnweightedGraphMatrix matrix;
+    private long arcCount;
+    private long selfLoops;
+    private int conversions;
+    // Own counter: the wrapped graph is replaced on every conversion
+    private long version;
+
+    public AdaptiveUnweightedGraph(int numVertices) {
+        this(numVertices, DEFAULT_TO_MATRIX_DENSITY, DEFAULT_TO_LIST_DENSITY, DEFAULT_MAX_MATRIX_VERTICES);
+    }
+
+    public AdaptiveUnweightedGraph(int numVertices, double toMatrixDensity, double toListDensity, int maxMatrixVertices) {
+        if (toListDensity >= toMatrixDensity) {
+            throw new IllegalArgumentException("toListDensity must be lower than toMatrixDensity.");
+        }
+        this.toMatrixDensity = toMatrixDensity;
+        this.toListDensity = toListDensity;
+        this.maxMatrixVertices = maxMatrixVertices;
+        this.list = new UnweightedGraphAdjList(numVertices);
+    }
+
+    private AdjacencyGraph current() {
+        return list != null ? list : matrix;
+    }
+
+    public void addVertex() {
+        version++;
+        if (list != null) {
+            list.addVertex();
+        } else {
+            matrix.addVertex();
+        }
+        adapt();
+    }
+
+    public void removeVertex(int vertex) {
+        version++;
+        // Undirected: every arc out of the vertex has a mirror arc into it
+        int degree = current().degree(vertex);
+        boolean selfLoop = current().hasEdge(vertex, vertex);
+        if (list != null) {
+            list.removeVertex(vertex);
+        } else {
+            matrix.removeVertex(vertex);
+        }
+        arcCount -= 2L * degree - (selfLoop ? 1 : 0);
+        if (selfLoop) {
+            selfLoops--;
+        }
+        adapt();
+    }
+
+    public void addEdge(int src, int dest) {
+        boolean existed = hasEdge(src, dest);
+        version++;
+        if (list != null) {
+            list.addEdge(src, dest);
+        } else {
+            matrix.addEdge(src, dest);
+        }
+        if (!existed && hasEdge(src, dest)) {
+            if (src == dest) {
+                arcCount++;
+                selfLoops++;
+            } else {
+                arcCount += 2;
+            }
+            adapt();
+        }
+    }
+
+    public void removeEdge(int src, int dest) {
+        if (!hasEdge(src, dest)) {
+            return;
+        }
+        version++;
+        if (list != null) {
+            list.removeEdge(src, dest);
+        } else {
+            matrix.removeEdge(src, dest);
+        }
+        if (src == dest) {
+            arcCount--;
+            selfLoops--;
+        } else {
+            arcCount -= 2;
+        }
+        adapt();
+    }
+
+    public double getDensity() {
+        long n = getVertexCount();
+        return n == 0 ? 0.0 : (double) arcCount / (n * n);
+    }
+
+    private void adapt() {
+        double density = getDensity();
+        if (list != null && density > toMatrixDensity && list.getVertexCount() <= maxMatrixVertices) {
+            matrix = UnweightedGraphMatrix.fromAdjList(list);
+            list = null;
+            conversions++;
+        } else if (matrix != null && (density < toListDensity || matrix.getVertexCount() > maxMatrixVertices)) {
+            list = UnweightedGraphAdjList.fromMatrix(matrix);
+            matrix = null;
+            conversions++;
+        }
+    }
+
+    public boolean isMatrix() {
+        return matrix != null;
+    }
+
+    // Number of representation switches so far
+    public int getConversionCount() {
+        return conversions;
+    }
+
+    // Number of undirected edges (self-loops count once)
+    public long getEdgeCount() {
+        return (arcCount + selfLoops) / 2;
+    }
+
+    public int getVertexCount() {
+        return current().getVertexCount();
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public boolean hasEdge(int src, int dest) {
+        return current().hasEdge(src, dest);
+    }
+
+    public int degree(int vertex) {
+        return current().degree(vertex);
+    }
+
+    public void forEachNeighbor(int vertex, IntConsumer action) {
+        current().forEachNeighbor(vertex, action);
+    }
+
+    public void printGraph() {
+        if (list != null) {
+            list.printGraph();
+        } else {
+            matrix.printGraph();
+        }
+    }
+}
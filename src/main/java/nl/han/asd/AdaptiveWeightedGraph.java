@@ -0,0 +1,171 @@
+package nl.han.asd;
+
+import java.util.function.IntConsumer;
+
+/**
+ * Directed weighted graph that picks its own representation: a WeightedGraphAdjList
+ * while the graph is sparse and a WeightedGraphMatrix once it becomes dense.
+ * Density is the number of edges divided by vertexCount^2. Switching to the matrix
+ * happens above toMatrixDensity (and only up to maxMatrixVertices vertices), switching
+ * back happens below toListDensity; the gap between the two prevents flip-flopping.
+ * Each switch is a single bulk conversion (WeightedGraphMatrix.fromAdjList /
+ * WeightedGraphAdjList.fromMatrix).
+ */
+public class AdaptiveWeightedGraph implements WeightedAdjacencyGraph {
+
+    public static final double DEFAULT_TO_MATRIX_DENSITY = 0.25;
+    public static final double DEFAULT_TO_LIST_DENSITY = 0.05;
+    public static final int DEFAULT_MAX_MATRIX_VERTICES = 8192;
+
+    private final double toMatrixDensity;
+    private final double toListDensity;
+    private final int maxMatrixVertices;
+
+    // Exactly one of the two is non-null
+    private WeightedGraphAdjList list;
+    private WeightedGraphMatrix matrix;
+    private long edgeCount;
+    private int conversions;
+    // Own counter: the wrapped graph is replaced on every conversion
+    private long version;
+
+    public AdaptiveWeightedGraph(int numVertices) {
+        this(numVertices, DEFAULT_TO_MATRIX_DENSITY, DEFAULT_TO_LIST_DENSITY, DEFAULT_MAX_MATRIX_VERTICES);
+    }
+
+    public AdaptiveWeightedGraph(int numVertices, double toMatrixDensity, double toListDensity, int maxMatrixVertices) {
+        if (toListDensity >= toMatrixDensity) {
+            throw new IllegalArgumentException("toListDensity must be lower than toMatrixDensity.");
+        }
+        this.toMatrixDensity = toMatrixDensity;
+        this.toListDensity = toListDensity;
+        this.maxMatrixVertices = maxMatrixVertices;
+        this.list = new WeightedGraphAdjList(numVertices);
+    }
+
+    private WeightedAdjacencyGraph current() {
+        return list != null ? list : matrix;
+    }
+
+    public void addVertex() {
+        version++;
+        if (list != null) {
+            list.addVertex();
+        } else {
+            matrix.addVertex();
+        }
+        adapt();
+    }
+
+    public void removeVertex(int vertex) {
+        version++;
+        if (list != null) {
+            list.removeVertex(vertex);
+        } else {
+            matrix.removeVertex(vertex);
+        }
+        // Incoming edges are not tracked, so recount once: O(V)
+        WeightedAdjacencyGraph graph = current();
+        long edges = 0;
+        for (int v = 0; v < graph.getVertexCount(); v++) {
+            edges += graph.degree(v);
+        }
+        edgeCount = edges;
+        adapt();
+    }
+
+    public void addEdge(int src, int dest, int weight) {
+        boolean existed = hasEdge(src, dest);
+        version++;
+        if (list != null) {
+            list.addEdge(src, dest, weight);
+        } else {
+            matrix.addEdge(src, dest, weight);
+        }
+        if (!existed && hasEdge(src, dest)) {
+            edgeCount++;
+            adapt();
+        }
+    }
+
+    public void removeEdge(int src, int dest) {
+        if (!hasEdge(src, dest)) {
+            return;
+        }
+        version++;
+        if (list != null) {
+            list.removeEdge(src, dest);
+        } else {
+            matrix.removeEdge(src, dest);
+        }
+        edgeCount--;
+        adapt();
+    }
+
+    public double getDensity() {
+        long n = getVertexCount();
+        return n == 0 ? 0.0 : (double) edgeCount / (n * n);
+    }
+
+    private void adapt() {
+        double density = getDensity();
+        if (list != null && density > toMatrixDensity && list.getVertexCount() <= maxMatrixVertices) {
+            matrix = WeightedGraphMatrix.fromAdjList(list);
+            list = null;
+            conversions++;
+        } else if (matrix != null && (density < toListDensity || matrix.getVertexCount() > maxMatrixVertices)) {
+            list = WeightedGraphAdjList.fromMatrix(matrix);
+            matrix = null;
+            conversions++;
+        }
+    }
+
+    public boolean isMatrix() {
+        return matrix != null;
+    }
+
+    // Number of representation switches so far
+    public int getConversionCount() {
+        return conversions;
+    }
+
+    public long getEdgeCount() {
+        return edgeCount;
+    }
+
+    public int getVertexCount() {
+        return current().getVertexCount();
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public boolean hasEdge(int src, int dest) {
+        return current().hasEdge(src, dest);
+    }
+
+    public double getWeight(int src, int dest) {
+        return current().getWeight(src, dest);
+    }
+
+    public int degree(int vertex) {
+        return current().degree(vertex);
+    }
+
+    public void forEachNeighbor(int vertex, IntConsumer action) {
+        current().forEachNeighbor(vertex, action);
+    }
+
+    public void forEachEdge(int vertex, EdgeConsumer action) {
+        current().forEachEdge(vertex, action);
+    }
+
+    public void printGraph() {
+        if (list != null) {
+            list.printGraph();
+        } else {
+            matrix.printGraph();
+        }
+    }
+}
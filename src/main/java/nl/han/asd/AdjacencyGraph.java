@@ -0,0 +1,32 @@
+package nl.han.asd;
+
+import java.util.function.IntConsumer;
+
+/**
+ * Read-side view shared by every graph representation, so traversals and
+ * analytics can be written once. Vertices are the ids 0 .. getVertexCount() - 1.
+ */
+public interface AdjacencyGraph {
+
+    int getVertexCount();
+
+    boolean hasEdge(int src, int dest);
+
+    // Number of outgoing neighbours of a vertex
+    int degree(int vertex);
+
+    /**
+     * Call action once for every outgoing neighbour of vertex, without allocating.
+     * The graph must not be modified during the iteration.
+     */
+    void forEachNeighbor(int vertex, IntConsumer action);
+
+    /**
+     * Counter that changes whenever the graph is mutated, so callers can tell
+     * whether anything derived from the graph is still current. Graphs that
+     * cannot change keep the default.
+     */
+    default long getVersion() {
+        return 0;
+    }
+}
@@ -0,0 +1,54 @@
+package nl.han.asd;
+
+import java.util.Arrays;
+
+/**
+ * Outcome of a batch mutation such as addEdges or removeVertices. Invalid entries
+ * are skipped and listed by their position in the input instead of being printed.
+ */
+public class BatchReport {
+
+    private final int requested;
+    private final int applied;
+    private final int[] invalidIndices;
+
+    BatchReport(int requested, int applied, int[] invalidIndices) {
+        this.requested = requested;
+        this.applied = applied;
+        this.invalidIndices = invalidIndices;
+    }
+
+    // Number of entries in the batch
+    public int getRequested() {
+        return requested;
+    }
+
+    // Number of edges or vertices that were actually added or removed
+    public int getApplied() {
+        return applied;
+    }
+
+    // Valid entries that changed nothing: duplicates, or already present / already absent
+    public int getUnchanged() {
+        return requested - applied - invalidIndices.length;
+    }
+
+    public int getInvalidCount() {
+        return invalidIndices.length;
+    }
+
+    // Positions of the invalid entries in the input arrays, ascending
+    public int[] getInvalidIndices() {
+        return invalidIndices.clone();
+    }
+
+    public boolean hasErrors() {
+        return invalidIndices.length > 0;
+    }
+
+    @Override
+    public String toString() {
+        return "BatchReport{requested=" + requested + ", applied=" + applied + ", unchanged=" + getUnchanged()
+                + ", invalid=" + Arrays.toString(invalidIndices) + "}";
+    }
+}
@@ -0,0 +1,203 @@
+package nl.han.asd;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Versioned binary graph file: a fixed header followed by the CSR arrays.
+ *
+ * <pre>
+ * offset  size            content
+ * 0       4               magic "GRPH"
+ * 4       4               format version
+ * 8       4               flags (bit 0: weighted)
+ * 12      4               vertex count n
+ * 16      4               edge count m
+ * 20      4               reserved (0)
+ * 24      4 * (n + 1)     int offsets
+ * ...     4 * m           int targets
+ * ...     0..4            padding to an 8-byte boundary (weighted only)
+ * ...     8 * m           double weights (weighted only)
+ * </pre>
+ *
+ * All values are little-endian. Files are read back with {@link #map(Path)},
+ * which memory-maps the arrays so the graph is usable without deserialization
+ * and several processes can share the same page cache.
+ */
+public final class BinaryGraphFormat {
+
+    static final int MAGIC = 0x48505247; // "GRPH" read as a little-endian int
+    static final int VERSION = 1;
+    static final int FLAG_WEIGHTED = 1;
+    static final int HEADER_BYTES = 24;
+
+    private static final int WRITE_BUFFER_BYTES = 1 << 16;
+
+    private BinaryGraphFormat() {
+    }
+
+    public static void write(UnweightedGraphAdjList graph, Path file) throws IOException {
+        write(graph.toCsr(), file);
+    }
+
+    public static void write(WeightedGraphAdjList graph, Path file) throws IOException {
+        write(graph.toCsr(), file);
+    }
+
+    public static void write(UnweightedGraphMatrix graph, Path file) throws IOException {
+        write(graph.toCsr(), file);
+    }
+
+    public static void write(WeightedGraphMatrix graph, Path file) throws IOException {
+        write(graph.toCsr(), file);
+    }
+
+    public static void write(CsrGraph graph, Path file) throws IOException {
+        int[] offsets = graph.offsets();
+        int[] targets = graph.targets();
+        double[] weights = graph.weights();
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(WRITE_BUFFER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            buffer.putInt(MAGIC);
+            buffer.putInt(VERSION);
+            buffer.putInt(weights == null ? 0 : FLAG_WEIGHTED);
+            buffer.putInt(graph.getVertexCount());
+            buffer.putInt(graph.getEdgeCount());
+            buffer.putInt(0);
+
+            for (int offset : offsets) {
+                ensureRoom(channel, buffer, Integer.BYTES);
+                buffer.putInt(offset);
+            }
+            for (int target : targets) {
+                ensureRoom(channel, buffer, Integer.BYTES);
+                buffer.putInt(target);
+            }
+            if (weights != null) {
+                if ((endOfTargets(graph.getVertexCount(), graph.getEdgeCount()) & 7) != 0) {
+                    ensureRoom(channel, buffer, Integer.BYTES);
+                    buffer.putInt(0);
+                }
+                for (double weight : weights) {
+                    ensureRoom(channel, buffer, Double.BYTES);
+                    buffer.putDouble(weight);
+                }
+            }
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+    }
+
+    private static void ensureRoom(FileChannel channel, ByteBuffer buffer, int bytes) throws IOException {
+        if (buffer.remaining() < bytes) {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+    }
+
+    private static long endOfTargets(int vertexCount, int edgeCount) {
+        return HEADER_BYTES + 4L * (vertexCount + 1) + 4L * edgeCount;
+    }
+
+    private static long weightsPosition(int vertexCount, int edgeCount) {
+        return (endOfTargets(vertexCount, edgeCount) + 7) & ~7L;
+    }
+
+    /**
+     * Memory-map a graph file written by {@link #write(CsrGraph, Path)}.
+     * The returned graph is read-only and stays valid after the channel is closed.
+     */
+    public static MappedCsrGraph map(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_BYTES) {
+                throw new IOException("Not a graph file (too short): " + file);
+            }
+            ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_BYTES)
+                    .order(ByteOrder.LITTLE_ENDIAN);
+            if (header.getInt(0) != MAGIC) {
+                throw new IOException("Not a graph file (bad magic): " + file);
+            }
+            int version = header.getInt(4);
+            if (version != VERSION) {
+                throw new IOException("Unsupported graph file version " + version + ": " + file);
+            }
+            boolean weighted = (header.getInt(8) & FLAG_WEIGHTED) != 0;
+            int vertexCount = header.getInt(12);
+            int edgeCount = header.getInt(16);
+
+            long expectedSize = weighted
+                    ? weightsPosition(vertexCount, edgeCount) + 8L * edgeCount
+                    : endOfTargets(vertexCount, edgeCount);
+            if (vertexCount < 0 || edgeCount < 0 || channel.size() < expectedSize) {
+                throw new IOException("Truncated graph file: " + file);
+            }
+
+            MappedByteBuffer offsets = mapSection(channel, HEADER_BYTES, 4L * (vertexCount + 1));
+            MappedByteBuffer targets = mapSection(channel, HEADER_BYTES + 4L * (vertexCount + 1), 4L * edgeCount);
+            MappedByteBuffer weights = weighted
+                    ? mapSection(channel, weightsPosition(vertexCount, edgeCount), 8L * edgeCount)
+                    : null;
+            return new MappedCsrGraph(vertexCount, edgeCount,
+                    offsets.asIntBuffer(), targets.asIntBuffer(),
+                    weights == null ? null : weights.asDoubleBuffer());
+        }
+    }
+
+    private static MappedByteBuffer mapSection(FileChannel channel, long position, long size) throws IOException {
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException("Graph section of " + size + " bytes exceeds the 2 GB mapping limit.");
+        }
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, size);
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        return buffer;
+    }
+
+    /**
+     * Converter from the dataset.json layout: writes one .bin file per graph section.
+     * Usage: BinaryGraphFormat &lt;dataset.json&gt; &lt;output directory&gt;
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.out.println("Usage: BinaryGraphFormat <dataset.json> <output directory>");
+            return;
+        }
+        StreamingDatasetLoader.Dataset dataset;
+        try (Reader reader = new InputStreamReader(new FileInputStream(args[0]), StandardCharsets.UTF_8)) {
+            dataset = new StreamingDatasetLoader().load(reader);
+        }
+
+        Path outputDir = Paths.get(args[1]);
+        Files.createDirectories(outputDir);
+        if (dataset.getAdjacencyList() != null) {
+            write(dataset.getAdjacencyList(), outputDir.resolve("verbindingslijst.bin"));
+        }
+        if (dataset.getWeightedAdjacencyList() != null) {
+            write(dataset.getWeightedAdjacencyList(), outputDir.resolve("verbindingslijst_gewogen.bin"));
+        }
+        if (dataset.getAdjacencyMatrix() != null) {
+            write(dataset.getAdjacencyMatrix(), outputDir.resolve("verbindingsmatrix.bin"));
+        }
+        if (dataset.getWeightedAdjacencyMatrix() != null) {
+            write(dataset.getWeightedAdjacencyMatrix(), outputDir.resolve("verbindingsmatrix_gewogen.bin"));
+        }
+        System.out.println("Converted " + args[0] + " to " + outputDir);
+    }
+}
@@ -0,0 +1,347 @@
+package nl.han.asd;
+
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.IntConsumer;
+
+/**
+ * Thread-safe adjacency-list graph for mixed read/write traffic. Vertices are
+ * spread over a fixed number of lock stripes (vertex & (stripes - 1)), each a
+ * StampedLock guarding the NeighborSets of its vertices:
+ * <ul>
+ * <li>hasEdge, getWeight and degree read optimistically and only take the read
+ * lock when a writer got in the way, so concurrent readers never block each other;</li>
+ * <li>edge writes lock only the stripe of the source (and of the target for
+ * undirected graphs, in stripe order), so writes on different vertices proceed in
+ * parallel;</li>
+ * <li>addVertex appends under a structural lock and publishes the grown array
+ * before the new count; removeVertex renumbers every set and takes all stripes.</li>
+ * </ul>
+ * Weights are ints, as in WeightedGraphAdjList; addEdge without a weight uses 1.
+ * forEachNeighbor holds the stripe's read lock for the duration of the callback,
+ * so the callback must not write to the graph.
+ */
+public class ConcurrentGraphAdjList implements WeightedAdjacencyGraph {
+
+    public static final int DEFAULT_STRIPES = 64;
+    // Returned by an unlocked lookup that gave up; a real weight of this value just takes the lock
+    private static final int UNSURE = Integer.MIN_VALUE + 1;
+
+    private static final class Stripe {
+        final StampedLock lock = new StampedLock();
+        // Only written under the write lock; summed by getVersion
+        volatile long version;
+    }
+
+    private final boolean undirected;
+    private final Stripe[] stripes;
+    private final int stripeMask;
+    // Serializes addVertex and removeVertex
+    private final Object structureLock = new Object();
+
+    // The array is always published before the count that covers it
+    private volatile NeighborSet[] sets;
+    private volatile int vertexCount;
+    private volatile long structureVersion;
+
+    public ConcurrentGraphAdjList(int numVertices, boolean undirected) {
+        this(numVertices, undirected, DEFAULT_STRIPES);
+    }
+
+    // stripeCount is rounded up to a power of two
+    public ConcurrentGraphAdjList(int numVertices, boolean undirected, int stripeCount) {
+        if (numVertices < 0 || stripeCount < 1) {
+            throw new IllegalArgumentException("Invalid vertex or stripe count: " + numVertices + ", " + stripeCount);
+        }
+        this.undirected = undirected;
+        int count = 1;
+        while (count < stripeCount) {
+            count <<= 1;
+        }
+        this.stripes = new Stripe[count];
+        for (int i = 0; i < count; i++) {
+            stripes[i] = new Stripe();
+        }
+        this.stripeMask = count - 1;
+        NeighborSet[] initial = new NeighborSet[Math.max(numVertices, 16)];
+        for (int v = 0; v < numVertices; v++) {
+            initial[v] = new NeighborSet(true);
+        }
+        this.sets = initial;
+        this.vertexCount = numVertices;
+    }
+
+    public boolean isUndirected() {
+        return undirected;
+    }
+
+    public int getStripeCount() {
+        return stripes.length;
+    }
+
+    private Stripe stripe(int vertex) {
+        return stripes[vertex & stripeMask];
+    }
+
+    // An undirected edge write locks both endpoints' stripes, always lowest first
+    private Stripe firstStripe(int src, int dest) {
+        return undirected ? stripes[Math.min(src & stripeMask, dest & stripeMask)] : stripe(src);
+    }
+
+    private Stripe secondStripe(int src, int dest) {
+        return undirected ? stripes[Math.max(src & stripeMask, dest & stripeMask)] : stripe(src);
+    }
+
+    private boolean isValidVertex(int vertex) {
+        return vertex >= 0 && vertex < vertexCount;
+    }
+
+    private void checkVertexId(int vertex) {
+        if (!isValidVertex(vertex)) {
+            throw new IllegalArgumentException("Vertex " + vertex + " is out of range.");
+        }
+    }
+
+    public void addVertex() {
+        synchronized (structureLock) {
+            int n = vertexCount;
+            NeighborSet[] current = sets;
+            if (n == current.length) {
+                NeighborSet[] grown = new NeighborSet[n * 2];
+                System.arraycopy(current, 0, grown, 0, n);
+                current = grown;
+            }
+            current[n] = new NeighborSet(true);
+            sets = current;
+            structureVersion++;
+            vertexCount = n + 1;
+        }
+    }
+
+    /**
+     * Remove a vertex and renumber the ones above it, as the other adjacency lists
+     * do. This rewrites every set, so it waits for and blocks all readers and writers.
+     */
+    public void removeVertex(int vertex) {
+        synchronized (structureLock) {
+            long[] stamps = lockAll();
+            try {
+                int n = vertexCount;
+                if (vertex < 0 || vertex >= n) {
+                    throw new IllegalArgumentException("Vertex " + vertex + " is out of range.");
+                }
+                NeighborSet[] current = sets;
+                System.arraycopy(current, vertex + 1, current, vertex, n - vertex - 1);
+                current[n - 1] = null;
+                for (int v = 0; v < n - 1; v++) {
+                    current[v].removeAndRenumber(vertex);
+                }
+                structureVersion++;
+                vertexCount = n - 1;
+            } finally {
+                unlockAll(stamps);
+            }
+        }
+    }
+
+    public void addEdge(int src, int dest) {
+        addEdge(src, dest, 1);
+    }
+
+    public void addEdge(int src, int dest, int weight) {
+        if (!isValidVertex(src) || !isValidVertex(dest)) {
+            System.out.println("Invalid operation or vertex index.");
+            return;
+        }
+        Stripe first = firstStripe(src, dest);
+        Stripe second = secondStripe(src, dest);
+        long firstStamp = first.lock.writeLock();
+        long secondStamp = second != first ? second.lock.writeLock() : 0;
+        try {
+            // A removeVertex may have renumbered the ids while this thread waited
+            if (!isValidVertex(src) || !isValidVertex(dest)) {
+                System.out.println("Invalid operation or vertex index.");
+                return;
+            }
+            boolean added = sets[src].add(dest, weight);
+            if (undirected && src != dest) {
+                added |= sets[dest].add(src, weight);
+            }
+            if (added) {
+                first.version++;
+            }
+        } finally {
+            if (second != first) {
+                second.lock.unlockWrite(secondStamp);
+            }
+            first.lock.unlockWrite(firstStamp);
+        }
+    }
+
+    public void removeEdge(int src, int dest) {
+        if (!isValidVertex(src) || !isValidVertex(dest)) {
+            System.out.println("Invalid operation or vertex index.");
+            return;
+        }
+        Stripe first = firstStripe(src, dest);
+        Stripe second = secondStripe(src, dest);
+        long firstStamp = first.lock.writeLock();
+        long secondStamp = second != first ? second.lock.writeLock() : 0;
+        try {
+            if (!isValidVertex(src) || !isValidVertex(dest)) {
+                System.out.println("Invalid operation or vertex index.");
+                return;
+            }
+            boolean removed = sets[src].remove(dest);
+            if (undirected && src != dest) {
+                removed |= sets[dest].remove(src);
+            }
+            if (removed) {
+                first.version++;
+            }
+        } finally {
+            if (second != first) {
+                second.lock.unlockWrite(secondStamp);
+            }
+            first.lock.unlockWrite(firstStamp);
+        }
+    }
+
+    public boolean hasEdge(int src, int dest) {
+        return getWeight(src, dest) != Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * Optimistic read: look the edge up without locking and keep the answer if no
+     * writer held the stripe meanwhile. A writer may leave the set half-updated, so
+     * the unlocked lookup is bounded, and both an exception and a lookup that gave
+     * up fall back to the read lock.
+     */
+    public double getWeight(int src, int dest) {
+        if (!isValidVertex(src) || !isValidVertex(dest)) {
+            return Double.POSITIVE_INFINITY;
+        }
+        StampedLock lock = stripe(src).lock;
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0) {
+            try {
+                int weight = sets[src].getWeightUnlocked(dest, Integer.MIN_VALUE, UNSURE);
+                if (weight != UNSURE && lock.validate(stamp)) {
+                    return weight == Integer.MIN_VALUE ? Double.POSITIVE_INFINITY : weight;
+                }
+            } catch (RuntimeException e) {
+                // Torn read of a set under modification, retry under the lock
+            }
+        }
+        stamp = lock.readLock();
+        try {
+            if (!isValidVertex(src) || !isValidVertex(dest)) {
+                return Double.POSITIVE_INFINITY;
+            }
+            int weight = sets[src].getWeight(dest, Integer.MIN_VALUE);
+            return weight == Integer.MIN_VALUE ? Double.POSITIVE_INFINITY : weight;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    public int degree(int vertex) {
+        checkVertexId(vertex);
+        StampedLock lock = stripe(vertex).lock;
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0) {
+            try {
+                int degree = sets[vertex].size();
+                if (lock.validate(stamp)) {
+                    return degree;
+                }
+            } catch (RuntimeException e) {
+                // The vertex was removed concurrently, retry under the lock
+            }
+        }
+        stamp = lock.readLock();
+        try {
+            checkVertexId(vertex);
+            return sets[vertex].size();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    public void forEachNeighbor(int vertex, IntConsumer action) {
+        StampedLock lock = stripe(vertex).lock;
+        long stamp = lock.readLock();
+        try {
+            checkVertexId(vertex);
+            sets[vertex].forEach(action);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    public void forEachEdge(int vertex, EdgeConsumer action) {
+        StampedLock lock = stripe(vertex).lock;
+        long stamp = lock.readLock();
+        try {
+            checkVertexId(vertex);
+            sets[vertex].forEachEdge(action);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    public int getVertexCount() {
+        return vertexCount;
+    }
+
+    // Sum of the per-stripe counters, so writers never contend on a shared counter
+    public long getVersion() {
+        long version = structureVersion;
+        for (Stripe stripe : stripes) {
+            version += stripe.version;
+        }
+        return version;
+    }
+
+    /**
+     * Copy the graph into CSR form under all stripe read locks, giving a
+     * consistent picture even while writers are active.
+     */
+    public CsrGraph toCsr() {
+        long[] stamps = new long[stripes.length];
+        for (int i = 0; i < stripes.length; i++) {
+            stamps[i] = stripes[i].lock.readLock();
+        }
+        try {
+            return CsrGraph.fromSets(sets, vertexCount);
+        } finally {
+            for (int i = stripes.length - 1; i >= 0; i--) {
+                stripes[i].lock.unlockRead(stamps[i]);
+            }
+        }
+    }
+
+    // Stripes are always taken in ascending order, which keeps lockAll deadlock-free
+    private long[] lockAll() {
+        long[] stamps = new long[stripes.length];
+        for (int i = 0; i < stripes.length; i++) {
+            stamps[i] = stripes[i].lock.writeLock();
+        }
+        return stamps;
+    }
+
+    private void unlockAll(long[] stamps) {
+        for (int i = stripes.length - 1; i >= 0; i--) {
+            stripes[i].lock.unlockWrite(stamps[i]);
+        }
+    }
+
+    public void printGraph() {
+        int n = vertexCount;
+        for (int v = 0; v < n; v++) {
+            StringBuilder line = new StringBuilder("Vertex " + v + ":");
+            forEachEdge(v, (target, weight) -> line.append(" (").append(target).append(", weight: ")
+                    .append((int) weight).append(")"));
+            System.out.println(line);
+        }
+    }
+}
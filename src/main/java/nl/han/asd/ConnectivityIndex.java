@@ -0,0 +1,242 @@
+package nl.han.asd;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Connected components of an UnweightedGraphAdjList, kept up to date while the
+ * graph changes. Added edges and vertices are folded in immediately by a
+ * union-find over int[] (union by rank, path compression), so connectivity
+ * queries cost near O(1). Union-find cannot split components, so removing an
+ * edge or vertex only marks the index stale; the next query rebuilds it once,
+ * however many removals came before.
+ * <p>
+ * Rebuilds of graphs with at least parallelThreshold vertices run in parallel:
+ * every edge hooks the root with the larger id under the smaller one by
+ * compareAndSet (Shiloach-Vishkin style), then all paths are compressed.
+ * Obtain an index through UnweightedGraphAdjList.enableConnectivityIndex.
+ */
+public class ConnectivityIndex {
+
+    public static final int DEFAULT_PARALLEL_THRESHOLD = 100000;
+
+    // Vertices hooked by one task during a parallel rebuild
+    private static final int CHUNK = 1024;
+
+    private final UnweightedGraphAdjList graph;
+    private final ForkJoinPool pool;
+    private final int parallelThreshold;
+
+    private int[] parent = new int[0];
+    private int[] rank = new int[0];
+    private int size;
+    private int componentCount;
+    private boolean stale = true;
+    private long rebuildCount;
+
+    ConnectivityIndex(UnweightedGraphAdjList graph, ForkJoinPool pool, int parallelThreshold) {
+        this.graph = graph;
+        this.pool = pool;
+        this.parallelThreshold = parallelThreshold;
+    }
+
+    public boolean isConnected(int u, int v) {
+        checkVertex(u);
+        checkVertex(v);
+        return find(u) == find(v);
+    }
+
+    // Representative of the component of vertex; equal for exactly the vertices of one component
+    public int componentOf(int vertex) {
+        checkVertex(vertex);
+        return find(vertex);
+    }
+
+    // Number of components among the live (not tombstoned) vertices
+    public int getComponentCount() {
+        refresh();
+        return componentCount;
+    }
+
+    public boolean isStale() {
+        return stale;
+    }
+
+    // Number of full recomputations so far
+    public long getRebuildCount() {
+        return rebuildCount;
+    }
+
+    void addVertices(int count) {
+        if (stale) {
+            return;
+        }
+        if (size + count > parent.length) {
+            int capacity = Math.max(size + count, parent.length * 2);
+            parent = Arrays.copyOf(parent, capacity);
+            rank = Arrays.copyOf(rank, capacity);
+        }
+        for (int v = size; v < size + count; v++) {
+            parent[v] = v;
+            rank[v] = 0;
+        }
+        size += count;
+        componentCount += count;
+    }
+
+    void union(int u, int v) {
+        if (!stale) {
+            link(u, v);
+        }
+    }
+
+    private void link(int u, int v) {
+        int ru = find(u);
+        int rv = find(v);
+        if (ru == rv) {
+            return;
+        }
+        if (rank[ru] < rank[rv]) {
+            parent[ru] = rv;
+        } else if (rank[ru] > rank[rv]) {
+            parent[rv] = ru;
+        } else {
+            parent[rv] = ru;
+            rank[ru]++;
+        }
+        componentCount--;
+    }
+
+    // Called after anything union-find cannot express: edge or vertex removal, renumbering
+    void invalidate() {
+        stale = true;
+    }
+
+    private void checkVertex(int vertex) {
+        refresh();
+        if (vertex < 0 || vertex >= size || graph.isRemoved(vertex)) {
+            throw new IllegalArgumentException("Vertex " + vertex + " does not exist.");
+        }
+    }
+
+    private void refresh() {
+        if (stale) {
+            rebuild();
+        }
+    }
+
+    private int find(int vertex) {
+        int root = vertex;
+        while (parent[root] != root) {
+            root = parent[root];
+        }
+        while (parent[vertex] != root) {
+            int next = parent[vertex];
+            parent[vertex] = root;
+            vertex = next;
+        }
+        return root;
+    }
+
+    /**
+     * Recompute from scratch, in O(V + E) alpha(V). Every tree ends up of depth
+     * at most one, so ranks are reset to 1 for roots of larger components.
+     */
+    void rebuild() {
+        int n = graph.getVertexCount();
+        size = n;
+        parent = new int[n];
+        rank = new int[n];
+        if (n >= parallelThreshold) {
+            parallelRebuild(n);
+        } else {
+            for (int v = 0; v < n; v++) {
+                parent[v] = v;
+            }
+            for (int u = 0; u < n; u++) {
+                final int source = u;
+                graph.getNeighbors(u).forEach((int v) -> {
+                    if (v > source) {
+                        link(source, v);
+                    }
+                });
+            }
+            for (int v = 0; v < n; v++) {
+                find(v);
+            }
+        }
+        int components = 0;
+        for (int v = 0; v < n; v++) {
+            if (parent[v] == v) {
+                if (!graph.isRemoved(v)) {
+                    components++;
+                }
+            } else {
+                rank[parent[v]] = 1;
+            }
+        }
+        componentCount = components;
+        stale = false;
+        rebuildCount++;
+    }
+
+    private void parallelRebuild(int n) {
+        AtomicIntegerArray roots = new AtomicIntegerArray(n);
+        ParallelLoop.run(pool, n, CHUNK, (from, to) -> {
+            for (int v = from; v < to; v++) {
+                roots.set(v, v);
+            }
+        });
+        ParallelLoop.run(pool, n, CHUNK, (from, to) -> {
+            for (int u = from; u < to; u++) {
+                final int source = u;
+                graph.getNeighbors(u).forEach((int v) -> {
+                    if (v > source) {
+                        hook(roots, source, v);
+                    }
+                });
+            }
+        });
+        ParallelLoop.run(pool, n, CHUNK, (from, to) -> {
+            for (int v = from; v < to; v++) {
+                int root = v;
+                while (roots.get(root) != root) {
+                    root = roots.get(root);
+                }
+                parent[v] = root;
+            }
+        });
+    }
+
+    // Link the larger root under the smaller; links always point down in id, so no cycles form
+    private static void hook(AtomicIntegerArray roots, int u, int v) {
+        while (true) {
+            int ru = rootOf(roots, u);
+            int rv = rootOf(roots, v);
+            if (ru == rv) {
+                return;
+            }
+            int high = Math.max(ru, rv);
+            int low = Math.min(ru, rv);
+            if (roots.compareAndSet(high, high, low)) {
+                return;
+            }
+        }
+    }
+
+    // Root lookup with path halving; the writes only shortcut to an ancestor, so races are harmless
+    private static int rootOf(AtomicIntegerArray roots, int v) {
+        while (true) {
+            int p = roots.get(v);
+            if (p == v) {
+                return v;
+            }
+            int grandparent = roots.get(p);
+            if (grandparent != p) {
+                roots.compareAndSet(v, p, grandparent);
+            }
+            v = p;
+        }
+    }
+}
@@ -0,0 +1,280 @@
+package nl.han.asd;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Frozen compressed sparse row (CSR) representation of a graph.
+ * The neighbours of vertex v are stored in targets[offsets[v] .. offsets[v + 1]),
+ * sorted ascending, with the matching weights at the same positions.
+ * Unweighted graphs have no weights array.
+ */
+public class CsrGraph implements WeightedAdjacencyGraph {
+
+    private final int[] offsets;
+    private final int[] targets;
+    private final double[] weights;
+
+    CsrGraph(int[] offsets, int[] targets, double[] weights) {
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+        sortRows();
+    }
+
+    public static CsrGraph fromAdjList(UnweightedGraphAdjList graph) {
+        int vertexCount = graph.getVertexCount();
+        int[] offsets = new int[vertexCount + 1];
+        for (int v = 0; v < vertexCount; v++) {
+            offsets[v + 1] = offsets[v] + graph.getNeighbors(v).size();
+        }
+
+        int[] targets = new int[offsets[vertexCount]];
+        for (int v = 0; v < vertexCount; v++) {
+            graph.getNeighbors(v).copyTo(targets, null, offsets[v]);
+        }
+        return new CsrGraph(offsets, targets, null);
+    }
+
+    public static CsrGraph fromAdjList(WeightedGraphAdjList graph) {
+        int vertexCount = graph.getVertexCount();
+        int[] offsets = new int[vertexCount + 1];
+        for (int v = 0; v < vertexCount; v++) {
+            offsets[v + 1] = offsets[v] + graph.getEdges(v).size();
+        }
+
+        int[] targets = new int[offsets[vertexCount]];
+        double[] weights = new double[targets.length];
+        for (int v = 0; v < vertexCount; v++) {
+            graph.getEdges(v).copyTo(targets, weights, offsets[v]);
+        }
+        return new CsrGraph(offsets, targets, weights);
+    }
+
+    // Weighted CSR from the first vertexCount sets, for graphs that keep their sets in an array
+    static CsrGraph fromSets(NeighborSet[] sets, int vertexCount) {
+        int[] offsets = new int[vertexCount + 1];
+        for (int v = 0; v < vertexCount; v++) {
+            offsets[v + 1] = offsets[v] + sets[v].size();
+        }
+
+        int[] targets = new int[offsets[vertexCount]];
+        double[] weights = new double[targets.length];
+        for (int v = 0; v < vertexCount; v++) {
+            sets[v].copyTo(targets, weights, offsets[v]);
+        }
+        return new CsrGraph(offsets, targets, weights);
+    }
+
+    public static CsrGraph fromMatrix(UnweightedGraphMatrix graph) {
+        int vertexCount = graph.getVertexCount();
+        int[] offsets = new int[vertexCount + 1];
+        for (int v = 0; v < vertexCount; v++) {
+            offsets[v + 1] = offsets[v] + graph.degree(v);
+        }
+
+        int[] targets = new int[offsets[vertexCount]];
+        int words = graph.getUsedWords();
+        for (int v = 0; v < vertexCount; v++) {
+            long[] row = graph.getRow(v);
+            int pos = offsets[v];
+            for (int k = 0; k < words; k++) {
+                long word = row[k];
+                while (word != 0) {
+                    targets[pos++] = (k << 6) + Long.numberOfTrailingZeros(word);
+                    word &= word - 1;
+                }
+            }
+        }
+        return new CsrGraph(offsets, targets, null);
+    }
+
+    public static CsrGraph fromMatrix(WeightedGraphMatrix graph) {
+        int vertexCount = graph.getVertexCount();
+        int[] offsets = new int[vertexCount + 1];
+        for (int v = 0; v < vertexCount; v++) {
+            offsets[v + 1] = offsets[v] + graph.degree(v);
+        }
+
+        int[] targets = new int[offsets[vertexCount]];
+        double[] weights = new double[targets.length];
+        int[] pos = new int[1];
+        for (int v = 0; v < vertexCount; v++) {
+            pos[0] = offsets[v];
+            graph.forEachEdge(v, (target, weight) -> {
+                targets[pos[0]] = target;
+                weights[pos[0]] = weight;
+                pos[0]++;
+            });
+        }
+        return new CsrGraph(offsets, targets, weights);
+    }
+
+    /**
+     * Graph with every edge reversed, built with one counting pass. Scanning the
+     * sources in order leaves every reversed row already sorted.
+     */
+    public CsrGraph transpose() {
+        int vertexCount = getVertexCount();
+        int[] reverseOffsets = new int[vertexCount + 1];
+        for (int target : targets) {
+            reverseOffsets[target + 1]++;
+        }
+        for (int v = 0; v < vertexCount; v++) {
+            reverseOffsets[v + 1] += reverseOffsets[v];
+        }
+        int[] next = Arrays.copyOf(reverseOffsets, vertexCount);
+        int[] reverseTargets = new int[targets.length];
+        double[] reverseWeights = weights == null ? null : new double[weights.length];
+        for (int v = 0; v < vertexCount; v++) {
+            for (int i = offsets[v]; i < offsets[v + 1]; i++) {
+                int slot = next[targets[i]]++;
+                reverseTargets[slot] = v;
+                if (reverseWeights != null) {
+                    reverseWeights[slot] = weights[i];
+                }
+            }
+        }
+        return new CsrGraph(reverseOffsets, reverseTargets, reverseWeights);
+    }
+
+    // Sort every row by target so hasEdge can binary search
+    private void sortRows() {
+        int vertexCount = getVertexCount();
+        for (int v = 0; v < vertexCount; v++) {
+            int from = offsets[v];
+            int to = offsets[v + 1];
+            if (isSorted(from, to)) {
+                continue;
+            }
+            if (weights == null) {
+                Arrays.sort(targets, from, to);
+                continue;
+            }
+            // Pack (target, original position) so the weights can follow the targets
+            long[] keys = new long[to - from];
+            for (int i = from; i < to; i++) {
+                keys[i - from] = ((long) targets[i] << 32) | (i - from);
+            }
+            Arrays.sort(keys);
+            double[] rowWeights = Arrays.copyOfRange(weights, from, to);
+            for (int i = 0; i < keys.length; i++) {
+                targets[from + i] = (int) (keys[i] >>> 32);
+                weights[from + i] = rowWeights[(int) keys[i]];
+            }
+        }
+    }
+
+    private boolean isSorted(int from, int to) {
+        for (int i = from + 1; i < to; i++) {
+            if (targets[i - 1] > targets[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean isValidVertex(int vertex) {
+        return vertex >= 0 && vertex < getVertexCount();
+    }
+
+    // Position of dest in the row of src, or a negative value when absent
+    private int indexOf(int src, int dest) {
+        if (!isValidVertex(src) || !isValidVertex(dest)) {
+            return -1;
+        }
+        return Arrays.binarySearch(targets, offsets[src], offsets[src + 1], dest);
+    }
+
+    public boolean hasEdge(int src, int dest) {
+        return indexOf(src, dest) >= 0;
+    }
+
+    /**
+     * Weight of the edge src -> dest, 1.0 for unweighted graphs,
+     * or Double.POSITIVE_INFINITY when there is no such edge.
+     */
+    public double getWeight(int src, int dest) {
+        int index = indexOf(src, dest);
+        if (index < 0) {
+            return Double.POSITIVE_INFINITY;
+        }
+        return weights == null ? 1.0 : weights[index];
+    }
+
+    public int getVertexCount() {
+        return offsets.length - 1;
+    }
+
+    public int getEdgeCount() {
+        return targets.length;
+    }
+
+    public boolean isWeighted() {
+        return weights != null;
+    }
+
+    public int degree(int vertex) {
+        return offsets[vertex + 1] - offsets[vertex];
+    }
+
+    public void forEachNeighbor(int vertex, IntConsumer action) {
+        for (int i = offsets[vertex], end = offsets[vertex + 1]; i < end; i++) {
+            action.accept(targets[i]);
+        }
+    }
+
+    // Unweighted graphs report a weight of 1.0 for every edge
+    public void forEachEdge(int vertex, EdgeConsumer action) {
+        for (int i = offsets[vertex], end = offsets[vertex + 1]; i < end; i++) {
+            action.accept(targets[i], weights == null ? 1.0 : weights[i]);
+        }
+    }
+
+    // Raw cursor access for hot loops: iterate i from getRowStart(v) to getRowEnd(v)
+    public int getRowStart(int vertex) {
+        return offsets[vertex];
+    }
+
+    public int getRowEnd(int vertex) {
+        return offsets[vertex + 1];
+    }
+
+    public int getTargetAt(int index) {
+        return targets[index];
+    }
+
+    public double getWeightAt(int index) {
+        return weights == null ? 1.0 : weights[index];
+    }
+
+    // Backing arrays, shared with the binary format and the algorithms in this package
+    int[] offsets() {
+        return offsets;
+    }
+
+    int[] targets() {
+        return targets;
+    }
+
+    double[] weights() {
+        return weights;
+    }
+
+    public void printGraph() {
+        for (int v = 0; v < getVertexCount(); v++) {
+            StringBuilder line = new StringBuilder("Vertex " + v + ": [");
+            for (int i = offsets[v]; i < offsets[v + 1]; i++) {
+                if (i > offsets[v]) {
+                    line.append(", ");
+                }
+                if (weights == null) {
+                    line.append(targets[i]);
+                } else {
+                    line.append("(").append(targets[i]).append(", weight: ").append(weights[i]).append(")");
+                }
+            }
+            System.out.println(line.append("]"));
+        }
+    }
+}
@@ -0,0 +1,336 @@
+package nl.han.asd;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Parallel single-source shortest paths by delta-stepping. Tentative distances are
+ * grouped in buckets of width delta. The lowest bucket is settled by relaxing the
+ * light edges (weight <= delta) of its vertices in parallel until it stops
+ * refilling, then the heavy edges of everything it settled are relaxed once.
+ * Distances are doubles stored as raw bits in an AtomicLongArray and lowered with
+ * compareAndSet. Graphs below the sequential threshold go to Dijkstra instead.
+ * Weights must be non-negative.
+ */
+public class DeltaStepping {
+
+    public static final int DEFAULT_SEQUENTIAL_THRESHOLD = 10000;
+
+    // Frontier vertices relaxed by one task
+    private static final int CHUNK = 256;
+
+    private static final long INFINITY_BITS = Double.doubleToRawLongBits(Double.POSITIVE_INFINITY);
+
+    private final ForkJoinPool pool;
+    private final double delta;
+    private final int sequentialThreshold;
+
+    // CSR copy of the last list searched, reused while the list's version is unchanged
+    private volatile CachedCsr cached;
+
+    private static final class CachedCsr {
+        final WeightedGraphAdjList graph;
+        final long version;
+        final CsrGraph csr;
+
+        CachedCsr(WeightedGraphAdjList graph, long version, CsrGraph csr) {
+            this.graph = graph;
+            this.version = version;
+            this.csr = csr;
+        }
+    }
+
+    public DeltaStepping() {
+        this(ForkJoinPool.commonPool(), 0, DEFAULT_SEQUENTIAL_THRESHOLD);
+    }
+
+    /**
+     * A delta of 0 or less picks the mean edge weight of each searched graph.
+     * Graphs with fewer than sequentialThreshold vertices use sequential Dijkstra.
+     */
+    public DeltaStepping(ForkJoinPool pool, double delta, int sequentialThreshold) {
+        this.pool = pool;
+        this.delta = delta;
+        this.sequentialThreshold = sequentialThreshold;
+    }
+
+    /**
+     * Searches a CSR copy of the list, kept and reused for further searches of the
+     * same list until its version changes, so querying many sources costs one
+     * conversion. Small lists go to Dijkstra directly and need no copy at all.
+     */
+    public Dijkstra.Result search(WeightedGraphAdjList graph, int source) {
+        checkSource(graph.getVertexCount(), source);
+        if (graph.getVertexCount() < sequentialThreshold) {
+            return Dijkstra.singleSource(graph, source);
+        }
+        return parallelSearch(csrOf(graph), source, graph);
+    }
+
+    public Dijkstra.Result search(CsrGraph graph, int source) {
+        checkSource(graph.getVertexCount(), source);
+        if (graph.getVertexCount() < sequentialThreshold) {
+            return Dijkstra.singleSource(graph, source);
+        }
+        return parallelSearch(graph, source, graph);
+    }
+
+    CsrGraph csrOf(WeightedGraphAdjList graph) {
+        CachedCsr current = cached;
+        long version = graph.getVersion();
+        if (current == null || current.graph != graph || current.version != version) {
+            current = new CachedCsr(graph, version, graph.toCsr());
+            cached = current;
+        }
+        return current.csr;
+    }
+
+    private static void checkSource(int n, int source) {
+        if (source < 0 || source >= n) {
+            throw new IllegalArgumentException("Vertex " + source + " is out of range.");
+        }
+    }
+
+    // The metrics are recorded against the graph the caller passed in, not its CSR copy
+    private Dijkstra.Result parallelSearch(CsrGraph csr, int source, Object recordedGraph) {
+        long start = GraphMetrics.start();
+        Dijkstra.Result result = new Search(csr, source).run();
+        GraphMetrics.record(GraphMetrics.Operation.SHORTEST_PATH, recordedGraph, start);
+        return result;
+    }
+
+    private void parallel(ParallelLoop.RangeBody body, int size) {
+        ParallelLoop.run(pool, size, CHUNK, body);
+    }
+
+    private final class Search {
+        private final int[] offsets;
+        private final int[] targets;
+        private final double[] weights;
+        private final int source;
+        private final int n;
+        private final AtomicLongArray dist;
+        private double width;
+        private boolean zeroWeights;
+
+        // Only non-empty buckets are kept, so a small width or an outlier weight costs nothing
+        // and the search jumps straight to the next bucket holding vertices
+        private final TreeMap<Long, IntList> buckets = new TreeMap<>();
+        // Bucket each vertex was last filed under; entries elsewhere are stale
+        private final long[] home;
+
+        // Stamps that keep a vertex out of the same frontier or settled set twice
+        private final int[] frontierStamp;
+        private final long[] settledStamp;
+        private int round;
+
+        Search(CsrGraph graph, int source) {
+            this.offsets = graph.offsets();
+            this.targets = graph.targets();
+            this.weights = graph.weights();
+            this.source = source;
+            this.n = graph.getVertexCount();
+            this.dist = new AtomicLongArray(n);
+            this.frontierStamp = new int[n];
+            this.settledStamp = new long[n];
+            this.home = new long[n];
+        }
+
+        private double weightAt(int index) {
+            return weights == null ? 1.0 : weights[index];
+        }
+
+        private double distance(int v) {
+            return Double.longBitsToDouble(dist.get(v));
+        }
+
+        private long bucketOf(double distance) {
+            return (long) (distance / width);
+        }
+
+        Dijkstra.Result run() {
+            double totalWeight = 0;
+            for (int i = 0; i < targets.length; i++) {
+                double weight = weightAt(i);
+                if (weight < 0) {
+                    throw new IllegalArgumentException("Negative edge weight " + weight + ".");
+                }
+                zeroWeights |= weight == 0;
+                totalWeight += weight;
+            }
+            width = delta > 0 ? delta : targets.length == 0 ? 1.0 : totalWeight / targets.length;
+            if (width <= 0) {
+                width = 1.0;
+            }
+
+            for (int v = 0; v < n; v++) {
+                dist.set(v, INFINITY_BITS);
+            }
+            Arrays.fill(home, -1);
+            dist.set(source, Double.doubleToRawLongBits(0.0));
+            file(source, 0);
+
+            while (!buckets.isEmpty()) {
+                Map.Entry<Long, IntList> lowest = buckets.pollFirstEntry();
+                settleBucket(lowest.getKey(), lowest.getValue());
+            }
+            return toResult();
+        }
+
+        private void settleBucket(long bucket, IntList entries) {
+            IntList settled = new IntList();
+            IntList frontier = filter(bucket, entries);
+            while (frontier.size() > 0) {
+                for (int i = 0; i < frontier.size(); i++) {
+                    int v = frontier.get(i);
+                    if (settledStamp[v] != bucket + 1) {
+                        settledStamp[v] = bucket + 1;
+                        settled.add(v);
+                    }
+                }
+                IntList refill = new IntList();
+                distribute(bucket, relax(frontier, true), refill);
+                frontier = filter(bucket, refill);
+            }
+            // Heavy edges end at least one bucket higher, so they cannot refill this one
+            distribute(bucket, relax(settled, false), null);
+        }
+
+        /**
+         * Vertices of entries still filed under this bucket, without duplicates. Entries of
+         * vertices since lowered into an earlier bucket, and so already settled, are dropped.
+         */
+        private IntList filter(long bucket, IntList entries) {
+            round++;
+            IntList frontier = new IntList(entries.size());
+            for (int i = 0; i < entries.size(); i++) {
+                int v = entries.get(i);
+                if (frontierStamp[v] != round && home[v] == bucket) {
+                    frontierStamp[v] = round;
+                    frontier.add(v);
+                }
+            }
+            return frontier;
+        }
+
+        // Relax the light or heavy edges of vertices in parallel; returns the lists of lowered vertices
+        private ConcurrentLinkedQueue<IntList> relax(IntList vertices, boolean light) {
+            ConcurrentLinkedQueue<IntList> lowered = new ConcurrentLinkedQueue<>();
+            parallel((from, to) -> {
+                IntList out = new IntList();
+                for (int i = from; i < to; i++) {
+                    int u = vertices.get(i);
+                    double base = distance(u);
+                    for (int e = offsets[u], end = offsets[u + 1]; e < end; e++) {
+                        double weight = weightAt(e);
+                        if ((weight <= width) == light && lower(targets[e], base + weight)) {
+                            out.add(targets[e]);
+                        }
+                    }
+                }
+                if (out.size() > 0) {
+                    lowered.add(out);
+                }
+            }, vertices.size());
+            return lowered;
+        }
+
+        private boolean lower(int v, double candidate) {
+            long candidateBits = Double.doubleToRawLongBits(candidate);
+            while (true) {
+                long current = dist.get(v);
+                if (candidate >= Double.longBitsToDouble(current)) {
+                    return false;
+                }
+                if (dist.compareAndSet(v, current, candidateBits)) {
+                    return true;
+                }
+            }
+        }
+
+        /**
+         * File lowered vertices under their new bucket; ones landing in the current bucket
+         * go to refill. Without a refill list (heavy edges) a rounding slip into the current
+         * bucket is moved to the next one.
+         */
+        private void distribute(long bucket, ConcurrentLinkedQueue<IntList> lowered, IntList refill) {
+            for (IntList list : lowered) {
+                for (int i = 0; i < list.size(); i++) {
+                    int v = list.get(i);
+                    long target = Math.max(bucket, bucketOf(distance(v)));
+                    if (target == bucket && refill != null) {
+                        home[v] = bucket;
+                        refill.add(v);
+                    } else {
+                        file(v, Math.max(target, bucket + 1));
+                    }
+                }
+            }
+        }
+
+        private void file(int v, long bucket) {
+            home[v] = bucket;
+            IntList entries = buckets.get(bucket);
+            if (entries == null) {
+                entries = new IntList();
+                buckets.put(bucket, entries);
+            }
+            entries.add(v);
+        }
+
+        /**
+         * Parents are rebuilt from the final distances: u is a parent of v when
+         * dist[u] + w(u, v) == dist[v]. Zero-weight ties could form cycles, so those
+         * are only followed outward from vertices that already have a tree path.
+         */
+        private Dijkstra.Result toResult() {
+            double[] distances = new double[n];
+            int[] parents = new int[n];
+            parallel((from, to) -> {
+                for (int v = from; v < to; v++) {
+                    distances[v] = distance(v);
+                    parents[v] = Dijkstra.NO_PARENT;
+                }
+            }, n);
+            parallel((from, to) -> {
+                for (int u = from; u < to; u++) {
+                    for (int e = offsets[u], end = offsets[u + 1]; e < end; e++) {
+                        double weight = weightAt(e);
+                        int v = targets[e];
+                        if (weight > 0 && distances[u] + weight == distances[v]) {
+                            parents[v] = u;
+                        }
+                    }
+                }
+            }, n);
+            if (zeroWeights) {
+                linkZeroWeightTies(distances, parents);
+            }
+            return new Dijkstra.Result(distances, parents);
+        }
+
+        private void linkZeroWeightTies(double[] distances, int[] parents) {
+            IntList queue = new IntList();
+            for (int v = 0; v < n; v++) {
+                if (v == source || parents[v] != Dijkstra.NO_PARENT) {
+                    queue.add(v);
+                }
+            }
+            for (int head = 0; head < queue.size(); head++) {
+                int u = queue.get(head);
+                for (int e = offsets[u], end = offsets[u + 1]; e < end; e++) {
+                    int v = targets[e];
+                    if (weightAt(e) == 0 && v != source && parents[v] == Dijkstra.NO_PARENT
+                            && distances[v] == distances[u]) {
+                        parents[v] = u;
+                        queue.add(v);
+                    }
+                }
+            }
+        }
+    }
+}
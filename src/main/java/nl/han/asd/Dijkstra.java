@@ -0,0 +1,295 @@
+package nl.han.asd;
+
+import java.util.Arrays;
+
+/**
+ * Dijkstra shortest paths over any WeightedAdjacencyGraph, using an indexed
+ * 4-ary heap over primitive arrays. The distance and heap arrays are kept in a
+ * per-thread workspace and invalidated with an epoch counter instead of being
+ * cleared, so repeated point-to-point queries allocate nothing. Weights must be
+ * non-negative.
+ */
+public final class Dijkstra {
+
+    public static final int NO_PARENT = -1;
+
+    private static final ThreadLocal<Workspace> FORWARD = ThreadLocal.withInitial(Workspace::new);
+    private static final ThreadLocal<Workspace> BACKWARD = ThreadLocal.withInitial(Workspace::new);
+
+    private Dijkstra() {
+    }
+
+    public static final class Result {
+        private final double[] distances;
+        private final int[] parents;
+
+        Result(double[] distances, int[] parents) {
+            this.distances = distances;
+            this.parents = parents;
+        }
+
+        // Distance per vertex, Double.POSITIVE_INFINITY when unreachable. Not copied.
+        public double[] getDistances() {
+            return distances;
+        }
+
+        // Predecessor on a shortest path per vertex, NO_PARENT for the source and unreachable vertices
+        public int[] getParents() {
+            return parents;
+        }
+
+        public double getDistance(int vertex) {
+            return distances[vertex];
+        }
+
+        public boolean isReachable(int vertex) {
+            return distances[vertex] != Double.POSITIVE_INFINITY;
+        }
+
+        public int[] pathTo(int target) {
+            if (!isReachable(target)) {
+                return new int[0];
+            }
+            IntList reversed = new IntList();
+            for (int v = target; v != NO_PARENT; v = parents[v]) {
+                reversed.add(v);
+            }
+            return reverse(reversed);
+        }
+    }
+
+    /**
+     * Distances and parents from source to every vertex.
+     */
+    public static Result singleSource(WeightedAdjacencyGraph graph, int source) {
+        long start = GraphMetrics.start();
+        Workspace ws = FORWARD.get();
+        ws.start(graph, source);
+        while (!ws.heap.isEmpty()) {
+            ws.settleNext();
+        }
+        int n = graph.getVertexCount();
+        double[] distances = new double[n];
+        int[] parents = new int[n];
+        for (int v = 0; v < n; v++) {
+            distances[v] = ws.distance(v);
+            parents[v] = ws.reached(v) ? ws.parent[v] : NO_PARENT;
+        }
+        GraphMetrics.record(GraphMetrics.Operation.SHORTEST_PATH, graph, start);
+        return new Result(distances, parents);
+    }
+
+    /**
+     * Length of the shortest path from source to target, or Double.POSITIVE_INFINITY.
+     * Stops as soon as target is settled.
+     */
+    public static double distance(WeightedAdjacencyGraph graph, int source, int target) {
+        checkVertex(graph, target);
+        long start = GraphMetrics.start();
+        Workspace ws = FORWARD.get();
+        ws.start(graph, source);
+        while (!ws.heap.isEmpty()) {
+            if (ws.settleNext() == target) {
+                break;
+            }
+        }
+        GraphMetrics.record(GraphMetrics.Operation.SHORTEST_PATH, graph, start);
+        return ws.distance(target);
+    }
+
+    /**
+     * Vertices on a shortest path from source to target, or an empty array when
+     * target is unreachable. Stops as soon as target is settled.
+     */
+    public static int[] shortestPath(WeightedAdjacencyGraph graph, int source, int target) {
+        if (distance(graph, source, target) == Double.POSITIVE_INFINITY) {
+            return new int[0];
+        }
+        Workspace ws = FORWARD.get();
+        IntList reversed = new IntList();
+        for (int v = target; v != source; v = ws.parent[v]) {
+            reversed.add(v);
+        }
+        reversed.add(source);
+        return reverse(reversed);
+    }
+
+    /**
+     * Point-to-point distance searching forward from source in graph and backward
+     * from target in reverse, which must hold every edge of graph flipped (see
+     * CsrGraph.transpose; pass the same graph twice when it is symmetric). Each step
+     * expands the side with the smaller tentative distance, and the search stops once
+     * the two minima together reach the best meeting distance found so far.
+     */
+    public static double bidirectionalDistance(WeightedAdjacencyGraph graph, WeightedAdjacencyGraph reverse,
+                                               int source, int target) {
+        return bidirectional(graph, reverse, source, target) == NO_PARENT
+                ? Double.POSITIVE_INFINITY : FORWARD.get().best;
+    }
+
+    /**
+     * Vertices on a shortest path found by bidirectionalDistance, or an empty array
+     * when target is unreachable.
+     */
+    public static int[] bidirectionalPath(WeightedAdjacencyGraph graph, WeightedAdjacencyGraph reverse,
+                                          int source, int target) {
+        int meeting = bidirectional(graph, reverse, source, target);
+        if (meeting == NO_PARENT) {
+            return new int[0];
+        }
+        Workspace forward = FORWARD.get();
+        Workspace backward = BACKWARD.get();
+        IntList reversed = new IntList();
+        for (int v = meeting; v != source; v = forward.parent[v]) {
+            reversed.add(v);
+        }
+        reversed.add(source);
+        int[] path = reverse(reversed);
+        IntList tail = new IntList();
+        for (int v = meeting; v != target; ) {
+            v = backward.parent[v];
+            tail.add(v);
+        }
+        int[] result = Arrays.copyOf(path, path.length + tail.size());
+        for (int i = 0; i < tail.size(); i++) {
+            result[path.length + i] = tail.get(i);
+        }
+        return result;
+    }
+
+    // Runs both searches; returns the meeting vertex, or NO_PARENT when target is unreachable
+    private static int bidirectional(WeightedAdjacencyGraph graph, WeightedAdjacencyGraph reverse,
+                                     int source, int target) {
+        if (reverse.getVertexCount() != graph.getVertexCount()) {
+            throw new IllegalArgumentException("The reverse graph must have the same vertices.");
+        }
+        checkVertex(graph, target);
+        long start = GraphMetrics.start();
+        Workspace forward = FORWARD.get();
+        Workspace backward = BACKWARD.get();
+        forward.start(graph, source);
+        backward.start(reverse, target);
+        if (source == target) {
+            forward.best = 0.0;
+            GraphMetrics.record(GraphMetrics.Operation.SHORTEST_PATH, graph, start);
+            return source;
+        }
+        // Both sides record the best meeting in the forward workspace
+        forward.best = Double.POSITIVE_INFINITY;
+        forward.meeting = NO_PARENT;
+        forward.other = backward;
+        backward.other = forward;
+        forward.shared = forward;
+        backward.shared = forward;
+        while (!forward.heap.isEmpty() && !backward.heap.isEmpty()
+                && forward.heap.minKey() + backward.heap.minKey() < forward.best) {
+            if (forward.heap.minKey() <= backward.heap.minKey()) {
+                forward.settleNext();
+            } else {
+                backward.settleNext();
+            }
+        }
+        GraphMetrics.record(GraphMetrics.Operation.SHORTEST_PATH, graph, start);
+        return forward.meeting;
+    }
+
+    private static void checkVertex(WeightedAdjacencyGraph graph, int vertex) {
+        if (vertex < 0 || vertex >= graph.getVertexCount()) {
+            throw new IllegalArgumentException("Vertex " + vertex + " is out of range.");
+        }
+    }
+
+    private static int[] reverse(IntList list) {
+        int[] result = new int[list.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = list.get(result.length - 1 - i);
+        }
+        return result;
+    }
+
+    /**
+     * Search state of one thread. The workspace is its own EdgeConsumer, so relaxing
+     * the edges of a vertex needs no capturing lambda.
+     */
+    private static final class Workspace implements WeightedAdjacencyGraph.EdgeConsumer {
+        private double[] dist = new double[0];
+        private int[] parent = new int[0];
+        // dist and parent of v are valid only when stamp[v] == epoch
+        private int[] stamp = new int[0];
+        private int epoch;
+        private final IndexedDaryHeap heap = new IndexedDaryHeap(16);
+        private WeightedAdjacencyGraph graph;
+
+        // Bidirectional search only: the opposite side and the holder of the best meeting
+        private Workspace other;
+        private Workspace shared;
+        private double best;
+        private int meeting;
+
+        // Vertex whose edges are being relaxed
+        private int current;
+        private double currentDistance;
+
+        void start(WeightedAdjacencyGraph graph, int source) {
+            checkVertex(graph, source);
+            int n = graph.getVertexCount();
+            if (stamp.length < n) {
+                dist = new double[n];
+                parent = new int[n];
+                stamp = new int[n];
+                epoch = 0;
+            }
+            if (++epoch == Integer.MAX_VALUE) {
+                Arrays.fill(stamp, 0);
+                epoch = 1;
+            }
+            heap.clear();
+            heap.ensureCapacity(n);
+            this.graph = graph;
+            this.other = null;
+            stamp[source] = epoch;
+            dist[source] = 0.0;
+            parent[source] = NO_PARENT;
+            heap.insertOrDecrease(source, 0.0);
+        }
+
+        boolean reached(int v) {
+            return stamp[v] == epoch;
+        }
+
+        double distance(int v) {
+            return reached(v) ? dist[v] : Double.POSITIVE_INFINITY;
+        }
+
+        // Settle the closest queued vertex and relax its edges; returns the vertex
+        int settleNext() {
+            current = heap.poll();
+            currentDistance = dist[current];
+            graph.forEachEdge(current, this);
+            return current;
+        }
+
+        @Override
+        public void accept(int target, double weight) {
+            if (weight < 0) {
+                throw new IllegalArgumentException("Negative edge weight " + weight + " from vertex " + current + ".");
+            }
+            double candidate = currentDistance + weight;
+            if (!reached(target)) {
+                stamp[target] = epoch;
+            } else if (candidate >= dist[target]) {
+                return;
+            }
+            dist[target] = candidate;
+            parent[target] = current;
+            heap.insertOrDecrease(target, candidate);
+            if (other != null && other.reached(target)) {
+                double total = candidate + other.dist[target];
+                if (total < shared.best) {
+                    shared.best = total;
+                    shared.meeting = target;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package nl.han.asd;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.function.IntPredicate;
+
+/**
+ * A batch of arcs validated and grouped by source vertex with a counting sort.
+ * Within a group the targets are ascending and duplicates are dropped, keeping
+ * the first occurrence in input order, so they can be merged into a NeighborSet
+ * in one pass. Invalid entries are collected for the BatchReport.
+ */
+final class EdgeBatch {
+
+    private final int requested;
+    private final int[] offsets;
+    final int[] targets;
+    // Weight per target, or null for unweighted batches
+    final int[] values;
+    private final int[] invalidIndices;
+
+    private EdgeBatch(int requested, int[] offsets, int[] targets, int[] values, int[] invalidIndices) {
+        this.requested = requested;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.values = values;
+        this.invalidIndices = invalidIndices;
+    }
+
+    /**
+     * Group the arcs src[i] -> dest[i]; symmetric batches also add dest[i] -> src[i].
+     * weights may be null.
+     */
+    static EdgeBatch group(int[] src, int[] dest, int[] weights, int vertexCount, IntPredicate isValid, boolean symmetric) {
+        if (src.length != dest.length || (weights != null && weights.length != src.length)) {
+            throw new IllegalArgumentException("Batch arrays must have the same length.");
+        }
+        IntList invalid = new IntList();
+        int[] counts = new int[vertexCount + 1];
+        for (int i = 0; i < src.length; i++) {
+            if (!isValid.test(src[i]) || !isValid.test(dest[i])) {
+                invalid.add(i);
+                continue;
+            }
+            counts[src[i] + 1]++;
+            if (symmetric && src[i] != dest[i]) {
+                counts[dest[i] + 1]++;
+            }
+        }
+        for (int v = 0; v < vertexCount; v++) {
+            counts[v + 1] += counts[v];
+        }
+
+        // (target, input position) packed so sorting a group orders by target, then by input order
+        long[] keys = new long[counts[vertexCount]];
+        int[] next = Arrays.copyOf(counts, vertexCount);
+        for (int i = 0, skip = 0; i < src.length; i++) {
+            if (skip < invalid.size() && invalid.get(skip) == i) {
+                skip++;
+                continue;
+            }
+            keys[next[src[i]]++] = ((long) dest[i] << 32) | i;
+            if (symmetric && src[i] != dest[i]) {
+                keys[next[dest[i]]++] = ((long) src[i] << 32) | i;
+            }
+        }
+
+        int[] offsets = new int[vertexCount + 1];
+        int[] targets = new int[keys.length];
+        int[] values = weights == null ? null : new int[keys.length];
+        int size = 0;
+        for (int v = 0; v < vertexCount; v++) {
+            Arrays.sort(keys, counts[v], counts[v + 1]);
+            for (int k = counts[v]; k < counts[v + 1]; k++) {
+                int target = (int) (keys[k] >>> 32);
+                if (size > offsets[v] && targets[size - 1] == target) {
+                    continue;
+                }
+                targets[size] = target;
+                if (values != null) {
+                    values[size] = weights[(int) keys[k]];
+                }
+                size++;
+            }
+            offsets[v + 1] = size;
+        }
+        return new EdgeBatch(src.length, offsets, targets, values, invalid.toArray());
+    }
+
+    /**
+     * Set the bit of every valid vertex in marked, for removeVertices. Invalid ids are
+     * reported; applied counts distinct vertices.
+     */
+    static BatchReport markVertices(int[] vertices, IntPredicate isValid, BitSet marked) {
+        IntList invalid = new IntList();
+        int applied = 0;
+        for (int i = 0; i < vertices.length; i++) {
+            int v = vertices[i];
+            if (!isValid.test(v)) {
+                invalid.add(i);
+            } else if (!marked.get(v)) {
+                marked.set(v);
+                applied++;
+            }
+        }
+        return new BatchReport(vertices.length, applied, invalid.toArray());
+    }
+
+    int start(int vertex) {
+        return offsets[vertex];
+    }
+
+    int end(int vertex) {
+        return offsets[vertex + 1];
+    }
+
+    BatchReport report(int applied) {
+        return new BatchReport(requested, applied, invalidIndices);
+    }
+}
@@ -0,0 +1,137 @@
+package nl.han.asd;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Edges as parallel primitive arrays: edge i runs from getSources()[i] to
+ * getTargets()[i] with weight getWeights()[i] (null for unweighted lists).
+ * This is the input of EdgeListBuilder. The arrays are shared, not copied.
+ * <p>
+ * The binary form is a headerless stream of little-endian int32 records,
+ * (source, target) or (source, target, weight).
+ */
+public final class EdgeList {
+
+    // Largest mapping per section, a whole number of records of either size
+    private static final long MAP_CHUNK = 12L << 26;
+
+    private final int[] sources;
+    private final int[] targets;
+    private final int[] weights;
+
+    public EdgeList(int[] sources, int[] targets, int[] weights) {
+        if (sources.length != targets.length || (weights != null && weights.length != sources.length)) {
+            throw new IllegalArgumentException("Edge arrays must have the same length.");
+        }
+        this.sources = sources;
+        this.targets = targets;
+        this.weights = weights;
+    }
+
+    /**
+     * The 'lijnlijst' / 'lijnlijst_gewogen' sections as parsed by Gson:
+     * [[from, to], ...] or [[from, to, weight], ...].
+     */
+    public static EdgeList fromJson(List<List<Double>> edges, boolean weighted) {
+        int m = edges.size();
+        int[] sources = new int[m];
+        int[] targets = new int[m];
+        int[] weights = weighted ? new int[m] : null;
+        for (int i = 0; i < m; i++) {
+            List<Double> edge = edges.get(i);
+            if (edge.size() < (weighted ? 3 : 2)) {
+                throw new IllegalArgumentException("Invalid edge data at index " + i + ": " + edge);
+            }
+            sources[i] = edge.get(0).intValue();
+            targets[i] = edge.get(1).intValue();
+            if (weighted) {
+                weights[i] = edge.get(2).intValue();
+            }
+        }
+        return new EdgeList(sources, targets, weights);
+    }
+
+    public static EdgeList readBinary(Path file, boolean weighted) throws IOException {
+        int fields = weighted ? 3 : 2;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size % (4L * fields) != 0) {
+                throw new IOException("Truncated edge file: " + file);
+            }
+            long count = size / (4L * fields);
+            if (count > Integer.MAX_VALUE - 8) {
+                throw new IOException("Edge file has too many edges for int arrays: " + file);
+            }
+            int m = (int) count;
+            int[] sources = new int[m];
+            int[] targets = new int[m];
+            int[] weights = weighted ? new int[m] : null;
+            int edge = 0;
+            for (long position = 0; position < size; position += MAP_CHUNK) {
+                IntBuffer records = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(MAP_CHUNK, size - position))
+                        .order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+                while (records.hasRemaining()) {
+                    sources[edge] = records.get();
+                    targets[edge] = records.get();
+                    if (weighted) {
+                        weights[edge] = records.get();
+                    }
+                    edge++;
+                }
+            }
+            return new EdgeList(sources, targets, weights);
+        }
+    }
+
+    public void writeBinary(Path file) throws IOException {
+        int fields = weights != null ? 3 : 2;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.allocate(4 * fields * 4096).order(ByteOrder.LITTLE_ENDIAN);
+            for (int i = 0; i < sources.length; i++) {
+                if (buffer.remaining() < 4 * fields) {
+                    buffer.flip();
+                    while (buffer.hasRemaining()) {
+                        channel.write(buffer);
+                    }
+                    buffer.clear();
+                }
+                buffer.putInt(sources[i]).putInt(targets[i]);
+                if (weights != null) {
+                    buffer.putInt(weights[i]);
+                }
+            }
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+    }
+
+    public int size() {
+        return sources.length;
+    }
+
+    public boolean isWeighted() {
+        return weights != null;
+    }
+
+    public int[] getSources() {
+        return sources;
+    }
+
+    public int[] getTargets() {
+        return targets;
+    }
+
+    public int[] getWeights() {
+        return weights;
+    }
+}
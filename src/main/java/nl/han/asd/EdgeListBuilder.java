@@ -0,0 +1,270 @@
+package nl.han.asd;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Builds CSR and adjacency-list graphs straight from an EdgeList in O(V + E),
+ * instead of calling addEdge once per edge. A two-pass counting sort: the first
+ * pass counts the arcs of every source, a prefix sum turns the counts into row
+ * offsets, and the second pass scatters (target, edge index) keys into their
+ * rows. Every row is then sorted and deduplicated (the first occurrence of an
+ * arc keeps its weight, as addEdge does), and a second prefix sum packs the rows.
+ * <p>
+ * Lists with at least parallelThreshold edges run every pass on the pool: counts
+ * and scatter cursors are AtomicIntegerArrays, and the prefix sums are blocked
+ * (block totals in parallel, a short sequential scan over the blocks, then the
+ * blocks again in parallel). Endpoints outside the vertex range are rejected.
+ */
+public class EdgeListBuilder {
+
+    public static final int DEFAULT_PARALLEL_THRESHOLD = 1 << 16;
+
+    // Edges or vertices handled by one task
+    private static final int GRAIN = 1 << 13;
+
+    private final ForkJoinPool pool;
+    private final int parallelThreshold;
+
+    public EdgeListBuilder() {
+        this(ForkJoinPool.commonPool(), DEFAULT_PARALLEL_THRESHOLD);
+    }
+
+    public EdgeListBuilder(ForkJoinPool pool, int parallelThreshold) {
+        this.pool = pool;
+        this.parallelThreshold = parallelThreshold;
+    }
+
+    /**
+     * vertexCount below 0 takes the largest endpoint plus one. Symmetric builds
+     * store every edge in both directions, as the undirected graphs do.
+     */
+    public CsrGraph buildCsr(EdgeList edges, int vertexCount, boolean symmetric) {
+        Rows rows = group(edges, vertexCount, symmetric);
+        double[] weights = null;
+        if (rows.values != null) {
+            double[] converted = new double[rows.targets.length];
+            loop(converted.length, GRAIN, (from, to) -> {
+                for (int i = from; i < to; i++) {
+                    converted[i] = rows.values[i];
+                }
+            });
+            weights = converted;
+        }
+        return new CsrGraph(rows.offsets, rows.targets, weights);
+    }
+
+    // Always symmetric: UnweightedGraphAdjList stores undirected edges
+    public UnweightedGraphAdjList buildUnweightedAdjList(EdgeList edges, int vertexCount) {
+        Rows rows = group(new EdgeList(edges.getSources(), edges.getTargets(), null), vertexCount, true);
+        return UnweightedGraphAdjList.ofSets(rows.toSets(false));
+    }
+
+    // Directed unless symmetric, like WeightedGraphAdjList.addEdge; unweighted lists get weight 1
+    public WeightedGraphAdjList buildWeightedAdjList(EdgeList edges, int vertexCount, boolean symmetric) {
+        EdgeList weighted = edges;
+        if (!edges.isWeighted()) {
+            int[] ones = new int[edges.size()];
+            Arrays.fill(ones, 1);
+            weighted = new EdgeList(edges.getSources(), edges.getTargets(), ones);
+        }
+        return WeightedGraphAdjList.ofSets(group(weighted, vertexCount, symmetric).toSets(true));
+    }
+
+    // Sorted, duplicate-free rows in CSR layout; values is null for unweighted lists
+    private final class Rows {
+        final int[] offsets;
+        final int[] targets;
+        final int[] values;
+
+        Rows(int[] offsets, int[] targets, int[] values) {
+            this.offsets = offsets;
+            this.targets = targets;
+            this.values = values;
+        }
+
+        NeighborSet[] toSets(boolean weighted) {
+            int n = offsets.length - 1;
+            NeighborSet[] sets = new NeighborSet[n];
+            loop(n, GRAIN, (from, to) -> {
+                for (int v = from; v < to; v++) {
+                    int start = offsets[v];
+                    int end = offsets[v + 1];
+                    sets[v] = NeighborSet.ofSorted(weighted, Arrays.copyOfRange(targets, start, end),
+                            weighted ? Arrays.copyOfRange(values, start, end) : null, end - start);
+                }
+            });
+            return sets;
+        }
+    }
+
+    private boolean parallel(int size) {
+        return size >= parallelThreshold;
+    }
+
+    private void loop(int size, int grain, ParallelLoop.RangeBody body) {
+        if (parallel(size)) {
+            ParallelLoop.run(pool, size, grain, body);
+        } else {
+            body.run(0, size);
+        }
+    }
+
+    private Rows group(EdgeList edges, int vertexCount, boolean symmetric) {
+        int[] src = edges.getSources();
+        int[] dest = edges.getTargets();
+        int[] weights = edges.getWeights();
+        int m = src.length;
+        int n = vertexCount >= 0 ? vertexCount : maxEndpoint(src, dest) + 1;
+
+        // Pass 1: arcs per source
+        int[] counts = new int[n];
+        if (parallel(m)) {
+            AtomicIntegerArray shared = new AtomicIntegerArray(n);
+            ParallelLoop.run(pool, m, GRAIN, (from, to) -> {
+                for (int i = from; i < to; i++) {
+                    checkEdge(src, dest, i, n);
+                    shared.incrementAndGet(src[i]);
+                    if (symmetric && src[i] != dest[i]) {
+                        shared.incrementAndGet(dest[i]);
+                    }
+                }
+            });
+            loop(n, GRAIN, (from, to) -> {
+                for (int v = from; v < to; v++) {
+                    counts[v] = shared.get(v);
+                }
+            });
+        } else {
+            for (int i = 0; i < m; i++) {
+                checkEdge(src, dest, i, n);
+                counts[src[i]]++;
+                if (symmetric && src[i] != dest[i]) {
+                    counts[dest[i]]++;
+                }
+            }
+        }
+        int[] offsets = prefixSums(counts);
+
+        // Pass 2: scatter (target, edge index) so sorting a row orders by target, then input order
+        long[] keys = new long[offsets[n]];
+        if (parallel(m)) {
+            AtomicIntegerArray cursor = new AtomicIntegerArray(Arrays.copyOf(offsets, n));
+            ParallelLoop.run(pool, m, GRAIN, (from, to) -> {
+                for (int i = from; i < to; i++) {
+                    keys[cursor.getAndIncrement(src[i])] = ((long) dest[i] << 32) | i;
+                    if (symmetric && src[i] != dest[i]) {
+                        keys[cursor.getAndIncrement(dest[i])] = ((long) src[i] << 32) | i;
+                    }
+                }
+            });
+        } else {
+            int[] cursor = Arrays.copyOf(offsets, n);
+            for (int i = 0; i < m; i++) {
+                keys[cursor[src[i]]++] = ((long) dest[i] << 32) | i;
+                if (symmetric && src[i] != dest[i]) {
+                    keys[cursor[dest[i]]++] = ((long) src[i] << 32) | i;
+                }
+            }
+        }
+
+        // Sort and deduplicate every row in place; counts becomes the deduplicated degree
+        loop(n, GRAIN, (from, to) -> {
+            for (int v = from; v < to; v++) {
+                int start = offsets[v];
+                int end = offsets[v + 1];
+                Arrays.sort(keys, start, end);
+                int size = 0;
+                for (int k = start; k < end; k++) {
+                    if (size == 0 || (keys[k] >>> 32) != (keys[start + size - 1] >>> 32)) {
+                        keys[start + size++] = keys[k];
+                    }
+                }
+                counts[v] = size;
+            }
+        });
+
+        int[] packed = prefixSums(counts);
+        int[] targets = new int[packed[n]];
+        int[] values = weights == null ? null : new int[targets.length];
+        loop(n, GRAIN, (from, to) -> {
+            for (int v = from; v < to; v++) {
+                for (int k = 0, start = offsets[v], out = packed[v]; k < counts[v]; k++) {
+                    long key = keys[start + k];
+                    targets[out + k] = (int) (key >>> 32);
+                    if (values != null) {
+                        values[out + k] = weights[(int) key];
+                    }
+                }
+            }
+        });
+        return new Rows(packed, targets, values);
+    }
+
+    private static void checkEdge(int[] src, int[] dest, int i, int n) {
+        if (src[i] < 0 || src[i] >= n || dest[i] < 0 || dest[i] >= n) {
+            throw new IllegalArgumentException("Edge " + i + " (" + src[i] + " -> " + dest[i]
+                    + ") is outside the " + n + " vertices.");
+        }
+    }
+
+    private int maxEndpoint(int[] src, int[] dest) {
+        int max = -1;
+        for (int i = 0; i < src.length; i++) {
+            max = Math.max(max, Math.max(src[i], dest[i]));
+        }
+        return max;
+    }
+
+    /**
+     * Exclusive prefix sums of counts, of length counts.length + 1. Large inputs are
+     * summed per block in parallel, the block totals scanned, and the blocks filled in parallel.
+     */
+    int[] prefixSums(int[] counts) {
+        int n = counts.length;
+        int[] offsets = new int[n + 1];
+        if (!parallel(n)) {
+            long sum = 0;
+            for (int v = 0; v < n; v++) {
+                offsets[v] = (int) sum;
+                sum += counts[v];
+            }
+            offsets[n] = checkedTotal(sum);
+            return offsets;
+        }
+        int blocks = (n + GRAIN - 1) / GRAIN;
+        long[] blockSums = new long[blocks + 1];
+        ParallelLoop.run(pool, blocks, 1, (from, to) -> {
+            for (int b = from; b < to; b++) {
+                long sum = 0;
+                for (int v = b * GRAIN, end = Math.min(n, v + GRAIN); v < end; v++) {
+                    sum += counts[v];
+                }
+                blockSums[b + 1] = sum;
+            }
+        });
+        for (int b = 0; b < blocks; b++) {
+            blockSums[b + 1] += blockSums[b];
+        }
+        offsets[n] = checkedTotal(blockSums[blocks]);
+        ParallelLoop.run(pool, blocks, 1, (from, to) -> {
+            for (int b = from; b < to; b++) {
+                int sum = (int) blockSums[b];
+                for (int v = b * GRAIN, end = Math.min(n, v + GRAIN); v < end; v++) {
+                    offsets[v] = sum;
+                    sum += counts[v];
+                }
+            }
+        });
+        return offsets;
+    }
+
+    private static int checkedTotal(long total) {
+        if (total > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Graph with " + total + " arcs does not fit in int-indexed arrays.");
+        }
+        return (int) total;
+    }
+}
@@ -0,0 +1,220 @@
+package nl.han.asd;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * All-pairs shortest paths on a WeightedGraphMatrix by cache-blocked Floyd-Warshall.
+ * The distance matrix is cut into BLOCK x BLOCK tiles. Round kb first closes the
+ * diagonal tile (kb, kb), then the tiles in row kb and column kb, then every other
+ * tile; the tiles within each of the last two phases are independent and run in
+ * parallel. Each tile update keeps three tiles hot in cache instead of streaming
+ * the whole matrix once per k. The float mode halves memory and bandwidth at the
+ * cost of precision (integer weights stay exact up to 2^24).
+ */
+public class FloydWarshall {
+
+    // 64 x 64 doubles is 32 KB, three tiles fit in a typical L2
+    static final int BLOCK = 64;
+
+    private final ForkJoinPool pool;
+
+    public FloydWarshall() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public FloydWarshall(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Distances between all pairs. The distance from i to j is at i * n + j of
+     * getDistances(); POSITIVE_INFINITY marks unreachable pairs.
+     */
+    public static final class Result {
+        private final int vertexCount;
+        private final double[] distances;
+        private final float[] floatDistances;
+
+        Result(int vertexCount, double[] distances, float[] floatDistances) {
+            this.vertexCount = vertexCount;
+            this.distances = distances;
+            this.floatDistances = floatDistances;
+        }
+
+        public int getVertexCount() {
+            return vertexCount;
+        }
+
+        public double getDistance(int src, int dest) {
+            if (src < 0 || src >= vertexCount || dest < 0 || dest >= vertexCount) {
+                throw new IllegalArgumentException("Invalid vertex index: " + src + " or " + dest);
+            }
+            int index = src * vertexCount + dest;
+            return distances != null ? distances[index] : floatDistances[index];
+        }
+
+        public boolean isFloat() {
+            return floatDistances != null;
+        }
+
+        // Flat row-major buffer, null in float mode. Not copied; may be longer than n * n.
+        public double[] getDistances() {
+            return distances;
+        }
+
+        // Flat row-major buffer, null in double mode. Not copied; may be longer than n * n.
+        public float[] getFloatDistances() {
+            return floatDistances;
+        }
+
+        // A negative diagonal entry means some vertex lies on a negative cycle
+        public boolean hasNegativeCycle() {
+            for (int v = 0; v < vertexCount; v++) {
+                if (getDistance(v, v) < 0) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    // Relaxes one tile through one tile column; the only part that depends on the element type
+    private interface TileKernel {
+        void update(int ib, int jb, int kb);
+    }
+
+    public Result solve(WeightedGraphMatrix graph) {
+        long start = GraphMetrics.start();
+        int n = graph.getVertexCount();
+        int size = paddedSize(n);
+        double[] dist = new double[size * size];
+        Arrays.fill(dist, Double.POSITIVE_INFINITY);
+        for (int i = 0; i < n; i++) {
+            graph.copyRow(i, dist, i * size);
+            dist[i * size + i] = Math.min(0.0, dist[i * size + i]);
+        }
+        runRounds(size, (ib, jb, kb) -> update(dist, size, ib, jb, kb));
+        compact(dist, n, size);
+        GraphMetrics.record(GraphMetrics.Operation.ALL_PAIRS, graph, start);
+        return new Result(n, dist, null);
+    }
+
+    public Result solveFloat(WeightedGraphMatrix graph) {
+        long start = GraphMetrics.start();
+        int n = graph.getVertexCount();
+        int size = paddedSize(n);
+        float[] dist = new float[size * size];
+        Arrays.fill(dist, Float.POSITIVE_INFINITY);
+        double[] row = new double[n];
+        for (int i = 0; i < n; i++) {
+            graph.copyRow(i, row, 0);
+            for (int j = 0; j < n; j++) {
+                dist[i * size + j] = (float) row[j];
+            }
+            dist[i * size + i] = Math.min(0f, dist[i * size + i]);
+        }
+        runRounds(size, (ib, jb, kb) -> update(dist, size, ib, jb, kb));
+        compact(dist, n, size);
+        GraphMetrics.record(GraphMetrics.Operation.ALL_PAIRS, graph, start);
+        return new Result(n, null, dist);
+    }
+
+    // The three phases of every round, see the class comment
+    private void runRounds(int size, TileKernel kernel) {
+        int blocks = size / BLOCK;
+        for (int kb = 0; kb < blocks; kb++) {
+            final int k = kb;
+            kernel.update(k, k, k);
+            // Row and column tiles of round k: task t < blocks is tile (k, t), the rest (t - blocks, k)
+            ParallelLoop.run(pool, 2 * blocks, 1, (from, to) -> {
+                for (int t = from; t < to; t++) {
+                    int other = t < blocks ? t : t - blocks;
+                    if (other != k) {
+                        if (t < blocks) {
+                            kernel.update(k, other, k);
+                        } else {
+                            kernel.update(other, k, k);
+                        }
+                    }
+                }
+            });
+            ParallelLoop.run(pool, blocks * blocks, 1, (from, to) -> {
+                for (int t = from; t < to; t++) {
+                    int ib = t / blocks;
+                    int jb = t % blocks;
+                    if (ib != k && jb != k) {
+                        kernel.update(ib, jb, k);
+                    }
+                }
+            });
+        }
+    }
+
+    // n rounded up to whole tiles; the padding rows and columns stay unreachable
+    private static int paddedSize(int n) {
+        int size = Math.max(BLOCK, (n + BLOCK - 1) / BLOCK * BLOCK);
+        if ((long) size * size > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Graph with " + n + " vertices is too large for a single distance buffer.");
+        }
+        return size;
+    }
+
+    /**
+     * Relax tile (ib, jb) through the vertices of tile column kb:
+     * d[i][j] = min(d[i][j], d[i][k] + d[k][j]). Keeping k outermost makes this valid
+     * when the tile being updated is also one of the two it reads from.
+     */
+    private static void update(double[] dist, int size, int ib, int jb, int kb) {
+        int i0 = ib * BLOCK;
+        int j0 = jb * BLOCK;
+        int k0 = kb * BLOCK;
+        for (int k = k0; k < k0 + BLOCK; k++) {
+            int kRow = k * size;
+            for (int i = i0; i < i0 + BLOCK; i++) {
+                int iRow = i * size;
+                double ik = dist[iRow + k];
+                if (ik == Double.POSITIVE_INFINITY) {
+                    continue;
+                }
+                for (int j = j0; j < j0 + BLOCK; j++) {
+                    double candidate = ik + dist[kRow + j];
+                    if (candidate < dist[iRow + j]) {
+                        dist[iRow + j] = candidate;
+                    }
+                }
+            }
+        }
+    }
+
+    // Same as above, for the float mode
+    private static void update(float[] dist, int size, int ib, int jb, int kb) {
+        int i0 = ib * BLOCK;
+        int j0 = jb * BLOCK;
+        int k0 = kb * BLOCK;
+        for (int k = k0; k < k0 + BLOCK; k++) {
+            int kRow = k * size;
+            for (int i = i0; i < i0 + BLOCK; i++) {
+                int iRow = i * size;
+                float ik = dist[iRow + k];
+                if (ik == Float.POSITIVE_INFINITY) {
+                    continue;
+                }
+                for (int j = j0; j < j0 + BLOCK; j++) {
+                    float candidate = ik + dist[kRow + j];
+                    if (candidate < dist[iRow + j]) {
+                        dist[iRow + j] = candidate;
+                    }
+                }
+            }
+        }
+    }
+
+    // Move the rows from stride size to stride n, in place; rows only move towards the front.
+    // dist is a double[] or a float[].
+    private static void compact(Object dist, int n, int size) {
+        for (int i = 1; i < n && size != n; i++) {
+            System.arraycopy(dist, i * size, dist, i * n, n);
+        }
+    }
+}
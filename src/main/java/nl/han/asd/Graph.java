@@ -3,6 +3,7 @@ import com.google.gson.Gson;
 import com.google.gson.reflect.TypeToken;
 
 
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.lang.reflect.Type;
@@ -30,6 +31,16 @@ public class Graph {
         return gson.fromJson(reader, type);
     }
 
+    // Method to load the dataset straight into the graph classes, without the intermediate Map
+    public StreamingDatasetLoader.Dataset loadDatasetStreaming() {
+        try {
+            return new StreamingDatasetLoader().loadResource("/dataset.json");
+        } catch (IOException e) {
+            System.out.println("Failed to stream dataset.json: " + e.getMessage());
+            return null;
+        }
+    }
+
     public static void main(String[] args) {
         Graph loader = new Graph();
         Map<String, Object> dataset = loader.loadDataset();
@@ -57,6 +68,12 @@ public class Graph {
         } else {
             System.out.println("Failed to load dataset.");
         }
+
+        StreamingDatasetLoader.Dataset streamed = loader.loadDatasetStreaming();
+        if (streamed != null) {
+            System.out.println("\nStreaming load: " + streamed.getLoadTimeNanos() + " ns, "
+                    + streamed.getAllocatedBytes() + " bytes allocated");
+        }
     }
 
     // Test Unweighted Graph with adjacency list
@@ -171,6 +188,12 @@ public class Graph {
             int to = edge.get(1).intValue();
             System.out.println("Edge: " + from + " -> " + to);
         }
+
+        // Build the adjacency list in one counting-sort pass instead of addEdge per edge
+        UnweightedGraphAdjList graph = new EdgeListBuilder()
+                .buildUnweightedAdjList(EdgeList.fromJson(lijnlijstRaw, false), -1);
+        System.out.println("Graph built from edge list:");
+        graph.printGraph();
     }
 
     // Test Weighted Edge List
@@ -185,6 +208,11 @@ public class Graph {
             int weight = edge.get(2).intValue();
             System.out.println("Edge: " + from + " -> " + to + " (weight: " + weight + ")");
         }
+
+        WeightedGraphAdjList graph = new EdgeListBuilder()
+                .buildWeightedAdjList(EdgeList.fromJson(lijnlijstGewogenRaw, true), -1, false);
+        System.out.println("Graph built from weighted edge list:");
+        graph.printGraph();
     }
 
     // Test Weighted Adjacency Matrix
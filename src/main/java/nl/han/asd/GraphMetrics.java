@@ -0,0 +1,267 @@
+package nl.han.asd;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.lang.ref.WeakReference;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Opt-in operation metrics for the graph classes and query engines. Instrumented
+ * methods call start() on entry and record() on their normal exit; while metrics
+ * are disabled (the default) start() is a single volatile read and record()
+ * returns immediately, so the cost is near zero.
+ * <p>
+ * When enabled, every operation adds to a counter, a total time and a latency
+ * histogram with power-of-two nanosecond buckets, all LongAdders so concurrent
+ * callers do not contend, and is passed to the registered listeners on the
+ * calling thread. Calls rejected as invalid are not recorded. Graphs can be
+ * watched by name to expose their MemoryFootprint estimates over JMX. The graphs
+ * are not thread-safe, so a footprint is measured on the owner's thread by watch()
+ * and refreshFootprint(), and JMX only ever reads that stored estimate.
+ */
+public final class GraphMetrics implements GraphMetricsMXBean {
+
+    public enum Operation {
+        ADD_EDGE, REMOVE_EDGE, ADD_VERTEX, REMOVE_VERTEX, HAS_EDGE,
+        // Query engines
+        SHORTEST_PATH, TRAVERSAL, ALL_PAIRS, PAGE_RANK, TRIANGLE_COUNT
+    }
+
+    public interface Listener {
+        // source is the graph, or the graph searched for query engines
+        void onOperation(Operation operation, Object source, long nanos);
+    }
+
+    public static final String OBJECT_NAME = "nl.han.asd:type=GraphMetrics";
+
+    // Returned by start() while disabled
+    static final long NOT_TIMED = Long.MIN_VALUE;
+
+    // Bucket b counts latencies below 2^b ns (and at least 2^(b-1)); the last one is open-ended
+    static final int BUCKETS = 40;
+
+    private static final GraphMetrics INSTANCE = new GraphMetrics();
+
+    private static volatile boolean enabled;
+
+    private final LongAdder[][] histograms = new LongAdder[Operation.values().length][BUCKETS];
+    private final LongAdder[] totalNanos = new LongAdder[Operation.values().length];
+    private final CopyOnWriteArrayList<Listener> listeners = new CopyOnWriteArrayList<>();
+    private final Map<String, Watched> watched = new ConcurrentHashMap<>();
+
+    private static final class Watched {
+        // Weak, so watching a graph does not keep it alive
+        final WeakReference<AdjacencyGraph> graph;
+        volatile MemoryFootprint footprint;
+
+        Watched(AdjacencyGraph graph) {
+            this.graph = new WeakReference<>(graph);
+            this.footprint = MemoryFootprint.of(graph);
+        }
+    }
+
+    private GraphMetrics() {
+        for (int op = 0; op < histograms.length; op++) {
+            totalNanos[op] = new LongAdder();
+            for (int b = 0; b < BUCKETS; b++) {
+                histograms[op][b] = new LongAdder();
+            }
+        }
+    }
+
+    public static GraphMetrics get() {
+        return INSTANCE;
+    }
+
+    static long start() {
+        return enabled ? System.nanoTime() : NOT_TIMED;
+    }
+
+    static void record(Operation operation, Object source, long start) {
+        if (start != NOT_TIMED) {
+            INSTANCE.add(operation, source, System.nanoTime() - start);
+        }
+    }
+
+    private void add(Operation operation, Object source, long nanos) {
+        int bucket = Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(Math.max(0, nanos)));
+        histograms[operation.ordinal()][bucket].increment();
+        totalNanos[operation.ordinal()].add(nanos);
+        for (Listener listener : listeners) {
+            listener.onOperation(operation, source, nanos);
+        }
+    }
+
+    /**
+     * Register the MXBean with the platform MBean server under OBJECT_NAME.
+     * Registering twice is harmless.
+     */
+    public static void registerMBean() {
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(INSTANCE, new ObjectName(OBJECT_NAME));
+        } catch (InstanceAlreadyExistsException e) {
+            // Already registered
+        } catch (JMException e) {
+            throw new IllegalStateException("Could not register " + OBJECT_NAME, e);
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        GraphMetrics.enabled = enabled;
+    }
+
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(Listener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Expose the footprint of graph under name, replacing an earlier graph with that
+     * name. The footprint is measured now, so call this from the thread that owns
+     * the graph, and call refreshFootprint later to update it.
+     */
+    public void watch(String name, AdjacencyGraph graph) {
+        watched.put(name, new Watched(graph));
+    }
+
+    // Re-measure a watched graph, from the thread that owns it; unknown names are ignored
+    public void refreshFootprint(String name) {
+        Watched entry = watched.get(name);
+        AdjacencyGraph graph = entry != null ? entry.graph.get() : null;
+        if (graph != null) {
+            entry.footprint = MemoryFootprint.of(graph);
+        }
+    }
+
+    public void unwatch(String name) {
+        watched.remove(name);
+    }
+
+    public long getCount(Operation operation) {
+        long count = 0;
+        for (LongAdder bucket : histograms[operation.ordinal()]) {
+            count += bucket.sum();
+        }
+        return count;
+    }
+
+    public long getTotalNanos(Operation operation) {
+        return totalNanos[operation.ordinal()].sum();
+    }
+
+    public double getMeanNanos(Operation operation) {
+        long count = getCount(operation);
+        return count == 0 ? 0.0 : (double) getTotalNanos(operation) / count;
+    }
+
+    // Counts per bucket, see BUCKETS
+    public long[] getHistogram(Operation operation) {
+        long[] counts = new long[BUCKETS];
+        for (int b = 0; b < BUCKETS; b++) {
+            counts[b] = histograms[operation.ordinal()][b].sum();
+        }
+        return counts;
+    }
+
+    /**
+     * Upper bound of the bucket holding the given percentile (0 - 100], so the
+     * answer is within a factor of two of the true latency. 0 when nothing was recorded.
+     */
+    public long getPercentileNanos(Operation operation, double percentile) {
+        if (percentile <= 0 || percentile > 100) {
+            throw new IllegalArgumentException("Percentile must be in (0, 100]: " + percentile);
+        }
+        long[] counts = getHistogram(operation);
+        long total = 0;
+        for (long count : counts) {
+            total += count;
+        }
+        long rank = (long) Math.ceil(total * percentile / 100.0);
+        long seen = 0;
+        for (int b = 0; b < BUCKETS && total > 0; b++) {
+            seen += counts[b];
+            if (seen >= rank) {
+                return 1L << b;
+            }
+        }
+        return 0;
+    }
+
+    public void reset() {
+        for (int op = 0; op < histograms.length; op++) {
+            totalNanos[op].reset();
+            for (LongAdder bucket : histograms[op]) {
+                bucket.reset();
+            }
+        }
+    }
+
+    public Map<String, Long> getOperationCounts() {
+        Map<String, Long> result = new LinkedHashMap<>();
+        for (Operation operation : Operation.values()) {
+            result.put(operation.name(), getCount(operation));
+        }
+        return result;
+    }
+
+    public Map<String, Double> getMeanLatencyNanos() {
+        Map<String, Double> result = new LinkedHashMap<>();
+        for (Operation operation : Operation.values()) {
+            result.put(operation.name(), getMeanNanos(operation));
+        }
+        return result;
+    }
+
+    public Map<String, Long> getP99LatencyNanos() {
+        Map<String, Long> result = new LinkedHashMap<>();
+        for (Operation operation : Operation.values()) {
+            result.put(operation.name(), getPercentileNanos(operation, 99));
+        }
+        return result;
+    }
+
+    public Map<String, Long> getFootprintBytes() {
+        Map<String, Long> result = new LinkedHashMap<>();
+        for (Map.Entry<String, MemoryFootprint> entry : footprints().entrySet()) {
+            result.put(entry.getKey(), entry.getValue().getBytes());
+        }
+        return result;
+    }
+
+    public Map<String, Double> getBytesPerEdge() {
+        Map<String, Double> result = new LinkedHashMap<>();
+        for (Map.Entry<String, MemoryFootprint> entry : footprints().entrySet()) {
+            result.put(entry.getKey(), entry.getValue().getBytesPerEdge());
+        }
+        return result;
+    }
+
+    // Last measured footprints of the watched graphs that are still alive; collected ones are dropped
+    private Map<String, MemoryFootprint> footprints() {
+        Map<String, MemoryFootprint> result = new LinkedHashMap<>();
+        Iterator<Map.Entry<String, Watched>> it = watched.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<String, Watched> entry = it.next();
+            if (entry.getValue().graph.get() == null) {
+                it.remove();
+            } else {
+                result.put(entry.getKey(), entry.getValue().footprint);
+            }
+        }
+        return result;
+    }
+}
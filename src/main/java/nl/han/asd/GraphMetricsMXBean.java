@@ -0,0 +1,27 @@
+package nl.han.asd;
+
+import java.util.Map;
+
+/**
+ * JMX view of GraphMetrics, registered by GraphMetrics.registerMBean().
+ * Maps are keyed by operation name or, for footprints, by the watched graph's name.
+ */
+public interface GraphMetricsMXBean {
+
+    boolean isEnabled();
+
+    void setEnabled(boolean enabled);
+
+    Map<String, Long> getOperationCounts();
+
+    Map<String, Double> getMeanLatencyNanos();
+
+    Map<String, Long> getP99LatencyNanos();
+
+    // As last measured by GraphMetrics.watch or refreshFootprint, never on the JMX thread
+    Map<String, Long> getFootprintBytes();
+
+    Map<String, Double> getBytesPerEdge();
+
+    void reset();
+}
@@ -0,0 +1,128 @@
+package nl.han.asd;
+
+import java.util.Arrays;
+
+/**
+ * Min-heap of vertex ids keyed by double, with decrease-key through a position
+ * index. Each node has ARITY children, which keeps the heap shallow and the
+ * children of a node in one cache line. Everything lives in primitive arrays.
+ */
+class IndexedDaryHeap {
+
+    private static final int ARITY = 4;
+
+    private int[] heap;
+    private double[] keys;
+    // Heap slot of every vertex, -1 when the vertex is not in the heap
+    private int[] position;
+    private int size;
+
+    IndexedDaryHeap(int capacity) {
+        heap = new int[Math.max(1, capacity)];
+        keys = new double[heap.length];
+        position = new int[heap.length];
+        Arrays.fill(position, -1);
+    }
+
+    // Make room for vertex ids below capacity; only valid while the heap is empty
+    void ensureCapacity(int capacity) {
+        if (capacity > position.length) {
+            heap = new int[capacity];
+            keys = new double[capacity];
+            position = new int[capacity];
+            Arrays.fill(position, -1);
+        }
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean contains(int vertex) {
+        return position[vertex] >= 0;
+    }
+
+    double minKey() {
+        return keys[0];
+    }
+
+    int peek() {
+        return heap[0];
+    }
+
+    /**
+     * Insert vertex with key, or lower its key when it is already present with a
+     * higher one. Returns false when nothing changed.
+     */
+    boolean insertOrDecrease(int vertex, double key) {
+        int slot = position[vertex];
+        if (slot < 0) {
+            slot = size++;
+        } else if (key >= keys[slot]) {
+            return false;
+        }
+        siftUp(slot, vertex, key);
+        return true;
+    }
+
+    int poll() {
+        int min = heap[0];
+        position[min] = -1;
+        size--;
+        if (size > 0) {
+            siftDown(0, heap[size], keys[size]);
+        }
+        return min;
+    }
+
+    // O(size), so a cleared heap can be reused without touching the whole position index
+    void clear() {
+        for (int i = 0; i < size; i++) {
+            position[heap[i]] = -1;
+        }
+        size = 0;
+    }
+
+    private void siftUp(int slot, int vertex, double key) {
+        while (slot > 0) {
+            int parent = (slot - 1) / ARITY;
+            if (keys[parent] <= key) {
+                break;
+            }
+            place(slot, heap[parent], keys[parent]);
+            slot = parent;
+        }
+        place(slot, vertex, key);
+    }
+
+    private void siftDown(int slot, int vertex, double key) {
+        while (true) {
+            int first = slot * ARITY + 1;
+            if (first >= size) {
+                break;
+            }
+            int best = first;
+            for (int child = first + 1, end = Math.min(first + ARITY, size); child < end; child++) {
+                if (keys[child] < keys[best]) {
+                    best = child;
+                }
+            }
+            if (keys[best] >= key) {
+                break;
+            }
+            place(slot, heap[best], keys[best]);
+            slot = best;
+        }
+        place(slot, vertex, key);
+    }
+
+    private void place(int slot, int vertex, double key) {
+        heap[slot] = vertex;
+        keys[slot] = key;
+        position[vertex] = slot;
+    }
+}
@@ -0,0 +1,123 @@
+package nl.han.asd;
+
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.util.function.IntConsumer;
+
+/**
+ * Read-only CSR graph backed by a memory-mapped file (see BinaryGraphFormat).
+ * Rows are sorted by target, as in CsrGraph, so hasEdge is a binary search.
+ */
+public class MappedCsrGraph implements WeightedAdjacencyGraph {
+
+    private final int vertexCount;
+    private final int edgeCount;
+    private final IntBuffer offsets;
+    private final IntBuffer targets;
+    private final DoubleBuffer weights;
+
+    MappedCsrGraph(int vertexCount, int edgeCount, IntBuffer offsets, IntBuffer targets, DoubleBuffer weights) {
+        this.vertexCount = vertexCount;
+        this.edgeCount = edgeCount;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+    }
+
+    private boolean isValidVertex(int vertex) {
+        return vertex >= 0 && vertex < vertexCount;
+    }
+
+    private int indexOf(int src, int dest) {
+        if (!isValidVertex(src) || !isValidVertex(dest)) {
+            return -1;
+        }
+        int low = offsets.get(src);
+        int high = offsets.get(src + 1) - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int target = targets.get(mid);
+            if (target < dest) {
+                low = mid + 1;
+            } else if (target > dest) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    public boolean hasEdge(int src, int dest) {
+        return indexOf(src, dest) >= 0;
+    }
+
+    // Same contract as CsrGraph.getWeight
+    public double getWeight(int src, int dest) {
+        int index = indexOf(src, dest);
+        if (index < 0) {
+            return Double.POSITIVE_INFINITY;
+        }
+        return weights == null ? 1.0 : weights.get(index);
+    }
+
+    public int getVertexCount() {
+        return vertexCount;
+    }
+
+    public int getEdgeCount() {
+        return edgeCount;
+    }
+
+    public boolean isWeighted() {
+        return weights != null;
+    }
+
+    public int degree(int vertex) {
+        return offsets.get(vertex + 1) - offsets.get(vertex);
+    }
+
+    public void forEachNeighbor(int vertex, IntConsumer action) {
+        for (int i = offsets.get(vertex), end = offsets.get(vertex + 1); i < end; i++) {
+            action.accept(targets.get(i));
+        }
+    }
+
+    public void forEachEdge(int vertex, EdgeConsumer action) {
+        for (int i = offsets.get(vertex), end = offsets.get(vertex + 1); i < end; i++) {
+            action.accept(targets.get(i), weights == null ? 1.0 : weights.get(i));
+        }
+    }
+
+    public int getRowStart(int vertex) {
+        return offsets.get(vertex);
+    }
+
+    public int getRowEnd(int vertex) {
+        return offsets.get(vertex + 1);
+    }
+
+    public int getTargetAt(int index) {
+        return targets.get(index);
+    }
+
+    public double getWeightAt(int index) {
+        return weights == null ? 1.0 : weights.get(index);
+    }
+
+    /**
+     * Copy the mapped arrays onto the heap.
+     */
+    public CsrGraph toCsr() {
+        int[] offsetArray = new int[vertexCount + 1];
+        int[] targetArray = new int[edgeCount];
+        offsets.duplicate().get(offsetArray);
+        targets.duplicate().get(targetArray);
+        double[] weightArray = null;
+        if (weights != null) {
+            weightArray = new double[edgeCount];
+            weights.duplicate().get(weightArray);
+        }
+        return new CsrGraph(offsetArray, targetArray, weightArray);
+    }
+}
@@ -0,0 +1,95 @@
+package nl.han.asd;
+
+/**
+ * Estimated heap size of a graph, assuming a 64-bit JVM with compressed
+ * references: 12-byte object headers, 16-byte array headers, 4-byte references,
+ * everything padded to 8 bytes. Only the graph's own structures are counted.
+ * Representations without a dedicated estimate are sized as their CSR form.
+ */
+public final class MemoryFootprint {
+
+    static final int OBJECT_HEADER = 12;
+    static final int ARRAY_HEADER = 16;
+    static final int REFERENCE = 4;
+
+    private final String representation;
+    private final long bytes;
+    private final int vertexCount;
+    private final long arcCount;
+
+    private MemoryFootprint(String representation, long bytes, int vertexCount, long arcCount) {
+        this.representation = representation;
+        this.bytes = bytes;
+        this.vertexCount = vertexCount;
+        this.arcCount = arcCount;
+    }
+
+    public static MemoryFootprint of(AdjacencyGraph graph) {
+        int n = graph.getVertexCount();
+        long arcs = 0;
+        for (int v = 0; v < n; v++) {
+            arcs += graph.degree(v);
+        }
+        long bytes;
+        if (graph instanceof UnweightedGraphAdjList) {
+            bytes = ((UnweightedGraphAdjList) graph).estimateBytes();
+        } else if (graph instanceof WeightedGraphAdjList) {
+            bytes = ((WeightedGraphAdjList) graph).estimateBytes();
+        } else if (graph instanceof UnweightedGraphMatrix) {
+            bytes = ((UnweightedGraphMatrix) graph).estimateBytes();
+        } else if (graph instanceof WeightedGraphMatrix) {
+            bytes = ((WeightedGraphMatrix) graph).estimateBytes();
+        } else {
+            bytes = csrBytes(n, arcs, graph instanceof WeightedAdjacencyGraph);
+        }
+        return new MemoryFootprint(graph.getClass().getSimpleName(), bytes, n, arcs);
+    }
+
+    static long align(long bytes) {
+        return (bytes + 7) & ~7L;
+    }
+
+    static long object(int fieldBytes) {
+        return align(OBJECT_HEADER + fieldBytes);
+    }
+
+    static long array(long length, int elementBytes) {
+        return align(ARRAY_HEADER + length * elementBytes);
+    }
+
+    static long csrBytes(int vertexCount, long arcCount, boolean weighted) {
+        return object(3 * REFERENCE) + array(vertexCount + 1, 4) + array(arcCount, 4)
+                + (weighted ? array(arcCount, 8) : 0);
+    }
+
+    public String getRepresentation() {
+        return representation;
+    }
+
+    public long getBytes() {
+        return bytes;
+    }
+
+    public int getVertexCount() {
+        return vertexCount;
+    }
+
+    // Stored arcs: an undirected edge counts twice
+    public long getArcCount() {
+        return arcCount;
+    }
+
+    public double getBytesPerVertex() {
+        return vertexCount == 0 ? 0.0 : (double) bytes / vertexCount;
+    }
+
+    public double getBytesPerEdge() {
+        return arcCount == 0 ? 0.0 : (double) bytes / arcCount;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: %d bytes, %.1f bytes/vertex, %.1f bytes/arc",
+                representation, bytes, getBytesPerVertex(), getBytesPerEdge());
+    }
+}
@@ -0,0 +1,522 @@
+package nl.han.asd;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Adaptive set of neighbour ids, optionally with an int weight per neighbour.
+ * Small sets are a sorted int[] (binary search, compact, ordered iteration);
+ * once the size passes HASH_THRESHOLD the set switches to an open-addressing
+ * hash table with linear probing, giving O(1) add/remove/contains on hub vertices.
+ * Neighbour ids must be non-negative.
+ */
+public class NeighborSet {
+
+    static final int HASH_THRESHOLD = 64;
+    private static final int EMPTY = -1;
+    private static final int INITIAL_CAPACITY = 4;
+
+    public interface WeightedNeighborConsumer {
+        void accept(int neighbor, int weight);
+    }
+
+    private final boolean weighted;
+    private boolean hashed;
+    private int[] keys;
+    private int[] values;
+    private int size;
+
+    public NeighborSet(boolean weighted) {
+        this.weighted = weighted;
+        this.keys = new int[INITIAL_CAPACITY];
+        this.values = weighted ? new int[INITIAL_CAPACITY] : null;
+    }
+
+    /**
+     * Build a set directly from ascending, duplicate-free neighbour ids, adopting
+     * the arrays when the set stays in sorted-array form. values may be null for
+     * unweighted sets.
+     */
+    static NeighborSet ofSorted(boolean weighted, int[] keys, int[] values, int size) {
+        NeighborSet set = new NeighborSet(weighted);
+        if (size <= HASH_THRESHOLD) {
+            if (keys.length >= INITIAL_CAPACITY) {
+                set.keys = keys;
+                set.values = weighted ? values : null;
+            } else {
+                System.arraycopy(keys, 0, set.keys, 0, size);
+                if (weighted) {
+                    System.arraycopy(values, 0, set.values, 0, size);
+                }
+            }
+            set.size = size;
+            return set;
+        }
+        set.resetHashTable(Integer.highestOneBit(size * 4));
+        for (int i = 0; i < size; i++) {
+            set.hashInsert(keys[i], weighted ? values[i] : 1);
+        }
+        return set;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    boolean isHashed() {
+        return hashed;
+    }
+
+    public boolean contains(int neighbor) {
+        return hashed ? findSlot(neighbor) >= 0 : Arrays.binarySearch(keys, 0, size, neighbor) >= 0;
+    }
+
+    /**
+     * Weight of the edge to neighbor, or absent when there is no such neighbour.
+     * Unweighted sets report a weight of 1.
+     */
+    public int getWeight(int neighbor, int absent) {
+        int index = hashed ? findSlot(neighbor) : Arrays.binarySearch(keys, 0, size, neighbor);
+        if (index < 0) {
+            return absent;
+        }
+        return weighted ? values[index] : 1;
+    }
+
+    /**
+     * getWeight for a reader that does not hold the lock a writer may be holding.
+     * Works on one read of each field and stops probing after keys.length slots,
+     * returning unsure instead of spinning on a table that is being rebuilt. The
+     * answer is only meaningful when the caller then validates it saw no writer.
+     */
+    int getWeightUnlocked(int neighbor, int absent, int unsure) {
+        int[] k = keys;
+        int[] v = values;
+        int index;
+        if (hashed) {
+            int mask = k.length - 1;
+            index = -1;
+            int slot = hash(neighbor, mask);
+            for (int probes = 0; probes < k.length && index < 0; probes++, slot = (slot + 1) & mask) {
+                int current = k[slot];
+                if (current == neighbor) {
+                    index = slot;
+                } else if (current == EMPTY) {
+                    return absent;
+                }
+            }
+            if (index < 0) {
+                return unsure;
+            }
+        } else {
+            index = Arrays.binarySearch(k, 0, Math.min(size, k.length), neighbor);
+            if (index < 0) {
+                return absent;
+            }
+        }
+        return weighted ? v[index] : 1;
+    }
+
+    public boolean add(int neighbor) {
+        return add(neighbor, 1);
+    }
+
+    /**
+     * Add a neighbour; an existing neighbour keeps its current weight.
+     * Returns false when the neighbour was already present.
+     */
+    public boolean add(int neighbor, int weight) {
+        if (hashed) {
+            return hashInsert(neighbor, weight);
+        }
+        int index = Arrays.binarySearch(keys, 0, size, neighbor);
+        if (index >= 0) {
+            return false;
+        }
+        if (size == HASH_THRESHOLD) {
+            toHashTable();
+            return hashInsert(neighbor, weight);
+        }
+        int insertAt = -index - 1;
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size * 2);
+            if (weighted) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+        }
+        System.arraycopy(keys, insertAt, keys, insertAt + 1, size - insertAt);
+        keys[insertAt] = neighbor;
+        if (weighted) {
+            System.arraycopy(values, insertAt, values, insertAt + 1, size - insertAt);
+            values[insertAt] = weight;
+        }
+        size++;
+        return true;
+    }
+
+    public boolean remove(int neighbor) {
+        if (hashed) {
+            int slot = findSlot(neighbor);
+            if (slot < 0) {
+                return false;
+            }
+            deleteSlot(slot);
+            size--;
+            if (size < HASH_THRESHOLD / 2) {
+                toSortedArray();
+            }
+            return true;
+        }
+        int index = Arrays.binarySearch(keys, 0, size, neighbor);
+        if (index < 0) {
+            return false;
+        }
+        System.arraycopy(keys, index + 1, keys, index, size - index - 1);
+        if (weighted) {
+            System.arraycopy(values, index + 1, values, index, size - index - 1);
+        }
+        size--;
+        return true;
+    }
+
+    public void clear() {
+        hashed = false;
+        size = 0;
+        keys = new int[INITIAL_CAPACITY];
+        values = weighted ? new int[INITIAL_CAPACITY] : null;
+    }
+
+    /**
+     * Remove vertex from the set and decrement every neighbour id above it,
+     * as needed when a vertex is deleted and the ids above it shift down.
+     */
+    public void removeAndRenumber(int vertex) {
+        if (hashed) {
+            int[] oldKeys = keys;
+            int[] oldValues = values;
+            resetHashTable(keys.length);
+            for (int slot = 0; slot < oldKeys.length; slot++) {
+                int key = oldKeys[slot];
+                if (key != EMPTY && key != vertex) {
+                    hashInsert(key > vertex ? key - 1 : key, weighted ? oldValues[slot] : 1);
+                }
+            }
+            return;
+        }
+        int index = Arrays.binarySearch(keys, 0, size, vertex);
+        int from = index >= 0 ? index : -index - 1;
+        if (index >= 0) {
+            remove(vertex);
+        }
+        // The set is sorted, so all ids above 'vertex' form the tail
+        for (int i = from; i < size; i++) {
+            keys[i]--;
+        }
+    }
+
+    /**
+     * Translate every neighbour id through mapping, dropping ids mapped to -1.
+     * The mapping must be increasing for the kept ids, as produced by compaction.
+     */
+    public void remap(int[] mapping) {
+        int[] oldKeys = keys;
+        int[] oldValues = values;
+        boolean wasHashed = hashed;
+        int oldSize = size;
+        clear();
+        int limit = wasHashed ? oldKeys.length : oldSize;
+        for (int i = 0; i < limit; i++) {
+            int key = oldKeys[i];
+            if (key != EMPTY && mapping[key] >= 0) {
+                add(mapping[key], weighted ? oldValues[i] : 1);
+            }
+        }
+    }
+
+    /**
+     * Add the ascending, duplicate-free neighbours newKeys[from .. to) with their
+     * weights (newValues may be null). A sorted-array set is merged in a single
+     * O(size + count) pass; existing neighbours keep their weight, as with add.
+     * Returns the number of neighbours added.
+     */
+    int addSorted(int[] newKeys, int[] newValues, int from, int to) {
+        int count = to - from;
+        if (hashed || size + count > HASH_THRESHOLD) {
+            int added = 0;
+            for (int j = from; j < to; j++) {
+                if (add(newKeys[j], newValues == null ? 1 : newValues[j])) {
+                    added++;
+                }
+            }
+            return added;
+        }
+        int capacity = Math.max(INITIAL_CAPACITY, size + count);
+        int[] mergedKeys = new int[capacity];
+        int[] mergedValues = weighted ? new int[capacity] : null;
+        int i = 0;
+        int j = from;
+        int n = 0;
+        while (i < size || j < to) {
+            if (j == to || (i < size && keys[i] <= newKeys[j])) {
+                if (j < to && keys[i] == newKeys[j]) {
+                    j++;
+                }
+                mergedKeys[n] = keys[i];
+                if (weighted) {
+                    mergedValues[n] = values[i];
+                }
+                i++;
+            } else {
+                mergedKeys[n] = newKeys[j];
+                if (weighted) {
+                    mergedValues[n] = newValues == null ? 1 : newValues[j];
+                }
+                j++;
+            }
+            n++;
+        }
+        int added = n - size;
+        keys = mergedKeys;
+        values = mergedValues;
+        size = n;
+        return added;
+    }
+
+    /**
+     * Remove the ascending neighbours removeKeys[from .. to); a sorted-array set
+     * is compacted in a single pass. Returns the number of neighbours removed.
+     */
+    int removeSorted(int[] removeKeys, int from, int to) {
+        if (hashed) {
+            int removedCount = 0;
+            for (int j = from; j < to; j++) {
+                if (remove(removeKeys[j])) {
+                    removedCount++;
+                }
+            }
+            return removedCount;
+        }
+        int kept = 0;
+        int j = from;
+        for (int i = 0; i < size; i++) {
+            while (j < to && removeKeys[j] < keys[i]) {
+                j++;
+            }
+            if (j < to && removeKeys[j] == keys[i]) {
+                continue;
+            }
+            keys[kept] = keys[i];
+            if (weighted) {
+                values[kept] = values[i];
+            }
+            kept++;
+        }
+        int removedCount = size - kept;
+        size = kept;
+        return removedCount;
+    }
+
+    public void forEach(IntConsumer action) {
+        if (hashed) {
+            for (int key : keys) {
+                if (key != EMPTY) {
+                    action.accept(key);
+                }
+            }
+        } else {
+            for (int i = 0; i < size; i++) {
+                action.accept(keys[i]);
+            }
+        }
+    }
+
+    public void forEach(WeightedNeighborConsumer action) {
+        if (hashed) {
+            for (int slot = 0; slot < keys.length; slot++) {
+                if (keys[slot] != EMPTY) {
+                    action.accept(keys[slot], weighted ? values[slot] : 1);
+                }
+            }
+        } else {
+            for (int i = 0; i < size; i++) {
+                action.accept(keys[i], weighted ? values[i] : 1);
+            }
+        }
+    }
+
+    // Same as forEach(WeightedNeighborConsumer), for graph views passing their consumer straight through
+    void forEachEdge(WeightedAdjacencyGraph.EdgeConsumer action) {
+        if (hashed) {
+            for (int slot = 0; slot < keys.length; slot++) {
+                if (keys[slot] != EMPTY) {
+                    action.accept(keys[slot], weighted ? values[slot] : 1);
+                }
+            }
+        } else {
+            for (int i = 0; i < size; i++) {
+                action.accept(keys[i], weighted ? values[i] : 1);
+            }
+        }
+    }
+
+    /**
+     * Copy the neighbours (and weights, when weights is non-null) into the arrays
+     * starting at offset. Returns the offset just past the copied range.
+     */
+    public int copyTo(int[] targets, double[] weights, int offset) {
+        int limit = hashed ? keys.length : size;
+        for (int i = 0; i < limit; i++) {
+            if (keys[i] == EMPTY) {
+                continue;
+            }
+            targets[offset] = keys[i];
+            if (weights != null) {
+                weights[offset] = weighted ? values[i] : 1;
+            }
+            offset++;
+        }
+        return offset;
+    }
+
+    // Estimated heap size of this set, see MemoryFootprint
+    long estimateBytes() {
+        return MemoryFootprint.object(2 + 2 * MemoryFootprint.REFERENCE + 4)
+                + MemoryFootprint.array(keys.length, 4)
+                + (values != null ? MemoryFootprint.array(values.length, 4) : 0);
+    }
+
+    // ---- open addressing ----
+
+    private static int hash(int key, int mask) {
+        int h = key * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    private int findSlot(int key) {
+        int mask = keys.length - 1;
+        for (int slot = hash(key, mask); ; slot = (slot + 1) & mask) {
+            int current = keys[slot];
+            if (current == key) {
+                return slot;
+            }
+            if (current == EMPTY) {
+                return -1;
+            }
+        }
+    }
+
+    private boolean hashInsert(int key, int weight) {
+        if ((size + 1) * 2 > keys.length) {
+            rehash(keys.length * 2);
+        }
+        int mask = keys.length - 1;
+        int slot = hash(key, mask);
+        while (keys[slot] != EMPTY) {
+            if (keys[slot] == key) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        if (weighted) {
+            values[slot] = weight;
+        }
+        size++;
+        return true;
+    }
+
+    // Backward-shift deletion keeps probe chains intact without tombstones
+    private void deleteSlot(int slot) {
+        int mask = keys.length - 1;
+        int hole = slot;
+        int next = (hole + 1) & mask;
+        while (keys[next] != EMPTY) {
+            int home = hash(keys[next], mask);
+            // Move the entry back if its home slot is not in (hole, next]
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                keys[hole] = keys[next];
+                if (weighted) {
+                    values[hole] = values[next];
+                }
+                hole = next;
+            }
+            next = (next + 1) & mask;
+        }
+        keys[hole] = EMPTY;
+    }
+
+    private void resetHashTable(int capacity) {
+        keys = new int[capacity];
+        Arrays.fill(keys, EMPTY);
+        values = weighted ? new int[capacity] : null;
+        size = 0;
+        hashed = true;
+    }
+
+    private void rehash(int capacity) {
+        int[] oldKeys = keys;
+        int[] oldValues = values;
+        resetHashTable(capacity);
+        for (int slot = 0; slot < oldKeys.length; slot++) {
+            if (oldKeys[slot] != EMPTY) {
+                hashInsert(oldKeys[slot], weighted ? oldValues[slot] : 1);
+            }
+        }
+    }
+
+    private void toHashTable() {
+        int[] oldKeys = keys;
+        int[] oldValues = values;
+        int oldSize = size;
+        resetHashTable(Integer.highestOneBit(oldSize * 4));
+        for (int i = 0; i < oldSize; i++) {
+            hashInsert(oldKeys[i], weighted ? oldValues[i] : 1);
+        }
+    }
+
+    private void toSortedArray() {
+        int[] oldKeys = keys;
+        int[] oldValues = values;
+        int capacity = Math.max(INITIAL_CAPACITY, size);
+        int[] sortedKeys = new int[capacity];
+        int[] sortedValues = weighted ? new int[capacity] : null;
+        // Pack (key, weight) into longs so the weights follow the keys through the sort
+        long[] packed = new long[size];
+        int n = 0;
+        for (int slot = 0; slot < oldKeys.length; slot++) {
+            if (oldKeys[slot] != EMPTY) {
+                packed[n++] = ((long) oldKeys[slot] << 32) | (weighted ? (oldValues[slot] & 0xFFFFFFFFL) : 0);
+            }
+        }
+        Arrays.sort(packed);
+        for (int i = 0; i < n; i++) {
+            sortedKeys[i] = (int) (packed[i] >>> 32);
+            if (weighted) {
+                sortedValues[i] = (int) packed[i];
+            }
+        }
+        keys = sortedKeys;
+        values = sortedValues;
+        hashed = false;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("[");
+        forEach((int neighbor, int weight) -> {
+            if (sb.length() > 1) {
+                sb.append(", ");
+            }
+            if (weighted) {
+                sb.append(new WeightedGraphAdjList.Edge(neighbor, weight));
+            } else {
+                sb.append(neighbor);
+            }
+        });
+        return sb.append("]").toString();
+    }
+}
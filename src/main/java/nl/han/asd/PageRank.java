@@ -0,0 +1,250 @@
+package nl.han.asd;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * PageRank by power iteration on primitive double[] rank vectors. The engine
+ * pulls: every vertex sums the contributions of its in-neighbours over a reverse
+ * CSR view, so each vertex range writes only its own entries and the ranges run
+ * on a ForkJoinPool without synchronization. Rank held by vertices without
+ * outgoing edges is spread like the teleport jumps. Iteration stops once the L1
+ * change of the vector drops below the tolerance, or after maxIterations.
+ * <p>
+ * On weighted graphs a vertex passes rank on in proportion to its edge weights.
+ * Personalized PageRank teleports to a seed set instead of to every vertex.
+ */
+public class PageRank {
+
+    public static final double DEFAULT_DAMPING = 0.85;
+    public static final double DEFAULT_TOLERANCE = 1e-9;
+    public static final int DEFAULT_MAX_ITERATIONS = 100;
+
+    // Vertices per task; partial sums are kept per block, so results do not depend on scheduling
+    private static final int BLOCK = 1 << 12;
+
+    private final ForkJoinPool pool;
+    private final double damping;
+    private final double tolerance;
+    private final int maxIterations;
+
+    public PageRank() {
+        this(ForkJoinPool.commonPool(), DEFAULT_DAMPING, DEFAULT_TOLERANCE, DEFAULT_MAX_ITERATIONS);
+    }
+
+    public PageRank(ForkJoinPool pool, double damping, double tolerance, int maxIterations) {
+        if (damping < 0 || damping >= 1 || tolerance < 0 || maxIterations < 1) {
+            throw new IllegalArgumentException("Invalid damping, tolerance or iteration limit: "
+                    + damping + ", " + tolerance + ", " + maxIterations);
+        }
+        this.pool = pool;
+        this.damping = damping;
+        this.tolerance = tolerance;
+        this.maxIterations = maxIterations;
+    }
+
+    public static final class Result {
+        private final double[] ranks;
+        private final int iterations;
+        private final double residual;
+        private final boolean converged;
+
+        Result(double[] ranks, int iterations, double residual, boolean converged) {
+            this.ranks = ranks;
+            this.iterations = iterations;
+            this.residual = residual;
+            this.converged = converged;
+        }
+
+        // Rank per vertex, summing to 1. Not copied.
+        public double[] getRanks() {
+            return ranks;
+        }
+
+        public double getRank(int vertex) {
+            return ranks[vertex];
+        }
+
+        public int getIterations() {
+            return iterations;
+        }
+
+        // L1 change of the last iteration
+        public double getResidual() {
+            return residual;
+        }
+
+        public boolean isConverged() {
+            return converged;
+        }
+
+        // The k highest-ranked vertices, best first; ties go to the lower id
+        public int[] top(int k) {
+            int n = ranks.length;
+            Integer[] order = new Integer[n];
+            for (int v = 0; v < n; v++) {
+                order[v] = v;
+            }
+            Arrays.sort(order, (a, b) -> ranks[a] != ranks[b] ? Double.compare(ranks[b], ranks[a]) : a - b);
+            int[] result = new int[Math.min(k, n)];
+            for (int i = 0; i < result.length; i++) {
+                result[i] = order[i];
+            }
+            return result;
+        }
+    }
+
+    // The list stores every edge in both directions, so it is its own reverse
+    public Result compute(UnweightedGraphAdjList graph) {
+        CsrGraph csr = graph.toCsr();
+        return run(csr, csr, null, graph);
+    }
+
+    public Result compute(WeightedGraphAdjList graph) {
+        CsrGraph csr = graph.toCsr();
+        return run(csr, csr.transpose(), null, graph);
+    }
+
+    public Result compute(CsrGraph graph) {
+        return run(graph, graph.transpose(), null, graph);
+    }
+
+    /**
+     * Rank relative to the seed vertices: every teleport jumps back to one of the
+     * seeds, chosen uniformly. Duplicate seeds count once.
+     */
+    public Result personalized(UnweightedGraphAdjList graph, int... seeds) {
+        CsrGraph csr = graph.toCsr();
+        return run(csr, csr, teleport(csr.getVertexCount(), seeds), graph);
+    }
+
+    public Result personalized(WeightedGraphAdjList graph, int... seeds) {
+        CsrGraph csr = graph.toCsr();
+        return run(csr, csr.transpose(), teleport(csr.getVertexCount(), seeds), graph);
+    }
+
+    public Result personalized(CsrGraph graph, int... seeds) {
+        return run(graph, graph.transpose(), teleport(graph.getVertexCount(), seeds), graph);
+    }
+
+    private static double[] teleport(int n, int[] seeds) {
+        if (seeds.length == 0) {
+            throw new IllegalArgumentException("Personalized PageRank needs at least one seed.");
+        }
+        boolean[] seen = new boolean[n];
+        int distinct = 0;
+        for (int seed : seeds) {
+            if (seed < 0 || seed >= n) {
+                throw new IllegalArgumentException("Vertex " + seed + " is out of range.");
+            }
+            if (!seen[seed]) {
+                seen[seed] = true;
+                distinct++;
+            }
+        }
+        double[] teleport = new double[n];
+        for (int v = 0; v < n; v++) {
+            if (seen[v]) {
+                teleport[v] = 1.0 / distinct;
+            }
+        }
+        return teleport;
+    }
+
+    /**
+     * Power iteration. forward supplies the out-weights, reverse the in-edges;
+     * teleport null means uniform.
+     */
+    private Result run(CsrGraph forward, CsrGraph reverse, double[] teleport, Object source) {
+        long start = GraphMetrics.start();
+        int n = forward.getVertexCount();
+        if (n == 0) {
+            GraphMetrics.record(GraphMetrics.Operation.PAGE_RANK, source, start);
+            return new Result(new double[0], 0, 0, true);
+        }
+        double uniform = 1.0 / n;
+        int blocks = (n + BLOCK - 1) / BLOCK;
+
+        // Inverse out-weight per vertex, 0 for dangling vertices
+        double[] inverseOut = new double[n];
+        int[] offsets = forward.offsets();
+        double[] weights = forward.weights();
+        ParallelLoop.run(pool, blocks, 1, (from, to) -> {
+            for (int v = from * BLOCK, end = Math.min(n, to * BLOCK); v < end; v++) {
+                double total = 0;
+                for (int i = offsets[v]; i < offsets[v + 1]; i++) {
+                    double weight = weights == null ? 1.0 : weights[i];
+                    if (weight < 0) {
+                        throw new IllegalArgumentException("PageRank needs non-negative weights, found " + weight
+                                + " on an edge of vertex " + v);
+                    }
+                    total += weight;
+                }
+                inverseOut[v] = total > 0 ? 1.0 / total : 0;
+            }
+        });
+
+        int[] inOffsets = reverse.offsets();
+        int[] inSources = reverse.targets();
+        double[] inWeights = reverse.weights();
+        double[] rank = new double[n];
+        double[] next = new double[n];
+        double[] contribution = new double[n];
+        double[] partial = new double[blocks];
+        for (int v = 0; v < n; v++) {
+            rank[v] = teleport == null ? uniform : teleport[v];
+        }
+
+        int iterations = 0;
+        double residual = Double.POSITIVE_INFINITY;
+        while (iterations < maxIterations && residual >= tolerance) {
+            // Scale by the out-weight once per vertex, and collect the dangling rank per block
+            double[] current = rank;
+            ParallelLoop.run(pool, blocks, 1, (from, to) -> {
+                for (int b = from; b < to; b++) {
+                    double dangling = 0;
+                    for (int v = b * BLOCK, end = Math.min(n, v + BLOCK); v < end; v++) {
+                        contribution[v] = current[v] * inverseOut[v];
+                        if (inverseOut[v] == 0) {
+                            dangling += current[v];
+                        }
+                    }
+                    partial[b] = dangling;
+                }
+            });
+            double dangling = 0;
+            for (double sum : partial) {
+                dangling += sum;
+            }
+            // Teleports and dangling rank both land on the teleport distribution
+            double jump = 1 - damping + damping * dangling;
+
+            double[] updated = next;
+            ParallelLoop.run(pool, blocks, 1, (from, to) -> {
+                for (int b = from; b < to; b++) {
+                    double change = 0;
+                    for (int v = b * BLOCK, end = Math.min(n, v + BLOCK); v < end; v++) {
+                        double sum = 0;
+                        for (int i = inOffsets[v], stop = inOffsets[v + 1]; i < stop; i++) {
+                            sum += inWeights == null ? contribution[inSources[i]]
+                                    : contribution[inSources[i]] * inWeights[i];
+                        }
+                        double value = jump * (teleport == null ? uniform : teleport[v]) + damping * sum;
+                        change += Math.abs(value - current[v]);
+                        updated[v] = value;
+                    }
+                    partial[b] = change;
+                }
+            });
+            residual = 0;
+            for (double change : partial) {
+                residual += change;
+            }
+            next = rank;
+            rank = updated;
+            iterations++;
+        }
+        GraphMetrics.record(GraphMetrics.Operation.PAGE_RANK, source, start);
+        return new Result(rank, iterations, residual, residual < tolerance);
+    }
+}
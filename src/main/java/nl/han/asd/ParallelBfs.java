@@ -0,0 +1,429 @@
+package nl.han.asd;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Direction-optimizing breadth-first search over the undirected unweighted graphs.
+ * The frontier and the visited set are bitsets. Each level is expanded either
+ * top-down (every frontier vertex claims its unvisited neighbours) or bottom-up
+ * (every unvisited vertex looks for a parent in the frontier), whichever touches
+ * fewer edges, and the bitset words are split into chunks processed on a ForkJoinPool.
+ */
+public class ParallelBfs {
+
+    public static final int UNREACHED = -1;
+
+    // Switch to bottom-up once the frontier's edges exceed 1/ALPHA of the unvisited
+    // edges, and back to top-down once the frontier holds fewer than n/BETA vertices
+    private static final int ALPHA = 14;
+    private static final int BETA = 24;
+
+    // Bitset words handled by one task, 64 vertices per word
+    private static final int CHUNK_WORDS = 16;
+
+    private final ForkJoinPool pool;
+
+    // CSR copy of the last list searched, reused while the list's version is unchanged
+    private volatile CachedCsr cached;
+
+    private static final class CachedCsr {
+        final UnweightedGraphAdjList graph;
+        final long version;
+        final CsrGraph csr;
+
+        CachedCsr(UnweightedGraphAdjList graph, long version, CsrGraph csr) {
+            this.graph = graph;
+            this.version = version;
+            this.csr = csr;
+        }
+    }
+
+    public ParallelBfs() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public ParallelBfs(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Searches a frozen CSR copy of the list, so neighbour scans can stop early. The
+     * copy is kept and reused for further searches of the same list until its
+     * version changes, so querying many sources costs one conversion.
+     */
+    public Result search(UnweightedGraphAdjList graph, int source) {
+        long start = GraphMetrics.start();
+        Result result = search(new CsrAdjacency(csrOf(graph)), source);
+        GraphMetrics.record(GraphMetrics.Operation.TRAVERSAL, graph, start);
+        return result;
+    }
+
+    /**
+     * Works on the bit rows directly: a bottom-up step ANDs a vertex's row with the frontier.
+     */
+    public Result search(UnweightedGraphMatrix graph, int source) {
+        long start = GraphMetrics.start();
+        Result result = search(new MatrixAdjacency(graph), source);
+        GraphMetrics.record(GraphMetrics.Operation.TRAVERSAL, graph, start);
+        return result;
+    }
+
+    CsrGraph csrOf(UnweightedGraphAdjList graph) {
+        CachedCsr current = cached;
+        long version = graph.getVersion();
+        if (current == null || current.graph != graph || current.version != version) {
+            current = new CachedCsr(graph, version, graph.toCsr());
+            cached = current;
+        }
+        return current.csr;
+    }
+
+    public static final class Result {
+        private final int[] distances;
+        private final int[] parents;
+        private final int levels;
+        private final int bottomUpLevels;
+
+        Result(int[] distances, int[] parents, int levels, int bottomUpLevels) {
+            this.distances = distances;
+            this.parents = parents;
+            this.levels = levels;
+            this.bottomUpLevels = bottomUpLevels;
+        }
+
+        // Hop distance from the source per vertex, UNREACHED when not reachable. Not copied.
+        public int[] getDistances() {
+            return distances;
+        }
+
+        // BFS-tree parent per vertex; the source is its own parent. Not copied.
+        public int[] getParents() {
+            return parents;
+        }
+
+        public int getDistance(int vertex) {
+            return distances[vertex];
+        }
+
+        public int getParent(int vertex) {
+            return parents[vertex];
+        }
+
+        public boolean isReachable(int vertex) {
+            return distances[vertex] != UNREACHED;
+        }
+
+        /**
+         * Vertices on a shortest path from the source to target, or an empty array
+         * when target is not reachable.
+         */
+        public int[] pathTo(int target) {
+            if (!isReachable(target)) {
+                return new int[0];
+            }
+            int[] path = new int[distances[target] + 1];
+            for (int i = path.length - 1, v = target; i >= 0; i--, v = parents[v]) {
+                path[i] = v;
+            }
+            return path;
+        }
+
+        // Number of levels expanded, including ones that found nothing new
+        public int getLevels() {
+            return levels;
+        }
+
+        public int getBottomUpLevels() {
+            return bottomUpLevels;
+        }
+    }
+
+    private Result search(Adjacency graph, int source) {
+        int n = graph.vertexCount();
+        if (source < 0 || source >= n) {
+            throw new IllegalArgumentException("Vertex " + source + " is out of range.");
+        }
+        int words = (n + 63) >>> 6;
+
+        Level level = new Level(graph, n, words);
+        Arrays.fill(level.distances, UNREACHED);
+        Arrays.fill(level.parents, UNREACHED);
+        level.distances[source] = 0;
+        level.parents[source] = source;
+        level.visited.set(source >>> 6, 1L << source);
+        level.frontier[source >>> 6] = 1L << source;
+
+        long frontierSize = 1;
+        long frontierCost = graph.cost(source);
+        long unvisitedCost = graph.totalCost() - frontierCost;
+        boolean bottomUp = false;
+        int levels = 0;
+        int bottomUpLevels = 0;
+
+        while (frontierSize > 0) {
+            if (!bottomUp && frontierCost > unvisitedCost / ALPHA) {
+                bottomUp = true;
+            } else if (bottomUp && frontierSize < n / BETA) {
+                bottomUp = false;
+            }
+            level.depth = ++levels;
+            level.bottomUp = bottomUp;
+            level.found.reset();
+            level.foundCost.reset();
+            run(new StepTask(level, 0, words));
+
+            // Swap the next frontier in; bottom-up steps still have to mark it visited
+            for (int k = 0; k < words; k++) {
+                long bits = level.next.get(k);
+                level.frontier[k] = bits;
+                if (bottomUp && bits != 0) {
+                    level.visited.set(k, level.visited.get(k) | bits);
+                }
+                level.next.set(k, 0);
+            }
+            if (bottomUp) {
+                bottomUpLevels++;
+            }
+            frontierSize = level.found.sum();
+            frontierCost = level.foundCost.sum();
+            unvisitedCost -= frontierCost;
+        }
+        return new Result(level.distances, level.parents, levels, bottomUpLevels);
+    }
+
+    private void run(StepTask task) {
+        if (task.to - task.from <= CHUNK_WORDS) {
+            task.compute();
+        } else {
+            pool.invoke(task);
+        }
+    }
+
+    // State of the level being expanded, shared by all tasks of that level
+    private static final class Level {
+        final Adjacency graph;
+        final int vertexCount;
+        final int[] distances;
+        final int[] parents;
+        final AtomicLongArray visited;
+        final long[] frontier;
+        final AtomicLongArray next;
+        final LongAdder found = new LongAdder();
+        final LongAdder foundCost = new LongAdder();
+        int depth;
+        boolean bottomUp;
+
+        Level(Adjacency graph, int vertexCount, int words) {
+            this.graph = graph;
+            this.vertexCount = vertexCount;
+            this.distances = new int[vertexCount];
+            this.parents = new int[vertexCount];
+            this.visited = new AtomicLongArray(words);
+            this.frontier = new long[words];
+            this.next = new AtomicLongArray(words);
+        }
+
+        /**
+         * Claim the candidate bits of word k that are still unvisited for parent.
+         * Returns the bits this call won.
+         */
+        long claim(int k, long candidates, int parent) {
+            while (true) {
+                long current = visited.get(k);
+                long won = candidates & ~current;
+                if (won == 0) {
+                    return 0;
+                }
+                if (visited.compareAndSet(k, current, current | won)) {
+                    next.accumulateAndGet(k, won, (a, b) -> a | b);
+                    for (long bits = won; bits != 0; bits &= bits - 1) {
+                        int v = (k << 6) + Long.numberOfTrailingZeros(bits);
+                        distances[v] = depth;
+                        parents[v] = parent;
+                    }
+                    return won;
+                }
+            }
+        }
+    }
+
+    // Expands the bitset words [from, to) of one level
+    @SuppressWarnings("serial")
+    private static final class StepTask extends RecursiveAction {
+        private final Level level;
+        private final int from;
+        private final int to;
+
+        StepTask(Level level, int from, int to) {
+            this.level = level;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > CHUNK_WORDS) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new StepTask(level, from, mid), new StepTask(level, mid, to));
+                return;
+            }
+            if (level.bottomUp) {
+                bottomUp();
+            } else {
+                topDown();
+            }
+        }
+
+        private void topDown() {
+            long[] counters = new long[2];
+            for (int k = from; k < to; k++) {
+                for (long bits = level.frontier[k]; bits != 0; bits &= bits - 1) {
+                    level.graph.expand((k << 6) + Long.numberOfTrailingZeros(bits), level, counters);
+                }
+            }
+            level.found.add(counters[0]);
+            level.foundCost.add(counters[1]);
+        }
+
+        private void bottomUp() {
+            long found = 0;
+            long foundCost = 0;
+            int n = level.vertexCount;
+            for (int k = from; k < to; k++) {
+                long unvisited = ~level.visited.get(k);
+                if (k == (n - 1) >>> 6 && (n & 63) != 0) {
+                    unvisited &= (1L << n) - 1;
+                }
+                long won = 0;
+                for (long bits = unvisited; bits != 0; bits &= bits - 1) {
+                    int v = (k << 6) + Long.numberOfTrailingZeros(bits);
+                    int parent = level.graph.findParent(v, level.frontier);
+                    if (parent >= 0) {
+                        level.distances[v] = level.depth;
+                        level.parents[v] = parent;
+                        won |= 1L << v;
+                        found++;
+                        foundCost += level.graph.cost(v);
+                    }
+                }
+                // Only this task writes word k of next, and visited is updated after the level
+                level.next.set(k, won);
+            }
+            level.found.add(found);
+            level.foundCost.add(foundCost);
+        }
+    }
+
+    private abstract static class Adjacency {
+
+        abstract int vertexCount();
+
+        // Work estimate of scanning a vertex, used to pick the direction
+        abstract long cost(int vertex);
+
+        abstract long totalCost();
+
+        /**
+         * Claim the unvisited neighbours of u, adding the number of claimed vertices
+         * to counters[0] and their summed cost to counters[1].
+         */
+        abstract void expand(int u, Level level, long[] counters);
+
+        // Any neighbour of v in the frontier, or -1
+        abstract int findParent(int v, long[] frontier);
+    }
+
+    private static final class CsrAdjacency extends Adjacency {
+        private final int[] offsets;
+        private final int[] targets;
+
+        CsrAdjacency(CsrGraph graph) {
+            this.offsets = graph.offsets();
+            this.targets = graph.targets();
+        }
+
+        int vertexCount() {
+            return offsets.length - 1;
+        }
+
+        long cost(int vertex) {
+            return offsets[vertex + 1] - offsets[vertex];
+        }
+
+        long totalCost() {
+            return targets.length;
+        }
+
+        void expand(int u, Level level, long[] counters) {
+            for (int i = offsets[u], end = offsets[u + 1]; i < end; i++) {
+                int v = targets[i];
+                if (level.claim(v >>> 6, 1L << v, u) != 0) {
+                    counters[0]++;
+                    counters[1] += cost(v);
+                }
+            }
+        }
+
+        int findParent(int v, long[] frontier) {
+            for (int i = offsets[v], end = offsets[v + 1]; i < end; i++) {
+                int u = targets[i];
+                if ((frontier[u >>> 6] & (1L << u)) != 0) {
+                    return u;
+                }
+            }
+            return -1;
+        }
+    }
+
+    /**
+     * Scanning a bit row costs the same number of words whatever its degree, so
+     * every vertex has cost 1 and the direction follows the vertex counts.
+     */
+    private static final class MatrixAdjacency extends Adjacency {
+        private final UnweightedGraphMatrix graph;
+        private final int words;
+
+        MatrixAdjacency(UnweightedGraphMatrix graph) {
+            this.graph = graph;
+            this.words = graph.getUsedWords();
+        }
+
+        int vertexCount() {
+            return graph.getVertexCount();
+        }
+
+        long cost(int vertex) {
+            return 1;
+        }
+
+        long totalCost() {
+            return graph.getVertexCount();
+        }
+
+        void expand(int u, Level level, long[] counters) {
+            long[] row = graph.getRow(u);
+            for (int k = 0; k < words; k++) {
+                if (row[k] != 0) {
+                    int found = Long.bitCount(level.claim(k, row[k], u));
+                    counters[0] += found;
+                    counters[1] += found;
+                }
+            }
+        }
+
+        int findParent(int v, long[] frontier) {
+            long[] row = graph.getRow(v);
+            for (int k = 0; k < words; k++) {
+                long common = row[k] & frontier[k];
+                if (common != 0) {
+                    return (k << 6) + Long.numberOfTrailingZeros(common);
+                }
+            }
+            return -1;
+        }
+    }
+}
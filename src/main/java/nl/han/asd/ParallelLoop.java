@@ -0,0 +1,53 @@
+package nl.han.asd;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Parallel for-loop over an index range on a ForkJoinPool. The range is split in
+ * halves down to chunks of at most grain indices; a range that fits in one chunk
+ * runs directly on the calling thread.
+ */
+final class ParallelLoop {
+
+    interface RangeBody {
+        void run(int from, int to);
+    }
+
+    private ParallelLoop() {
+    }
+
+    static void run(ForkJoinPool pool, int size, int grain, RangeBody body) {
+        if (size <= grain) {
+            body.run(0, size);
+        } else {
+            pool.invoke(new RangeTask(body, 0, size, grain));
+        }
+    }
+
+    // ForkJoinTask is Serializable, but tasks are never serialized
+    @SuppressWarnings("serial")
+    private static final class RangeTask extends RecursiveAction {
+        private final RangeBody body;
+        private final int from;
+        private final int to;
+        private final int grain;
+
+        RangeTask(RangeBody body, int from, int to, int grain) {
+            this.body = body;
+            this.from = from;
+            this.to = to;
+            this.grain = grain;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= grain) {
+                body.run(from, to);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new RangeTask(body, from, mid, grain), new RangeTask(body, mid, to, grain));
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package nl.han.asd;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded LRU cache in front of reachability, distance and path queries on one graph.
+ * Every query first compares the graph's version (see AdjacencyGraph.getVersion)
+ * with the version the cached answers were computed at and drops them all when it
+ * moved, so a stale answer is never returned. Weighted graphs are answered with
+ * Dijkstra, other graphs with a breadth-first search counting hops.
+ * <p>
+ * The capacity is a budget of cost units: a reachability or distance answer costs
+ * one unit, a path costs one unit plus one per vertex on it. Least recently used
+ * answers are evicted until the budget fits. All methods are synchronized.
+ */
+public class QueryCache {
+
+    private static final int REACHABLE = 0;
+    private static final int DISTANCE = 1;
+    private static final int PATH = 2;
+
+    private final AdjacencyGraph graph;
+    private final long capacity;
+    // Access-ordered, so iteration starts at the least recently used answer
+    private final LinkedHashMap<Long, Object> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long cost;
+    private long cachedVersion;
+
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long invalidations;
+
+    public QueryCache(AdjacencyGraph graph, long capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be at least 1.");
+        }
+        this.graph = graph;
+        this.capacity = capacity;
+        this.cachedVersion = graph.getVersion();
+    }
+
+    public synchronized boolean isReachable(int source, int target) {
+        Long key = key(REACHABLE, source, target);
+        Object cached = lookup(key);
+        if (cached != null) {
+            return (Boolean) cached;
+        }
+        boolean reachable = computeDistance(source, target) != Double.POSITIVE_INFINITY;
+        store(key, reachable, 1);
+        return reachable;
+    }
+
+    // Shortest-path length, in hops for unweighted graphs; POSITIVE_INFINITY when unreachable
+    public synchronized double distance(int source, int target) {
+        Long key = key(DISTANCE, source, target);
+        Object cached = lookup(key);
+        if (cached != null) {
+            return (Double) cached;
+        }
+        double distance = computeDistance(source, target);
+        store(key, distance, 1);
+        return distance;
+    }
+
+    // Vertices on a shortest path, or an empty array when unreachable. Returns a copy.
+    public synchronized int[] shortestPath(int source, int target) {
+        Long key = key(PATH, source, target);
+        Object cached = lookup(key);
+        if (cached != null) {
+            return ((int[]) cached).clone();
+        }
+        int[] path = computePath(source, target);
+        store(key, path, 1 + path.length);
+        return path.clone();
+    }
+
+    public synchronized long getHitCount() {
+        return hits;
+    }
+
+    public synchronized long getMissCount() {
+        return misses;
+    }
+
+    public synchronized double getHitRate() {
+        long total = hits + misses;
+        return total == 0 ? 0.0 : (double) hits / total;
+    }
+
+    public synchronized long getEvictionCount() {
+        return evictions;
+    }
+
+    // Number of times a graph mutation emptied the cache
+    public synchronized long getInvalidationCount() {
+        return invalidations;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long getCost() {
+        return cost;
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        cost = 0;
+    }
+
+    // Validates both vertices, so the packed key is unambiguous
+    private Long key(int kind, int source, int target) {
+        checkVertex(source);
+        checkVertex(target);
+        return ((long) kind << 62) | ((long) source << 31) | target;
+    }
+
+    private Object lookup(Long key) {
+        long version = graph.getVersion();
+        if (version != cachedVersion) {
+            if (!entries.isEmpty()) {
+                invalidations++;
+            }
+            clear();
+            cachedVersion = version;
+        }
+        Object cached = entries.get(key);
+        if (cached != null) {
+            hits++;
+        } else {
+            misses++;
+        }
+        return cached;
+    }
+
+    private void store(Long key, Object value, long entryCost) {
+        if (entryCost > capacity) {
+            return;
+        }
+        entries.put(key, value);
+        cost += entryCost;
+        Iterator<Map.Entry<Long, Object>> eldest = entries.entrySet().iterator();
+        while (cost > capacity) {
+            Object evicted = eldest.next().getValue();
+            eldest.remove();
+            cost -= evicted instanceof int[] ? 1 + ((int[]) evicted).length : 1;
+            evictions++;
+        }
+    }
+
+    private void checkVertex(int vertex) {
+        if (vertex < 0 || vertex >= graph.getVertexCount()) {
+            throw new IllegalArgumentException("Vertex " + vertex + " is out of range.");
+        }
+    }
+
+    private double computeDistance(int source, int target) {
+        if (graph instanceof WeightedAdjacencyGraph) {
+            return Dijkstra.distance((WeightedAdjacencyGraph) graph, source, target);
+        }
+        int[] parents = breadthFirst(source, target);
+        if (parents[target] < 0) {
+            return Double.POSITIVE_INFINITY;
+        }
+        int hops = 0;
+        for (int v = target; v != source; v = parents[v]) {
+            hops++;
+        }
+        return hops;
+    }
+
+    private int[] computePath(int source, int target) {
+        if (graph instanceof WeightedAdjacencyGraph) {
+            return Dijkstra.shortestPath((WeightedAdjacencyGraph) graph, source, target);
+        }
+        int[] parents = breadthFirst(source, target);
+        if (parents[target] < 0) {
+            return new int[0];
+        }
+        IntList reversed = new IntList();
+        for (int v = target; v != source; v = parents[v]) {
+            reversed.add(v);
+        }
+        reversed.add(source);
+        int[] path = new int[reversed.size()];
+        for (int i = 0; i < path.length; i++) {
+            path[i] = reversed.get(path.length - 1 - i);
+        }
+        return path;
+    }
+
+    // BFS parents from source, stopping once target is reached; -1 marks unreached vertices
+    private int[] breadthFirst(int source, int target) {
+        int[] parents = new int[graph.getVertexCount()];
+        Arrays.fill(parents, -1);
+        parents[source] = source;
+        IntList queue = new IntList();
+        queue.add(source);
+        for (int head = 0; head < queue.size() && parents[target] < 0; head++) {
+            int u = queue.get(head);
+            graph.forEachNeighbor(u, v -> {
+                if (parents[v] < 0) {
+                    parents[v] = u;
+                    queue.add(v);
+                }
+            });
+        }
+        return parents;
+    }
+}
@@ -0,0 +1,312 @@
+package nl.han.asd;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Loads the dataset.json layout token by token with Gson's JsonReader, writing
+ * numbers straight into the primitive graph storage instead of first building
+ * a Map of boxed Doubles.
+ */
+public class StreamingDatasetLoader {
+
+    /**
+     * Load a dataset from the classpath, e.g. "/dataset.json".
+     */
+    public Dataset loadResource(String resource) throws IOException {
+        InputStream inputStream = getClass().getResourceAsStream(resource);
+        if (inputStream == null) {
+            throw new IOException(resource + " not found in resources.");
+        }
+        try (Reader reader = new InputStreamReader(inputStream, StandardCharsets.UTF_8)) {
+            return load(reader);
+        }
+    }
+
+    public Dataset load(Reader reader) throws IOException {
+        long allocatedBefore = allocatedBytes();
+        long start = System.nanoTime();
+
+        Dataset dataset = new Dataset();
+        JsonReader json = new JsonReader(reader);
+        json.beginObject();
+        while (json.hasNext()) {
+            String name = json.nextName();
+            switch (name) {
+                case "verbindingslijst":
+                    dataset.adjacencyList = readAdjacencyList(json);
+                    break;
+                case "verbindingslijst_gewogen":
+                    dataset.weightedAdjacencyList = readWeightedAdjacencyList(json);
+                    break;
+                case "lijnlijst":
+                    readEdgeList(json, dataset, false);
+                    break;
+                case "lijnlijst_gewogen":
+                    readEdgeList(json, dataset, true);
+                    break;
+                case "verbindingsmatrix":
+                    dataset.adjacencyMatrix = readAdjacencyMatrix(json);
+                    break;
+                case "verbindingsmatrix_gewogen":
+                    dataset.weightedAdjacencyMatrix = readWeightedAdjacencyMatrix(json);
+                    break;
+                default:
+                    json.skipValue();
+            }
+        }
+        json.endObject();
+
+        dataset.loadTimeNanos = System.nanoTime() - start;
+        long allocatedAfter = allocatedBytes();
+        dataset.allocatedBytes = (allocatedBefore < 0 || allocatedAfter < 0) ? -1 : allocatedAfter - allocatedBefore;
+        return dataset;
+    }
+
+    // Gson's nextInt rejects 2.5; truncate instead, as the old Number.intValue() loading did
+    private static int readInt(JsonReader json) throws IOException {
+        return (int) json.nextDouble();
+    }
+
+    // [[1, 2], [0, 2, 3], ...]
+    private UnweightedGraphAdjList readAdjacencyList(JsonReader json) throws IOException {
+        UnweightedGraphAdjList graph = new UnweightedGraphAdjList(0);
+        json.beginArray();
+        for (int vertex = 0; json.hasNext(); vertex++) {
+            graph.addVertex();
+            json.beginArray();
+            while (json.hasNext()) {
+                graph.addArc(vertex, readInt(json));
+            }
+            json.endArray();
+        }
+        json.endArray();
+        return graph;
+    }
+
+    // [[[1, 99], [2, 50]], [[3, 99]], [], ...]
+    private WeightedGraphAdjList readWeightedAdjacencyList(JsonReader json) throws IOException {
+        WeightedGraphAdjList graph = new WeightedGraphAdjList(0);
+        json.beginArray();
+        for (int vertex = 0; json.hasNext(); vertex++) {
+            graph.addVertex();
+            json.beginArray();
+            while (json.hasNext()) {
+                json.beginArray();
+                if (json.hasNext() && json.peek() == JsonToken.NUMBER) {
+                    int destination = readInt(json);
+                    if (json.hasNext() && json.peek() == JsonToken.NUMBER) {
+                        graph.addArc(vertex, destination, readInt(json));
+                    } else {
+                        System.out.println("Invalid edge data for vertex " + vertex + ": missing weight");
+                    }
+                } else {
+                    System.out.println("Invalid edge data for vertex " + vertex);
+                }
+                while (json.hasNext()) {
+                    json.skipValue();
+                }
+                json.endArray();
+            }
+            json.endArray();
+        }
+        json.endArray();
+        return graph;
+    }
+
+    // [[0, 1], [0, 2], ...] or [[0, 1, 99], ...]
+    private void readEdgeList(JsonReader json, Dataset dataset, boolean weighted) throws IOException {
+        IntList sources = new IntList();
+        IntList targets = new IntList();
+        IntList weights = weighted ? new IntList() : null;
+        json.beginArray();
+        while (json.hasNext()) {
+            json.beginArray();
+            sources.add(readInt(json));
+            targets.add(readInt(json));
+            if (weighted) {
+                weights.add(readInt(json));
+            }
+            while (json.hasNext()) {
+                json.skipValue();
+            }
+            json.endArray();
+        }
+        json.endArray();
+
+        if (weighted) {
+            dataset.weightedEdgeSources = sources.toArray();
+            dataset.weightedEdgeTargets = targets.toArray();
+            dataset.weightedEdgeWeights = weights.toArray();
+        } else {
+            dataset.edgeSources = sources.toArray();
+            dataset.edgeTargets = targets.toArray();
+        }
+    }
+
+    // Square 0/1 matrix; the first row fixes the vertex count
+    private UnweightedGraphMatrix readAdjacencyMatrix(JsonReader json) throws IOException {
+        json.beginArray();
+        if (!json.hasNext()) {
+            json.endArray();
+            return new UnweightedGraphMatrix(0);
+        }
+        IntList firstRow = new IntList();
+        json.beginArray();
+        while (json.hasNext()) {
+            firstRow.add(json.nextDouble() == 1.0 ? 1 : 0);
+        }
+        json.endArray();
+
+        int vertexCount = firstRow.size();
+        UnweightedGraphMatrix graph = new UnweightedGraphMatrix(vertexCount);
+        for (int j = 0; j < vertexCount; j++) {
+            if (firstRow.get(j) == 1) {
+                graph.setArc(0, j);
+            }
+        }
+        for (int i = 1; json.hasNext(); i++) {
+            json.beginArray();
+            for (int j = 0; json.hasNext(); j++) {
+                if (json.nextDouble() == 1.0 && i < vertexCount && j < vertexCount) {
+                    graph.setArc(i, j);
+                }
+            }
+            json.endArray();
+        }
+        json.endArray();
+        return graph;
+    }
+
+    // Square weight matrix; values <= 0 mean "no edge", as in WeightedGraphMatrix(List)
+    private WeightedGraphMatrix readWeightedAdjacencyMatrix(JsonReader json) throws IOException {
+        json.beginArray();
+        if (!json.hasNext()) {
+            json.endArray();
+            return new WeightedGraphMatrix(0);
+        }
+        DoubleRow firstRow = new DoubleRow();
+        json.beginArray();
+        while (json.hasNext()) {
+            firstRow.add(json.nextDouble());
+        }
+        json.endArray();
+
+        int vertexCount = firstRow.size;
+        WeightedGraphMatrix graph = new WeightedGraphMatrix(vertexCount);
+        for (int j = 0; j < vertexCount; j++) {
+            if (firstRow.values[j] > 0.0) {
+                graph.addEdge(0, j, firstRow.values[j]);
+            }
+        }
+        for (int i = 1; json.hasNext(); i++) {
+            json.beginArray();
+            for (int j = 0; json.hasNext(); j++) {
+                double value = json.nextDouble();
+                if (value > 0.0 && i < vertexCount && j < vertexCount) {
+                    graph.addEdge(i, j, value);
+                }
+            }
+            json.endArray();
+        }
+        json.endArray();
+        return graph;
+    }
+
+    private static final class DoubleRow {
+        double[] values = new double[16];
+        int size;
+
+        void add(double value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+    }
+
+    // Bytes allocated by the current thread so far, or -1 when the JVM does not report it
+    private static long allocatedBytes() {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean sunBean = (com.sun.management.ThreadMXBean) bean;
+            if (sunBean.isThreadAllocatedMemorySupported() && sunBean.isThreadAllocatedMemoryEnabled()) {
+                return sunBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Result of a streaming load. Sections missing from the file are null.
+     */
+    public static class Dataset {
+        private UnweightedGraphAdjList adjacencyList;
+        private WeightedGraphAdjList weightedAdjacencyList;
+        private UnweightedGraphMatrix adjacencyMatrix;
+        private WeightedGraphMatrix weightedAdjacencyMatrix;
+        private int[] edgeSources;
+        private int[] edgeTargets;
+        private int[] weightedEdgeSources;
+        private int[] weightedEdgeTargets;
+        private int[] weightedEdgeWeights;
+        private long loadTimeNanos;
+        private long allocatedBytes;
+
+        public UnweightedGraphAdjList getAdjacencyList() {
+            return adjacencyList;
+        }
+
+        public WeightedGraphAdjList getWeightedAdjacencyList() {
+            return weightedAdjacencyList;
+        }
+
+        public UnweightedGraphMatrix getAdjacencyMatrix() {
+            return adjacencyMatrix;
+        }
+
+        public WeightedGraphMatrix getWeightedAdjacencyMatrix() {
+            return weightedAdjacencyMatrix;
+        }
+
+        // 'lijnlijst' as parallel source/target arrays
+        public int[] getEdgeSources() {
+            return edgeSources;
+        }
+
+        public int[] getEdgeTargets() {
+            return edgeTargets;
+        }
+
+        // 'lijnlijst_gewogen' as parallel source/target/weight arrays
+        public int[] getWeightedEdgeSources() {
+            return weightedEdgeSources;
+        }
+
+        public int[] getWeightedEdgeTargets() {
+            return weightedEdgeTargets;
+        }
+
+        public int[] getWeightedEdgeWeights() {
+            return weightedEdgeWeights;
+        }
+
+        public long getLoadTimeNanos() {
+            return loadTimeNanos;
+        }
+
+        // Bytes allocated by the loading thread, or -1 when not measurable on this JVM
+        public long getAllocatedBytes() {
+            return allocatedBytes;
+        }
+    }
+}
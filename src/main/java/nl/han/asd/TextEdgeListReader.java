@@ -0,0 +1,265 @@
+package nl.han.asd;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Parallel reader for text edge lists, one edge per line:
+ *
+ * <pre>
+ * # comment
+ * 0 1
+ * 0,2,50
+ * 1;3;50.0
+ * </pre>
+ *
+ * Fields are separated by spaces, tabs, commas or semicolons. Lines starting with
+ * '#' or '%' and blank lines are skipped, as is anything after the fields needed.
+ * Weights are truncated to int, as in EdgeList.fromJson.
+ * <p>
+ * The file is split into chunks of about chunkBytes, moved forward to the next line
+ * start. Every chunk is memory-mapped and parsed byte by byte on the pool, without
+ * creating Strings, into its own arrays; the chunks are then concatenated in file
+ * order, so the result equals a sequential read. Files of any size work, as long as
+ * no single line exceeds the 2 GB mapping limit.
+ */
+public class TextEdgeListReader {
+
+    public static final int DEFAULT_CHUNK_BYTES = 16 << 20;
+
+    // Bytes read at a time while looking for the line start after a chunk boundary
+    private static final int SCAN_BYTES = 1 << 12;
+
+    private final ForkJoinPool pool;
+    private final int chunkBytes;
+
+    public TextEdgeListReader() {
+        this(ForkJoinPool.commonPool(), DEFAULT_CHUNK_BYTES);
+    }
+
+    public TextEdgeListReader(ForkJoinPool pool, int chunkBytes) {
+        if (chunkBytes < 1) {
+            throw new IllegalArgumentException("Invalid chunk size: " + chunkBytes);
+        }
+        this.pool = pool;
+        this.chunkBytes = chunkBytes;
+    }
+
+    public EdgeList read(Path file, boolean weighted) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long[] bounds = chunkBounds(channel);
+            int chunkCount = bounds.length - 1;
+            Chunk[] chunks = new Chunk[chunkCount];
+            try {
+                ParallelLoop.run(pool, chunkCount, 1, (from, to) -> {
+                    for (int c = from; c < to; c++) {
+                        chunks[c] = parse(channel, bounds[c], bounds[c + 1], weighted, file);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            return concat(chunks, weighted);
+        }
+    }
+
+    /**
+     * Chunk start positions: every nominal boundary k * chunkBytes moves to just after
+     * the next newline, so each line belongs to the chunk holding its first byte.
+     */
+    private long[] chunkBounds(FileChannel channel) throws IOException {
+        long size = channel.size();
+        int nominal = (int) Math.min(Integer.MAX_VALUE - 1, (size + chunkBytes - 1) / chunkBytes);
+        long[] bounds = new long[Math.max(nominal, 1) + 1];
+        ByteBuffer scan = ByteBuffer.allocate(SCAN_BYTES);
+        for (int k = 1; k < bounds.length - 1; k++) {
+            long position = Math.max((long) k * chunkBytes - 1, bounds[k - 1]);
+            bounds[k] = size;
+            while (position < size) {
+                scan.clear();
+                int read = channel.read(scan, position);
+                if (read <= 0) {
+                    break;
+                }
+                int newline = -1;
+                for (int i = 0; i < read && newline < 0; i++) {
+                    if (scan.get(i) == '\n') {
+                        newline = i;
+                    }
+                }
+                if (newline >= 0) {
+                    bounds[k] = position + newline + 1;
+                    break;
+                }
+                position += read;
+            }
+        }
+        bounds[bounds.length - 1] = size;
+        for (int k = 1; k < bounds.length; k++) {
+            if (bounds[k] - bounds[k - 1] > Integer.MAX_VALUE) {
+                throw new IOException("Line longer than the 2 GB mapping limit at byte " + bounds[k - 1]);
+            }
+        }
+        return bounds;
+    }
+
+    // Edges of one chunk, in file order
+    private static final class Chunk {
+        int size;
+        int[] sources;
+        int[] targets;
+        int[] weights;
+
+        Chunk(int capacity, boolean weighted) {
+            sources = new int[capacity];
+            targets = new int[capacity];
+            weights = weighted ? new int[capacity] : null;
+        }
+
+        void add(int source, int target, int weight) {
+            if (size == sources.length) {
+                int capacity = Math.max(16, size * 2);
+                sources = Arrays.copyOf(sources, capacity);
+                targets = Arrays.copyOf(targets, capacity);
+                if (weights != null) {
+                    weights = Arrays.copyOf(weights, capacity);
+                }
+            }
+            sources[size] = source;
+            targets[size] = target;
+            if (weights != null) {
+                weights[size] = weight;
+            }
+            size++;
+        }
+    }
+
+    private static Chunk parse(FileChannel channel, long start, long end, boolean weighted, Path file) {
+        int length = (int) (end - start);
+        MappedByteBuffer bytes;
+        try {
+            bytes = channel.map(FileChannel.MapMode.READ_ONLY, start, length);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        // "0 1\n" is the shortest edge line, so this rarely needs to grow
+        Chunk chunk = new Chunk(length / 8, weighted);
+        int fieldsNeeded = weighted ? 3 : 2;
+        int[] fields = new int[3];
+        int pos = 0;
+        while (pos < length) {
+            int lineStart = pos;
+            int found = 0;
+            byte b = bytes.get(pos);
+            if (b == '#' || b == '%') {
+                found = -1;
+            }
+            while (pos < length && (b = bytes.get(pos)) != '\n') {
+                if (found < 0 || found >= fieldsNeeded || isSeparator(b)) {
+                    pos++;
+                    continue;
+                }
+                // Field: optional sign, digits, then an optional fraction that is dropped
+                boolean negative = b == '-';
+                if (b == '-' || b == '+') {
+                    pos++;
+                }
+                long value = 0;
+                int digits = 0;
+                while (pos < length && (b = bytes.get(pos)) >= '0' && b <= '9') {
+                    value = value * 10 + (b - '0');
+                    if (value > Integer.MAX_VALUE + 1L) {
+                        throw malformed(file, start + lineStart);
+                    }
+                    digits++;
+                    pos++;
+                }
+                if (pos < length && bytes.get(pos) == '.') {
+                    pos++;
+                    while (pos < length && (b = bytes.get(pos)) >= '0' && b <= '9') {
+                        digits++;
+                        pos++;
+                    }
+                }
+                value = negative ? -value : value;
+                if (digits == 0 || value > Integer.MAX_VALUE
+                        || (pos < length && !isSeparator(bytes.get(pos)) && bytes.get(pos) != '\n')) {
+                    throw malformed(file, start + lineStart);
+                }
+                fields[found++] = (int) value;
+            }
+            pos++;
+            if (found > 0) {
+                if (found < fieldsNeeded) {
+                    throw malformed(file, start + lineStart);
+                }
+                chunk.add(fields[0], fields[1], fields[2]);
+            }
+        }
+        return chunk;
+    }
+
+    private static boolean isSeparator(byte b) {
+        return b == ' ' || b == '\t' || b == ',' || b == ';' || b == '\r';
+    }
+
+    private static UncheckedIOException malformed(Path file, long position) {
+        return new UncheckedIOException(new IOException("Malformed edge line at byte " + position + " of " + file));
+    }
+
+    private EdgeList concat(Chunk[] chunks, boolean weighted) throws IOException {
+        long[] offsets = new long[chunks.length + 1];
+        for (int c = 0; c < chunks.length; c++) {
+            offsets[c + 1] = offsets[c] + chunks[c].size;
+        }
+        if (offsets[chunks.length] > Integer.MAX_VALUE - 8) {
+            throw new IOException("Edge list has too many edges for int arrays: " + offsets[chunks.length]);
+        }
+        int m = (int) offsets[chunks.length];
+        int[] sources = new int[m];
+        int[] targets = new int[m];
+        int[] weights = weighted ? new int[m] : null;
+        ParallelLoop.run(pool, chunks.length, 1, (from, to) -> {
+            for (int c = from; c < to; c++) {
+                Chunk chunk = chunks[c];
+                int offset = (int) offsets[c];
+                System.arraycopy(chunk.sources, 0, sources, offset, chunk.size);
+                System.arraycopy(chunk.targets, 0, targets, offset, chunk.size);
+                if (weighted) {
+                    System.arraycopy(chunk.weights, 0, weights, offset, chunk.size);
+                }
+                chunks[c] = null;
+            }
+        });
+        return new EdgeList(sources, targets, weights);
+    }
+
+    /**
+     * Converter from a text edge list to the binary CSR format.
+     * Usage: TextEdgeListReader &lt;edges.txt&gt; &lt;output.bin&gt; [weighted] [undirected]
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.out.println("Usage: TextEdgeListReader <edges.txt> <output.bin> [weighted] [undirected]");
+            return;
+        }
+        boolean weighted = Arrays.asList(args).contains("weighted");
+        boolean undirected = Arrays.asList(args).contains("undirected");
+        long start = System.nanoTime();
+        EdgeList edges = new TextEdgeListReader().read(Paths.get(args[0]), weighted);
+        long parsed = System.nanoTime();
+        CsrGraph graph = new EdgeListBuilder().buildCsr(edges, -1, undirected);
+        long built = System.nanoTime();
+        BinaryGraphFormat.write(graph, Paths.get(args[1]));
+        System.out.println("Read " + edges.size() + " edges in " + (parsed - start) / 1000000 + " ms, built "
+                + graph.getVertexCount() + " vertices in " + (built - parsed) / 1000000 + " ms");
+    }
+}
@@ -0,0 +1,287 @@
+package nl.han.asd;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Per-vertex triangle counts and local clustering coefficients of the undirected
+ * unweighted graphs. Self-loops are ignored.
+ * <p>
+ * Adjacency lists are oriented by degree: every edge points from the endpoint
+ * with the lower (degree, id) to the higher one, so each vertex keeps at most
+ * O(sqrt(E)) out-neighbours and every triangle is found exactly once, at its
+ * lowest vertex, by intersecting two sorted out-neighbour rows. Rows of similar
+ * length are merged; a short row against a much longer one gallops through the
+ * long row instead. Matrices count common neighbours per vertex with AND and
+ * popcount over the bit rows. Both run per vertex on a ForkJoinPool.
+ */
+public class TriangleCounter {
+
+    // Vertices per task
+    private static final int GRAIN = 256;
+
+    // Gallop once the longer row is this many times the shorter one
+    private static final int GALLOP_RATIO = 16;
+
+    private final ForkJoinPool pool;
+
+    public TriangleCounter() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public TriangleCounter(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    public static final class Result {
+        private final long[] triangles;
+        private final int[] degrees;
+        private final long total;
+
+        Result(long[] triangles, int[] degrees, long total) {
+            this.triangles = triangles;
+            this.degrees = degrees;
+            this.total = total;
+        }
+
+        // Number of triangles through vertex
+        public long getTriangles(int vertex) {
+            return triangles[vertex];
+        }
+
+        // Per-vertex triangle counts. Not copied.
+        public long[] getTriangleCounts() {
+            return triangles;
+        }
+
+        // Number of distinct triangles in the graph
+        public long getTotal() {
+            return total;
+        }
+
+        /**
+         * Fraction of the pairs of neighbours of vertex that are adjacent themselves,
+         * 0 for vertices with fewer than two neighbours.
+         */
+        public double getClusteringCoefficient(int vertex) {
+            long d = degrees[vertex];
+            return d < 2 ? 0 : 2.0 * triangles[vertex] / (d * (d - 1));
+        }
+
+        // Mean of the local clustering coefficients over all vertices
+        public double getAverageClustering() {
+            if (degrees.length == 0) {
+                return 0;
+            }
+            double sum = 0;
+            for (int v = 0; v < degrees.length; v++) {
+                sum += getClusteringCoefficient(v);
+            }
+            return sum / degrees.length;
+        }
+    }
+
+    public Result count(UnweightedGraphAdjList graph) {
+        long start = GraphMetrics.start();
+        Result result = count(graph.toCsr());
+        GraphMetrics.record(GraphMetrics.Operation.TRIANGLE_COUNT, graph, start);
+        return result;
+    }
+
+    /**
+     * Counts on a CSR copy of an undirected graph: every edge must be stored in
+     * both directions, as UnweightedGraphAdjList.toCsr does.
+     */
+    public Result count(CsrGraph graph) {
+        int n = graph.getVertexCount();
+        int[] offsets = graph.offsets();
+        int[] targets = graph.targets();
+
+        int[] degrees = new int[n];
+        ParallelLoop.run(pool, n, GRAIN, (from, to) -> {
+            for (int v = from; v < to; v++) {
+                int d = offsets[v + 1] - offsets[v];
+                if (graph.hasEdge(v, v)) {
+                    d--;
+                }
+                degrees[v] = d;
+            }
+        });
+
+        // Oriented rows keep the neighbours that rank higher, still sorted by id
+        int[] outOffsets = new int[n + 1];
+        ParallelLoop.run(pool, n, GRAIN, (from, to) -> {
+            for (int v = from; v < to; v++) {
+                int count = 0;
+                for (int i = offsets[v]; i < offsets[v + 1]; i++) {
+                    if (ranksBelow(v, targets[i], degrees)) {
+                        count++;
+                    }
+                }
+                outOffsets[v + 1] = count;
+            }
+        });
+        for (int v = 0; v < n; v++) {
+            outOffsets[v + 1] += outOffsets[v];
+        }
+        int[] out = new int[outOffsets[n]];
+        ParallelLoop.run(pool, n, GRAIN, (from, to) -> {
+            for (int v = from; v < to; v++) {
+                int pos = outOffsets[v];
+                for (int i = offsets[v]; i < offsets[v + 1]; i++) {
+                    if (ranksBelow(v, targets[i], degrees)) {
+                        out[pos++] = targets[i];
+                    }
+                }
+            }
+        });
+
+        // The lowest vertex u of every triangle finds it; u's own count is local, v and w are shared
+        AtomicLongArray shared = new AtomicLongArray(n);
+        long[] local = new long[n];
+        ParallelLoop.run(pool, n, GRAIN, (from, to) -> {
+            for (int u = from; u < to; u++) {
+                long found = 0;
+                for (int i = outOffsets[u]; i < outOffsets[u + 1]; i++) {
+                    int v = out[i];
+                    long common = intersect(out, outOffsets[u], outOffsets[u + 1],
+                            outOffsets[v], outOffsets[v + 1], shared);
+                    if (common > 0) {
+                        shared.addAndGet(v, common);
+                        found += common;
+                    }
+                }
+                local[u] = found;
+            }
+        });
+
+        long[] triangles = new long[n];
+        long total = 0;
+        for (int v = 0; v < n; v++) {
+            total += local[v];
+            triangles[v] = local[v] + shared.get(v);
+        }
+        return new Result(triangles, degrees, total);
+    }
+
+    /**
+     * Per vertex u: the sum over its neighbours v of |N(u) & N(v)|, one AND and
+     * popcount per 64 vertices, counts every triangle through u twice.
+     */
+    public Result count(UnweightedGraphMatrix graph) {
+        long start = GraphMetrics.start();
+        int n = graph.getVertexCount();
+        int words = graph.getUsedWords();
+        long[] triangles = new long[n];
+        int[] degrees = new int[n];
+        ParallelLoop.run(pool, n, GRAIN, (from, to) -> {
+            for (int u = from; u < to; u++) {
+                long[] row = graph.getRow(u);
+                boolean selfLoop = (row[u >>> 6] & (1L << u)) != 0;
+                long pairs = 0;
+                int degree = 0;
+                for (int k = 0; k < words; k++) {
+                    for (long word = row[k]; word != 0; word &= word - 1) {
+                        int v = (k << 6) + Long.numberOfTrailingZeros(word);
+                        if (v == u) {
+                            continue;
+                        }
+                        degree++;
+                        long[] other = graph.getRow(v);
+                        long common = 0;
+                        for (int j = 0; j < words; j++) {
+                            common += Long.bitCount(row[j] & other[j]);
+                        }
+                        // A self-loop on u or v puts that endpoint in both rows
+                        if (selfLoop) {
+                            common--;
+                        }
+                        if ((other[v >>> 6] & (1L << v)) != 0) {
+                            common--;
+                        }
+                        pairs += common;
+                    }
+                }
+                triangles[u] = pairs / 2;
+                degrees[u] = degree;
+            }
+        });
+        long sum = 0;
+        for (long count : triangles) {
+            sum += count;
+        }
+        GraphMetrics.record(GraphMetrics.Operation.TRIANGLE_COUNT, graph, start);
+        return new Result(triangles, degrees, sum / 3);
+    }
+
+    // Orientation order: by degree, ties broken by id
+    private static boolean ranksBelow(int u, int v, int[] degrees) {
+        return degrees[u] < degrees[v] || (degrees[u] == degrees[v] && u < v);
+    }
+
+    /**
+     * Size of the intersection of the sorted rows a and b of targets, counting a
+     * triangle for every common vertex.
+     */
+    static long intersect(int[] targets, int aFrom, int aTo, int bFrom, int bTo, AtomicLongArray counts) {
+        int aSize = aTo - aFrom;
+        int bSize = bTo - bFrom;
+        if (aSize > bSize) {
+            return intersect(targets, bFrom, bTo, aFrom, aTo, counts);
+        }
+        if (aSize == 0) {
+            return 0;
+        }
+        long common = 0;
+        int i = aFrom;
+        int j = bFrom;
+        if (bSize / aSize >= GALLOP_RATIO) {
+            for (; i < aTo && j < bTo; i++) {
+                j = gallop(targets, j, bTo, targets[i]);
+                if (j < bTo && targets[j] == targets[i]) {
+                    counts.incrementAndGet(targets[j]);
+                    common++;
+                    j++;
+                }
+            }
+            return common;
+        }
+        while (i < aTo && j < bTo) {
+            int a = targets[i];
+            int b = targets[j];
+            if (a < b) {
+                i++;
+            } else if (a > b) {
+                j++;
+            } else {
+                counts.incrementAndGet(a);
+                common++;
+                i++;
+                j++;
+            }
+        }
+        return common;
+    }
+
+    // First index in [from, to) whose value is at least key: doubling steps, then binary search
+    private static int gallop(int[] values, int from, int to, int key) {
+        int step = 1;
+        int low = from;
+        int high = from;
+        while (high < to && values[high] < key) {
+            low = high + 1;
+            high = from + step;
+            step <<= 1;
+        }
+        high = Math.min(high, to);
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (values[mid] < key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
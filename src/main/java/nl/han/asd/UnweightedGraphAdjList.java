@@ -1,45 +1,115 @@
 package nl.han.asd;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntConsumer;
 
-public class UnweightedGraphAdjList {
+public class UnweightedGraphAdjList implements AdjacencyGraph {
 
-    private List<List<Integer>> adjList;
+    // Each vertex keeps its neighbours in an adaptive primitive set (sorted array or hash table)
+    private List<NeighborSet> adjList;
+
+    // Tombstone mode: removed vertices keep their slot until compact() renumbers them
+    private boolean tombstoneMode;
+    private final BitSet removed = new BitSet();
+    private int removedCount;
+
+    // Bumped by every mutation, see AdjacencyGraph.getVersion
+    private long version;
+
+    // Optional incrementally maintained connected components, null when disabled
+    private ConnectivityIndex connectivity;
 
 
     public UnweightedGraphAdjList(int numVertices) {
         adjList = new ArrayList<>();
         for (int i = 0; i < numVertices; i++) {
-            adjList.add(new ArrayList<>());
+            adjList.add(new NeighborSet(false));
         }
     }
 
     public UnweightedGraphAdjList(List<List<Integer>> verbindingslijst) {
         adjList = new ArrayList<>();
         for (List<Integer> list : verbindingslijst) {
-            adjList.add(new ArrayList<>(list));
+            NeighborSet neighbors = new NeighborSet(false);
+            for (int neighbor : list) {
+                neighbors.add(neighbor);
+            }
+            adjList.add(neighbors);
         }
     }
 
-    public void addVertex() {
+    // Adopt ready-made neighbour sets, for EdgeListBuilder
+    static UnweightedGraphAdjList ofSets(NeighborSet[] sets) {
+        UnweightedGraphAdjList graph = new UnweightedGraphAdjList(0);
+        graph.adjList = new ArrayList<>(Arrays.asList(sets));
+        return graph;
+    }
 
-        adjList.add(new ArrayList<>());
+    /**
+     * Convert a matrix graph in a single pass over its bit rows.
+     */
+    public static UnweightedGraphAdjList fromMatrix(UnweightedGraphMatrix matrix) {
+        int vertexCount = matrix.getVertexCount();
+        UnweightedGraphAdjList graph = new UnweightedGraphAdjList(0);
+        graph.adjList = new ArrayList<>(vertexCount);
+        for (int v = 0; v < vertexCount; v++) {
+            int[] neighbors = new int[matrix.degree(v)];
+            int[] count = new int[1];
+            // Bit rows are visited in ascending column order
+            matrix.forEachNeighbor(v, neighbor -> neighbors[count[0]++] = neighbor);
+            graph.adjList.add(NeighborSet.ofSorted(false, neighbors, null, neighbors.length));
+        }
+        return graph;
+    }
+
+    public void addVertex() {
+        long start = GraphMetrics.start();
+        adjList.add(new NeighborSet(false));
+        version++;
+        if (connectivity != null) {
+            connectivity.addVertices(1);
+        }
+        GraphMetrics.record(GraphMetrics.Operation.ADD_VERTEX, this, start);
     }
 
     public void removeVertex(int vertex) {
-        if (vertex < 0 || vertex >= adjList.size()) {
+        if (!isValidVertex(vertex)) {
             throw new IllegalArgumentException("Vertex " + vertex + " does not exist.");
         }
-        adjList.remove(vertex);
-        for (List<Integer> list : adjList) {
-            list.removeIf(v -> v == vertex);
-            for (int i = 0; i < list.size(); i++) {
-                int v = list.get(i);
-                if (v > vertex) {
-                    list.set(i, v - 1);
+        long start = GraphMetrics.start();
+        version++;
+        if (tombstoneMode) {
+            // Edges are undirected, so the vertex's own list names every vertex pointing at it
+            adjList.get(vertex).forEach((int neighbor) -> {
+                if (neighbor != vertex) {
+                    adjList.get(neighbor).remove(vertex);
                 }
-            }
+            });
+            adjList.get(vertex).clear();
+            removed.set(vertex);
+            removedCount++;
+            invalidateConnectivity();
+            GraphMetrics.record(GraphMetrics.Operation.REMOVE_VERTEX, this, start);
+            return;
+        }
+        adjList.remove(vertex);
+        for (NeighborSet neighbors : adjList) {
+            neighbors.removeAndRenumber(vertex);
+        }
+        invalidateConnectivity();
+        GraphMetrics.record(GraphMetrics.Operation.REMOVE_VERTEX, this, start);
+    }
+
+    // Add the single arc src -> dest without validation, for bulk loaders
+    void addArc(int src, int dest) {
+        adjList.get(src).add(dest);
+        version++;
+        if (connectivity != null) {
+            connectivity.union(src, dest);
         }
     }
 
@@ -48,41 +118,266 @@ public class UnweightedGraphAdjList {
             System.out.println("Invalid vertex index.");
             return;
         }
-        if (!adjList.get(src).contains(dest)) {
-            adjList.get(src).add(dest);
-        }
-        if (!adjList.get(dest).contains(src)) {
-            adjList.get(dest).add(src);
+        long start = GraphMetrics.start();
+        version++;
+        adjList.get(src).add(dest);
+        adjList.get(dest).add(src);
+        if (connectivity != null) {
+            connectivity.union(src, dest);
         }
+        GraphMetrics.record(GraphMetrics.Operation.ADD_EDGE, this, start);
     }
 
     public void removeEdge(int src, int dest) {
         if (!isValidVertex(src) || !isValidVertex(dest)) {
             throw new IllegalArgumentException("Invalid vertex index.");
         }
-        adjList.get(src).remove((Integer) dest);
-        adjList.get(dest).remove((Integer) src);
+        long start = GraphMetrics.start();
+        version++;
+        if (adjList.get(src).remove(dest)) {
+            adjList.get(dest).remove(src);
+            invalidateConnectivity();
+        }
+        GraphMetrics.record(GraphMetrics.Operation.REMOVE_EDGE, this, start);
+    }
+
+    /**
+     * Add the undirected edges src[i] - dest[i] in one pass: the pairs are grouped per
+     * vertex and deduplicated, then merged into every neighbour set at once.
+     * Invalid pairs are skipped and listed in the report instead of printed.
+     */
+    public BatchReport addEdges(int[] src, int[] dest) {
+        EdgeBatch batch = EdgeBatch.group(src, dest, null, adjList.size(), this::isValidVertex, true);
+        int applied = 0;
+        for (int u = 0; u < adjList.size(); u++) {
+            int from = batch.start(u);
+            int to = batch.end(u);
+            if (from == to) {
+                continue;
+            }
+            NeighborSet neighbors = adjList.get(u);
+            // Each undirected edge is counted once, from its lower endpoint
+            for (int i = from; i < to; i++) {
+                if (batch.targets[i] >= u && !neighbors.contains(batch.targets[i])) {
+                    applied++;
+                }
+            }
+            neighbors.addSorted(batch.targets, null, from, to);
+            if (connectivity != null) {
+                for (int i = from; i < to; i++) {
+                    connectivity.union(u, batch.targets[i]);
+                }
+            }
+        }
+        if (applied > 0) {
+            version++;
+        }
+        return batch.report(applied);
+    }
+
+    public BatchReport removeEdges(int[] src, int[] dest) {
+        EdgeBatch batch = EdgeBatch.group(src, dest, null, adjList.size(), this::isValidVertex, true);
+        int applied = 0;
+        for (int u = 0; u < adjList.size(); u++) {
+            int from = batch.start(u);
+            int to = batch.end(u);
+            if (from == to) {
+                continue;
+            }
+            NeighborSet neighbors = adjList.get(u);
+            for (int i = from; i < to; i++) {
+                if (batch.targets[i] >= u && neighbors.contains(batch.targets[i])) {
+                    applied++;
+                }
+            }
+            neighbors.removeSorted(batch.targets, from, to);
+        }
+        if (applied > 0) {
+            version++;
+            invalidateConnectivity();
+        }
+        return batch.report(applied);
+    }
+
+    public void addVertices(int count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("Cannot add " + count + " vertices.");
+        }
+        for (int i = 0; i < count; i++) {
+            adjList.add(new NeighborSet(false));
+        }
+        version++;
+        if (connectivity != null) {
+            connectivity.addVertices(count);
+        }
+    }
+
+    /**
+     * Remove many vertices with a single renumbering pass over all neighbour sets,
+     * instead of one pass per vertex. In tombstone mode the vertices are tombstoned
+     * one by one, which is already cheap. Ids are those before the call.
+     */
+    public BatchReport removeVertices(int[] vertices) {
+        BitSet doomed = new BitSet();
+        BatchReport report = EdgeBatch.markVertices(vertices, this::isValidVertex, doomed);
+        if (tombstoneMode) {
+            for (int v = doomed.nextSetBit(0); v >= 0; v = doomed.nextSetBit(v + 1)) {
+                removeVertex(v);
+            }
+        } else if (report.getApplied() > 0) {
+            removed.or(doomed);
+            removedCount = report.getApplied();
+            compact();
+        }
+        return report;
     }
 
 
     private boolean isValidVertex(int vertex) {
 
-        return vertex >= 0 && vertex < adjList.size();
+        return vertex >= 0 && vertex < adjList.size() && !removed.get(vertex);
+    }
+
+    /**
+     * In tombstone mode removeVertex only touches the removed vertex's neighbours
+     * and keeps every vertex id stable; ids are renumbered by compact().
+     * Switching the mode off compacts any pending tombstones.
+     */
+    public void setTombstoneMode(boolean enabled) {
+        if (!enabled && removedCount > 0) {
+            compact();
+        }
+        tombstoneMode = enabled;
+    }
+
+    public boolean isTombstoneMode() {
+        return tombstoneMode;
+    }
+
+    public boolean isRemoved(int vertex) {
+        return removed.get(vertex);
+    }
+
+    /**
+     * Drop all tombstoned vertices and renumber the remaining ones densely.
+     * Returns the mapping from old id to new id, with -1 for removed vertices,
+     * so callers holding ids can translate them.
+     */
+    public int[] compact() {
+        int oldSize = adjList.size();
+        int[] mapping = new int[oldSize];
+        int next = 0;
+        for (int v = 0; v < oldSize; v++) {
+            mapping[v] = removed.get(v) ? -1 : next++;
+        }
+        if (removedCount == 0) {
+            return mapping;
+        }
+
+        version++;
+        List<NeighborSet> compacted = new ArrayList<>(next);
+        for (int v = 0; v < oldSize; v++) {
+            if (mapping[v] >= 0) {
+                adjList.get(v).remap(mapping);
+                compacted.add(adjList.get(v));
+            }
+        }
+        adjList = compacted;
+        removed.clear();
+        removedCount = 0;
+        invalidateConnectivity();
+        return mapping;
+    }
+
+    /**
+     * Start maintaining connected components incrementally, see ConnectivityIndex.
+     * The first query builds the index; returns the existing index when already enabled.
+     */
+    public ConnectivityIndex enableConnectivityIndex() {
+        return enableConnectivityIndex(ForkJoinPool.commonPool(), ConnectivityIndex.DEFAULT_PARALLEL_THRESHOLD);
+    }
+
+    // Rebuilds of graphs with at least parallelThreshold vertices run on pool
+    public ConnectivityIndex enableConnectivityIndex(ForkJoinPool pool, int parallelThreshold) {
+        if (connectivity == null) {
+            connectivity = new ConnectivityIndex(this, pool, parallelThreshold);
+        }
+        return connectivity;
+    }
+
+    public void disableConnectivityIndex() {
+        connectivity = null;
+    }
+
+    // The index, or null when it is not enabled
+    public ConnectivityIndex getConnectivityIndex() {
+        return connectivity;
+    }
+
+    private void invalidateConnectivity() {
+        if (connectivity != null) {
+            connectivity.invalidate();
+        }
     }
 
     public boolean hasEdge(int src, int dest) {
-        if (!isValidVertex(src) || !isValidVertex(dest)) {
-            return false;
+        long start = GraphMetrics.start();
+        boolean found = isValidVertex(src) && isValidVertex(dest) && adjList.get(src).contains(dest);
+        GraphMetrics.record(GraphMetrics.Operation.HAS_EDGE, this, start);
+        return found;
+    }
+
+    public int degree(int vertex) {
+        if (vertex < 0 || vertex >= adjList.size()) {
+            throw new IllegalArgumentException("Vertex " + vertex + " does not exist.");
         }
-        return adjList.get(src).contains(dest);
+        return adjList.get(vertex).size();
     }
 
+    public void forEachNeighbor(int vertex, IntConsumer action) {
+        if (vertex < 0 || vertex >= adjList.size()) {
+            throw new IllegalArgumentException("Vertex " + vertex + " does not exist.");
+        }
+        adjList.get(vertex).forEach(action);
+    }
+
+    // Number of vertex ids in use, including tombstoned ones
     public int getVertexCount() {
         return adjList.size();
     }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public int getLiveVertexCount() {
+        return adjList.size() - removedCount;
+    }
+
+    // Direct view on the neighbour set of a vertex, used by CsrGraph
+    NeighborSet getNeighbors(int vertex) {
+        return adjList.get(vertex);
+    }
+
+    public CsrGraph toCsr() {
+        return CsrGraph.fromAdjList(this);
+    }
+
+    // See MemoryFootprint
+    long estimateBytes() {
+        long bytes = MemoryFootprint.object(3 * MemoryFootprint.REFERENCE + 8 + 8)
+                + MemoryFootprint.array(adjList.size(), MemoryFootprint.REFERENCE);
+        for (NeighborSet neighbors : adjList) {
+            bytes += neighbors.estimateBytes();
+        }
+        return bytes;
+    }
     // Print the graph
     public void printGraph() {
         for (int i = 0; i < adjList.size(); i++) {
+            if (removed.get(i)) {
+                continue;
+            }
             System.out.println("Vertex " + i + ": " + adjList.get(i));
         }
     }
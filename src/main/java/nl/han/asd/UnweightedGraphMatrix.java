@@ -1,72 +1,123 @@
 package nl.han.asd;
 
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.List;
+import java.util.function.IntConsumer;
 
-public class UnweightedGraphMatrix {
+public class UnweightedGraphMatrix implements AdjacencyGraph {
 
-    private boolean[][] adjMatrix;
+    // Bit-packed rows: bit j of adjMatrix[i] is set when there is an edge i -> j.
+    // Rows and words per row are over-allocated so addVertex is amortized.
+    private long[][] adjMatrix;
     private int vertexCount;
+    private int wordsPerRow;
+    // Bumped by every mutation, see AdjacencyGraph.getVersion
+    private long version;
 
 
     public UnweightedGraphMatrix(int numVertices) {
         this.vertexCount = numVertices;
-        this.adjMatrix = new boolean[numVertices][numVertices];
+        this.wordsPerRow = wordsFor(numVertices);
+        this.adjMatrix = new long[numVertices][wordsPerRow];
     }
 
     public UnweightedGraphMatrix(List<List<Double>> matrixData) {
-        this.vertexCount = matrixData.size();
-        this.adjMatrix = new boolean[vertexCount][vertexCount];
+        this(matrixData.size());
 
         // Populate the matrix
         for (int i = 0; i < vertexCount; i++) {
             for (int j = 0; j < matrixData.get(i).size(); j++) {
                 // If it's 1.0, mark the matrix cell as true (edge exists)
                 if (matrixData.get(i).get(j) == 1.0) {
-                    adjMatrix[i][j] = true;
+                    setBit(adjMatrix[i], j);
                 }
             }
         }
     }
 
+    /**
+     * Convert an adjacency-list graph in a single pass over its neighbour sets.
+     */
+    public static UnweightedGraphMatrix fromAdjList(UnweightedGraphAdjList list) {
+        UnweightedGraphMatrix graph = new UnweightedGraphMatrix(list.getVertexCount());
+        for (int v = 0; v < graph.vertexCount; v++) {
+            long[] row = graph.adjMatrix[v];
+            list.getNeighbors(v).forEach((int neighbor) -> setBit(row, neighbor));
+        }
+        return graph;
+    }
+
+    private static int wordsFor(int bits) {
+        return (bits + 63) >>> 6;
+    }
+
+    private static void setBit(long[] row, int index) {
+        row[index >>> 6] |= 1L << index;
+    }
+
+    private static void clearBit(long[] row, int index) {
+        row[index >>> 6] &= ~(1L << index);
+    }
+
     public void addVertex() {
+        long start = GraphMetrics.start();
         int newSize = vertexCount + 1;
-        boolean[][] newMatrix = new boolean[newSize][newSize];
 
-        // Copy old data
-        for (int i = 0; i < vertexCount; i++) {
-            for (int j = 0; j < vertexCount; j++) {
-                newMatrix[i][j] = adjMatrix[i][j];
+        // Widen every row only when the new column does not fit, doubling the width
+        if (wordsFor(newSize) > wordsPerRow) {
+            wordsPerRow = Math.max(wordsFor(newSize), wordsPerRow * 2);
+            for (int i = 0; i < vertexCount; i++) {
+                adjMatrix[i] = Arrays.copyOf(adjMatrix[i], wordsPerRow);
             }
         }
+        if (newSize > adjMatrix.length) {
+            adjMatrix = Arrays.copyOf(adjMatrix, Math.max(newSize, adjMatrix.length * 2));
+        }
 
-        adjMatrix = newMatrix;
-        vertexCount++;
+        adjMatrix[vertexCount] = new long[wordsPerRow];
+        vertexCount = newSize;
+        version++;
+        GraphMetrics.record(GraphMetrics.Operation.ADD_VERTEX, this, start);
     }
 
     public void removeVertex(int vertex) {
         if (vertex < 0 || vertex >= vertexCount) {
             throw new IllegalArgumentException("Vertex " + vertex + " is out of range.");
         }
+        long start = GraphMetrics.start();
         int newSize = vertexCount - 1;
-        boolean[][] newMatrix = new boolean[newSize][newSize];
+        version++;
 
-        int newI = 0;
-        for (int i = 0; i < vertexCount; i++) {
+        // Drop the row by shifting the row references up
+        System.arraycopy(adjMatrix, vertex + 1, adjMatrix, vertex, newSize - vertex);
+        adjMatrix[newSize] = null;
 
-            if (i == vertex) continue;
-            int newJ = 0;
-            for (int j = 0; j < vertexCount; j++) {
+        // Drop the column by shifting the higher bits of every row down one position
+        int usedWords = wordsFor(vertexCount);
+        for (int i = 0; i < newSize; i++) {
+            removeBit(adjMatrix[i], vertex, usedWords);
+        }
 
-                if (j == vertex) continue;
+        vertexCount = newSize;
+        GraphMetrics.record(GraphMetrics.Operation.REMOVE_VERTEX, this, start);
+    }
 
-                newMatrix[newI][newJ] = adjMatrix[i][j];
-                newJ++;
-            }
-            newI++;
+    private static void removeBit(long[] row, int index, int usedWords) {
+        int word = index >>> 6;
+        long value = row[word];
+        long lowMask = (1L << index) - 1;
+        row[word] = (value & lowMask) | ((value >>> 1) & ~lowMask);
+        for (int k = word + 1; k < usedWords; k++) {
+            row[k - 1] |= row[k] << 63;
+            row[k] >>>= 1;
         }
+    }
 
-        adjMatrix = newMatrix;
-        vertexCount = newSize;
+    // Set only the cell src -> dest, without validation, for bulk loaders
+    void setArc(int src, int dest) {
+        setBit(adjMatrix[src], dest);
+        version++;
     }
 
     public void addEdge(int src, int dest) {
@@ -74,43 +125,281 @@ public class UnweightedGraphMatrix {
             System.out.println("Invalid vertex index for addEdge: " + src + " or " + dest);
             return;
         }
-        adjMatrix[src][dest] = true;
-        adjMatrix[dest][src] = true;
+        long start = GraphMetrics.start();
+        version++;
+        setBit(adjMatrix[src], dest);
+        setBit(adjMatrix[dest], src);
+        GraphMetrics.record(GraphMetrics.Operation.ADD_EDGE, this, start);
     }
 
     public void removeEdge(int src, int dest) {
         if (!isValidVertex(src) || !isValidVertex(dest)) {
             throw new IllegalArgumentException("Invalid vertex index for removeEdge.");
         }
-        adjMatrix[src][dest] = false;
-        adjMatrix[dest][src] = false;
+        long start = GraphMetrics.start();
+        version++;
+        clearBit(adjMatrix[src], dest);
+        clearBit(adjMatrix[dest], src);
+        GraphMetrics.record(GraphMetrics.Operation.REMOVE_EDGE, this, start);
+    }
+
+    /**
+     * Set the undirected edges src[i] - dest[i] straight into the bit rows.
+     * Invalid pairs are skipped and listed in the report instead of printed.
+     */
+    public BatchReport addEdges(int[] src, int[] dest) {
+        if (src.length != dest.length) {
+            throw new IllegalArgumentException("Batch arrays must have the same length.");
+        }
+        IntList invalid = new IntList();
+        int applied = 0;
+        for (int i = 0; i < src.length; i++) {
+            int u = src[i];
+            int v = dest[i];
+            if (!isValidVertex(u) || !isValidVertex(v)) {
+                invalid.add(i);
+            } else if ((adjMatrix[u][v >>> 6] & (1L << v)) == 0) {
+                setBit(adjMatrix[u], v);
+                setBit(adjMatrix[v], u);
+                applied++;
+            }
+        }
+        if (applied > 0) {
+            version++;
+        }
+        return new BatchReport(src.length, applied, invalid.toArray());
+    }
+
+    public BatchReport removeEdges(int[] src, int[] dest) {
+        if (src.length != dest.length) {
+            throw new IllegalArgumentException("Batch arrays must have the same length.");
+        }
+        IntList invalid = new IntList();
+        int applied = 0;
+        for (int i = 0; i < src.length; i++) {
+            int u = src[i];
+            int v = dest[i];
+            if (!isValidVertex(u) || !isValidVertex(v)) {
+                invalid.add(i);
+            } else if ((adjMatrix[u][v >>> 6] & (1L << v)) != 0) {
+                clearBit(adjMatrix[u], v);
+                clearBit(adjMatrix[v], u);
+                applied++;
+            }
+        }
+        if (applied > 0) {
+            version++;
+        }
+        return new BatchReport(src.length, applied, invalid.toArray());
+    }
+
+    /**
+     * Add count vertices, widening the rows and the row array at most once.
+     */
+    public void addVertices(int count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("Cannot add " + count + " vertices.");
+        }
+        int newSize = vertexCount + count;
+        if (wordsFor(newSize) > wordsPerRow) {
+            wordsPerRow = Math.max(wordsFor(newSize), wordsPerRow * 2);
+            for (int i = 0; i < vertexCount; i++) {
+                adjMatrix[i] = Arrays.copyOf(adjMatrix[i], wordsPerRow);
+            }
+        }
+        if (newSize > adjMatrix.length) {
+            adjMatrix = Arrays.copyOf(adjMatrix, Math.max(newSize, adjMatrix.length * 2));
+        }
+        for (int i = vertexCount; i < newSize; i++) {
+            adjMatrix[i] = new long[wordsPerRow];
+        }
+        vertexCount = newSize;
+        version++;
+    }
+
+    /**
+     * Remove many vertices at once: the kept rows are rebuilt with their set bits
+     * renumbered in a single pass, instead of shifting every row once per vertex.
+     * Ids are those before the call.
+     */
+    public BatchReport removeVertices(int[] vertices) {
+        BitSet doomed = new BitSet();
+        BatchReport report = EdgeBatch.markVertices(vertices, this::isValidVertex, doomed);
+        if (report.getApplied() == 0) {
+            return report;
+        }
+        int[] mapping = new int[vertexCount];
+        int newSize = 0;
+        for (int v = 0; v < vertexCount; v++) {
+            mapping[v] = doomed.get(v) ? -1 : newSize++;
+        }
+        int usedWords = wordsFor(vertexCount);
+        for (int v = 0; v < vertexCount; v++) {
+            if (mapping[v] < 0) {
+                continue;
+            }
+            long[] row = adjMatrix[v];
+            long[] renumbered = new long[wordsPerRow];
+            for (int k = 0; k < usedWords; k++) {
+                for (long word = row[k]; word != 0; word &= word - 1) {
+                    int target = mapping[(k << 6) + Long.numberOfTrailingZeros(word)];
+                    if (target >= 0) {
+                        setBit(renumbered, target);
+                    }
+                }
+            }
+            adjMatrix[mapping[v]] = renumbered;
+        }
+        Arrays.fill(adjMatrix, newSize, vertexCount, null);
+        vertexCount = newSize;
+        version++;
+        return report;
     }
 
     public boolean hasEdge(int src, int dest) {
-        if (!isValidVertex(src) || !isValidVertex(dest)) {
-            return false;
+        long start = GraphMetrics.start();
+        boolean found = isValidVertex(src) && isValidVertex(dest)
+                && (adjMatrix[src][dest >>> 6] & (1L << dest)) != 0;
+        GraphMetrics.record(GraphMetrics.Operation.HAS_EDGE, this, start);
+        return found;
+    }
+
+    // See MemoryFootprint; includes the spare rows and words kept for growth
+    long estimateBytes() {
+        long bytes = MemoryFootprint.object(MemoryFootprint.REFERENCE + 4 + 4 + 8)
+                + MemoryFootprint.array(adjMatrix.length, MemoryFootprint.REFERENCE);
+        for (long[] row : adjMatrix) {
+            if (row != null) {
+                bytes += MemoryFootprint.array(row.length, 8);
+            }
         }
-        return adjMatrix[src][dest];
+        return bytes;
     }
 
     private boolean isValidVertex(int vertex) {
         return vertex >= 0 && vertex < vertexCount;
     }
 
+    /**
+     * Number of neighbours of a vertex, counted with one popcount per 64 cells.
+     */
+    public int degree(int vertex) {
+        if (!isValidVertex(vertex)) {
+            throw new IllegalArgumentException("Vertex " + vertex + " is out of range.");
+        }
+        long[] row = adjMatrix[vertex];
+        int count = 0;
+        for (int k = 0, words = wordsFor(vertexCount); k < words; k++) {
+            count += Long.bitCount(row[k]);
+        }
+        return count;
+    }
+
+    /**
+     * Visits the set bits of the row only, skipping 64 empty cells per zero word.
+     */
+    public void forEachNeighbor(int vertex, IntConsumer action) {
+        if (!isValidVertex(vertex)) {
+            throw new IllegalArgumentException("Vertex " + vertex + " is out of range.");
+        }
+        long[] row = adjMatrix[vertex];
+        for (int k = 0, words = wordsFor(vertexCount); k < words; k++) {
+            for (long word = row[k]; word != 0; word &= word - 1) {
+                action.accept((k << 6) + Long.numberOfTrailingZeros(word));
+            }
+        }
+    }
+
+    /**
+     * Number of vertices adjacent to both u and v.
+     */
+    public int commonNeighbourCount(int u, int v) {
+        if (!isValidVertex(u) || !isValidVertex(v)) {
+            throw new IllegalArgumentException("Invalid vertex index: " + u + " or " + v);
+        }
+        long[] a = adjMatrix[u];
+        long[] b = adjMatrix[v];
+        int count = 0;
+        for (int k = 0, words = wordsFor(vertexCount); k < words; k++) {
+            count += Long.bitCount(a[k] & b[k]);
+        }
+        return count;
+    }
+
+    /**
+     * Number of vertices adjacent to u, v or both.
+     */
+    public int unionNeighbourCount(int u, int v) {
+        if (!isValidVertex(u) || !isValidVertex(v)) {
+            throw new IllegalArgumentException("Invalid vertex index: " + u + " or " + v);
+        }
+        long[] a = adjMatrix[u];
+        long[] b = adjMatrix[v];
+        int count = 0;
+        for (int k = 0, words = wordsFor(vertexCount); k < words; k++) {
+            count += Long.bitCount(a[k] | b[k]);
+        }
+        return count;
+    }
+
+    public BitSet neighbourIntersection(int u, int v) {
+        if (!isValidVertex(u) || !isValidVertex(v)) {
+            throw new IllegalArgumentException("Invalid vertex index: " + u + " or " + v);
+        }
+        int words = wordsFor(vertexCount);
+        long[] result = new long[words];
+        for (int k = 0; k < words; k++) {
+            result[k] = adjMatrix[u][k] & adjMatrix[v][k];
+        }
+        return BitSet.valueOf(result);
+    }
+
+    public BitSet neighbourUnion(int u, int v) {
+        if (!isValidVertex(u) || !isValidVertex(v)) {
+            throw new IllegalArgumentException("Invalid vertex index: " + u + " or " + v);
+        }
+        int words = wordsFor(vertexCount);
+        long[] result = new long[words];
+        for (int k = 0; k < words; k++) {
+            result[k] = adjMatrix[u][k] | adjMatrix[v][k];
+        }
+        return BitSet.valueOf(result);
+    }
+
+    // Raw bit row of a vertex; only the first wordsFor(getVertexCount()) words are meaningful
+    long[] getRow(int vertex) {
+        return adjMatrix[vertex];
+    }
+
+    int getUsedWords() {
+        return wordsFor(vertexCount);
+    }
+
 
     public void printGraph() {
         for (int i = 0; i < vertexCount; i++) {
             System.out.print("Vertex " + i + ": ");
-            for (int j = 0; j < vertexCount; j++) {
-                if (adjMatrix[i][j]) {
-                    System.out.print(j + " ");
+            long[] row = adjMatrix[i];
+            for (int k = 0, words = wordsFor(vertexCount); k < words; k++) {
+                long word = row[k];
+                while (word != 0) {
+                    System.out.print(((k << 6) + Long.numberOfTrailingZeros(word)) + " ");
+                    word &= word - 1;
                 }
             }
             System.out.println();
         }
     }
 
+    public CsrGraph toCsr() {
+        return CsrGraph.fromMatrix(this);
+    }
+
     public int getVertexCount() {
         return vertexCount;
     }
+
+    public long getVersion() {
+        return version;
+    }
 }
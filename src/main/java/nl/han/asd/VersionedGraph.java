@@ -0,0 +1,402 @@
+package nl.han.asd;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Mutable graph with cheap immutable snapshots for long-running readers (MVCC).
+ * Vertices live in pages of PAGE_SIZE rows; a row is a sorted int[] of targets
+ * with its weights, like one CSR row. snapshot() only freezes the current page
+ * directory and starts a new epoch, so it is O(1). The first write that touches a
+ * frozen page afterwards copies the page (PAGE_SIZE references) and the row it
+ * changes, and the first write of the epoch copies the directory (V / PAGE_SIZE
+ * references). A snapshot therefore costs memory and time proportional to the
+ * changes made while it is alive, never O(E), and it is never modified again.
+ * <p>
+ * Writers are serialized on this object and snapshot() waits for at most one
+ * write; reading a snapshot takes no locks at all, so traversals never hold up
+ * ingestion. Weights are ints, as in WeightedGraphAdjList; addEdge without a
+ * weight uses 1 and an existing edge keeps its weight.
+ */
+public class VersionedGraph implements WeightedAdjacencyGraph {
+
+    static final int PAGE_SHIFT = 6;
+    static final int PAGE_SIZE = 1 << PAGE_SHIFT;
+
+    private static final int[] EMPTY = new int[0];
+
+    // PAGE_SIZE rows; owned marks rows this epoch already copied and may change in place
+    private static final class Page {
+        final long epoch;
+        final int[][] targets;
+        final int[][] weights;
+        final int[] sizes;
+        final boolean[] owned;
+
+        Page(long epoch) {
+            this.epoch = epoch;
+            this.targets = new int[PAGE_SIZE][];
+            this.weights = new int[PAGE_SIZE][];
+            this.sizes = new int[PAGE_SIZE];
+            this.owned = new boolean[PAGE_SIZE];
+            Arrays.fill(targets, EMPTY);
+            Arrays.fill(weights, EMPTY);
+        }
+
+        Page(Page frozen, long epoch) {
+            this.epoch = epoch;
+            this.targets = frozen.targets.clone();
+            this.weights = frozen.weights.clone();
+            this.sizes = frozen.sizes.clone();
+            this.owned = new boolean[PAGE_SIZE];
+        }
+    }
+
+    private final boolean undirected;
+    private Page[] directory = new Page[0];
+    private boolean directoryFrozen;
+    private long epoch;
+    private int vertexCount;
+    private long arcCount;
+    private long version;
+
+    public VersionedGraph(int numVertices, boolean undirected) {
+        this.undirected = undirected;
+        for (int v = 0; v < numVertices; v++) {
+            addVertex();
+        }
+        version = 0;
+    }
+
+    public boolean isUndirected() {
+        return undirected;
+    }
+
+    /**
+     * Immutable view of the graph as it was when the snapshot was taken. Safe to
+     * read from any number of threads while the graph keeps changing.
+     */
+    public synchronized Snapshot snapshot() {
+        directoryFrozen = true;
+        epoch++;
+        return new Snapshot(directory, vertexCount, arcCount, version);
+    }
+
+    public synchronized void addVertex() {
+        int page = vertexCount >>> PAGE_SHIFT;
+        if (page == directory.length) {
+            // Growing copies the directory anyway, so it is no longer shared with a snapshot
+            directory = Arrays.copyOf(directory, Math.max(4, directory.length * 2));
+            directoryFrozen = false;
+        }
+        if (directory[page] == null) {
+            writableDirectory()[page] = new Page(epoch);
+        }
+        vertexCount++;
+        version++;
+    }
+
+    /**
+     * Remove a vertex and renumber the ones above it, as the other graphs do.
+     * Renumbering touches every row, so this rebuilds all pages: O(V + E).
+     */
+    public synchronized void removeVertex(int vertex) {
+        if (!isValidVertex(vertex)) {
+            throw new IllegalArgumentException("Vertex " + vertex + " is out of range.");
+        }
+        int newCount = vertexCount - 1;
+        Page[] rebuilt = new Page[Math.max(4, directory.length)];
+        long arcs = 0;
+        for (int v = 0; v < vertexCount; v++) {
+            if (v == vertex) {
+                continue;
+            }
+            int to = v < vertex ? v : v - 1;
+            if (rebuilt[to >>> PAGE_SHIFT] == null) {
+                rebuilt[to >>> PAGE_SHIFT] = new Page(epoch);
+            }
+            Page page = directory[v >>> PAGE_SHIFT];
+            int row = v & (PAGE_SIZE - 1);
+            int size = page.sizes[row];
+            int[] targets = new int[size];
+            int[] weights = new int[size];
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                int target = page.targets[row][i];
+                if (target != vertex) {
+                    targets[kept] = target < vertex ? target : target - 1;
+                    weights[kept++] = page.weights[row][i];
+                }
+            }
+            Page out = rebuilt[to >>> PAGE_SHIFT];
+            int outRow = to & (PAGE_SIZE - 1);
+            out.targets[outRow] = targets;
+            out.weights[outRow] = weights;
+            out.sizes[outRow] = kept;
+            out.owned[outRow] = true;
+            arcs += kept;
+        }
+        if (newCount > 0 && rebuilt[(newCount - 1) >>> PAGE_SHIFT] == null) {
+            rebuilt[(newCount - 1) >>> PAGE_SHIFT] = new Page(epoch);
+        }
+        directory = rebuilt;
+        directoryFrozen = false;
+        vertexCount = newCount;
+        arcCount = arcs;
+        version++;
+    }
+
+    public void addEdge(int src, int dest) {
+        addEdge(src, dest, 1);
+    }
+
+    public synchronized void addEdge(int src, int dest, int weight) {
+        if (!isValidVertex(src) || !isValidVertex(dest)) {
+            System.out.println("Invalid operation or vertex index.");
+            return;
+        }
+        boolean added = insert(src, dest, weight);
+        if (undirected && src != dest) {
+            added |= insert(dest, src, weight);
+        }
+        if (added) {
+            version++;
+        }
+    }
+
+    public synchronized void removeEdge(int src, int dest) {
+        if (!isValidVertex(src) || !isValidVertex(dest)) {
+            System.out.println("Invalid operation or vertex index.");
+            return;
+        }
+        boolean removed = delete(src, dest);
+        if (undirected && src != dest) {
+            removed |= delete(dest, src);
+        }
+        if (removed) {
+            version++;
+        }
+    }
+
+    private boolean insert(int src, int dest, int weight) {
+        Page page = directory[src >>> PAGE_SHIFT];
+        int row = src & (PAGE_SIZE - 1);
+        int index = Arrays.binarySearch(page.targets[row], 0, page.sizes[row], dest);
+        if (index >= 0) {
+            return false;
+        }
+        page = writableRow(src, 1);
+        int size = page.sizes[row];
+        int insertAt = -index - 1;
+        int[] targets = page.targets[row];
+        int[] weights = page.weights[row];
+        System.arraycopy(targets, insertAt, targets, insertAt + 1, size - insertAt);
+        System.arraycopy(weights, insertAt, weights, insertAt + 1, size - insertAt);
+        targets[insertAt] = dest;
+        weights[insertAt] = weight;
+        page.sizes[row] = size + 1;
+        arcCount++;
+        return true;
+    }
+
+    private boolean delete(int src, int dest) {
+        Page page = directory[src >>> PAGE_SHIFT];
+        int row = src & (PAGE_SIZE - 1);
+        int index = Arrays.binarySearch(page.targets[row], 0, page.sizes[row], dest);
+        if (index < 0) {
+            return false;
+        }
+        page = writableRow(src, 0);
+        int size = page.sizes[row];
+        System.arraycopy(page.targets[row], index + 1, page.targets[row], index, size - index - 1);
+        System.arraycopy(page.weights[row], index + 1, page.weights[row], index, size - index - 1);
+        page.sizes[row] = size - 1;
+        arcCount--;
+        return true;
+    }
+
+    private Page[] writableDirectory() {
+        if (directoryFrozen) {
+            directory = directory.clone();
+            directoryFrozen = false;
+        }
+        return directory;
+    }
+
+    /**
+     * The page of vertex, copied into this epoch if a snapshot may still see it,
+     * with the vertex's row private to the writer and room for extra more entries.
+     */
+    private Page writableRow(int vertex, int extra) {
+        int index = vertex >>> PAGE_SHIFT;
+        Page page = directory[index];
+        if (page.epoch != epoch) {
+            page = new Page(page, epoch);
+            writableDirectory()[index] = page;
+        }
+        int row = vertex & (PAGE_SIZE - 1);
+        int needed = page.sizes[row] + extra;
+        int length = page.targets[row].length;
+        if (!page.owned[row] || needed > length) {
+            int capacity = needed > length ? Math.max(4, needed * 2) : length;
+            page.targets[row] = Arrays.copyOf(page.targets[row], capacity);
+            page.weights[row] = Arrays.copyOf(page.weights[row], capacity);
+            page.owned[row] = true;
+        }
+        return page;
+    }
+
+    private boolean isValidVertex(int vertex) {
+        return vertex >= 0 && vertex < vertexCount;
+    }
+
+    public synchronized boolean hasEdge(int src, int dest) {
+        return isValidVertex(src) && isValidVertex(dest) && find(directory, src, dest) >= 0;
+    }
+
+    public synchronized double getWeight(int src, int dest) {
+        return isValidVertex(src) && isValidVertex(dest) ? weightOf(directory, src, dest) : Double.POSITIVE_INFINITY;
+    }
+
+    public synchronized int degree(int vertex) {
+        checkVertexId(vertex, vertexCount);
+        return directory[vertex >>> PAGE_SHIFT].sizes[vertex & (PAGE_SIZE - 1)];
+    }
+
+    // Holds the writer lock while iterating; traverse a snapshot instead to let writers continue
+    public synchronized void forEachNeighbor(int vertex, IntConsumer action) {
+        new Snapshot(directory, vertexCount, arcCount, version).forEachNeighbor(vertex, action);
+    }
+
+    public synchronized void forEachEdge(int vertex, EdgeConsumer action) {
+        new Snapshot(directory, vertexCount, arcCount, version).forEachEdge(vertex, action);
+    }
+
+    public synchronized int getVertexCount() {
+        return vertexCount;
+    }
+
+    // Number of stored arcs; an undirected edge counts twice, a self-loop once
+    public synchronized long getArcCount() {
+        return arcCount;
+    }
+
+    public synchronized long getVersion() {
+        return version;
+    }
+
+    private static void checkVertexId(int vertex, int vertexCount) {
+        if (vertex < 0 || vertex >= vertexCount) {
+            throw new IllegalArgumentException("Vertex " + vertex + " is out of range.");
+        }
+    }
+
+    private static int find(Page[] directory, int src, int dest) {
+        Page page = directory[src >>> PAGE_SHIFT];
+        int row = src & (PAGE_SIZE - 1);
+        return Arrays.binarySearch(page.targets[row], 0, page.sizes[row], dest);
+    }
+
+    private static double weightOf(Page[] directory, int src, int dest) {
+        int index = find(directory, src, dest);
+        return index < 0 ? Double.POSITIVE_INFINITY : directory[src >>> PAGE_SHIFT].weights[src & (PAGE_SIZE - 1)][index];
+    }
+
+    /**
+     * Frozen view returned by snapshot(). Rows are sorted, so a scan visits
+     * neighbours in ascending order, as in CsrGraph.
+     */
+    public static final class Snapshot implements WeightedAdjacencyGraph {
+        private final Page[] directory;
+        private final int vertexCount;
+        private final long arcCount;
+        private final long version;
+
+        private Snapshot(Page[] directory, int vertexCount, long arcCount, long version) {
+            this.directory = directory;
+            this.vertexCount = vertexCount;
+            this.arcCount = arcCount;
+            this.version = version;
+        }
+
+        public int getVertexCount() {
+            return vertexCount;
+        }
+
+        public long getArcCount() {
+            return arcCount;
+        }
+
+        // The graph version this snapshot was taken at
+        public long getVersion() {
+            return version;
+        }
+
+        public boolean hasEdge(int src, int dest) {
+            return src >= 0 && src < vertexCount && dest >= 0 && dest < vertexCount && find(directory, src, dest) >= 0;
+        }
+
+        public double getWeight(int src, int dest) {
+            if (src < 0 || src >= vertexCount || dest < 0 || dest >= vertexCount) {
+                return Double.POSITIVE_INFINITY;
+            }
+            return weightOf(directory, src, dest);
+        }
+
+        public int degree(int vertex) {
+            checkVertexId(vertex, vertexCount);
+            return directory[vertex >>> PAGE_SHIFT].sizes[vertex & (PAGE_SIZE - 1)];
+        }
+
+        public void forEachNeighbor(int vertex, IntConsumer action) {
+            checkVertexId(vertex, vertexCount);
+            Page page = directory[vertex >>> PAGE_SHIFT];
+            int row = vertex & (PAGE_SIZE - 1);
+            int[] targets = page.targets[row];
+            for (int i = 0, size = page.sizes[row]; i < size; i++) {
+                action.accept(targets[i]);
+            }
+        }
+
+        public void forEachEdge(int vertex, EdgeConsumer action) {
+            checkVertexId(vertex, vertexCount);
+            Page page = directory[vertex >>> PAGE_SHIFT];
+            int row = vertex & (PAGE_SIZE - 1);
+            int[] targets = page.targets[row];
+            int[] weights = page.weights[row];
+            for (int i = 0, size = page.sizes[row]; i < size; i++) {
+                action.accept(targets[i], weights[i]);
+            }
+        }
+
+        // Copy into a flat CsrGraph, O(V + E)
+        public CsrGraph toCsr() {
+            int[] offsets = new int[vertexCount + 1];
+            for (int v = 0; v < vertexCount; v++) {
+                offsets[v + 1] = offsets[v] + degree(v);
+            }
+            int[] targets = new int[offsets[vertexCount]];
+            double[] weights = new double[targets.length];
+            for (int v = 0; v < vertexCount; v++) {
+                Page page = directory[v >>> PAGE_SHIFT];
+                int row = v & (PAGE_SIZE - 1);
+                System.arraycopy(page.targets[row], 0, targets, offsets[v], page.sizes[row]);
+                for (int i = 0; i < page.sizes[row]; i++) {
+                    weights[offsets[v] + i] = page.weights[row][i];
+                }
+            }
+            return new CsrGraph(offsets, targets, weights);
+        }
+
+        // Number of pages this snapshot shares with another one, by identity
+        int sharedPages(Snapshot other) {
+            int shared = 0;
+            for (int p = 0; p < Math.min(directory.length, other.directory.length); p++) {
+                if (directory[p] != null && directory[p] == other.directory[p]) {
+                    shared++;
+                }
+            }
+            return shared;
+        }
+    }
+}
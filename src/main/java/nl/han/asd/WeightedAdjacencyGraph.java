@@ -0,0 +1,16 @@
+package nl.han.asd;
+
+/**
+ * Adjacency view that also exposes edge weights.
+ */
+public interface WeightedAdjacencyGraph extends AdjacencyGraph {
+
+    interface EdgeConsumer {
+        void accept(int target, double weight);
+    }
+
+    // Weight of src -> dest, or Double.POSITIVE_INFINITY when there is no such edge
+    double getWeight(int src, int dest);
+
+    void forEachEdge(int vertex, EdgeConsumer action);
+}
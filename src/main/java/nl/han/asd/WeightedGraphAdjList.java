@@ -1,11 +1,25 @@
 package nl.han.asd;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.List;
+import java.util.function.IntConsumer;
 
-public class WeightedGraphAdjList {
+public class WeightedGraphAdjList implements WeightedAdjacencyGraph {
 
-    private List<List<Edge>> adjList;
+    // Outgoing edges per vertex as an adaptive primitive destination -> weight set
+    private List<NeighborSet> adjList;
+
+    // Tombstone mode: removed vertices keep their slot until compact() renumbers them.
+    // incoming holds the reverse adjacency (sources of edges into each vertex) while the mode is on.
+    private boolean tombstoneMode;
+    private List<NeighborSet> incoming;
+    private final BitSet removed = new BitSet();
+    private int removedCount;
+
+    // Bumped by every mutation, see AdjacencyGraph.getVersion
+    private long version;
 
     public static class Edge {
         int destination;
@@ -25,14 +39,14 @@ public class WeightedGraphAdjList {
     public WeightedGraphAdjList(int initialVertices) {
         adjList = new ArrayList<>(initialVertices);
         for (int i = 0; i < initialVertices; i++) {
-            adjList.add(new ArrayList<>());
+            adjList.add(new NeighborSet(true));
         }
     }
 
     public WeightedGraphAdjList(List<List<List<Object>>> verbindingslijstGewogen) {
         adjList = new ArrayList<>();
         for (List<List<Object>> nodeEdges : verbindingslijstGewogen) {
-            List<Edge> edges = new ArrayList<>();
+            NeighborSet edges = new NeighborSet(true);
             for (List<Object> edgeData : nodeEdges) {
                 if (edgeData.size() >= 2
                         && edgeData.get(0) instanceof Number
@@ -40,7 +54,7 @@ public class WeightedGraphAdjList {
 
                     int destination = ((Number) edgeData.get(0)).intValue();
                     int weight = ((Number) edgeData.get(1)).intValue();
-                    edges.add(new Edge(destination, weight));
+                    edges.add(destination, weight);
                 } else {
                     System.out.println("Invalid edge data: " + edgeData);
                 }
@@ -49,14 +63,50 @@ public class WeightedGraphAdjList {
         }
     }
 
+    // Adopt ready-made neighbour sets, for EdgeListBuilder
+    static WeightedGraphAdjList ofSets(NeighborSet[] sets) {
+        WeightedGraphAdjList graph = new WeightedGraphAdjList(0);
+        graph.adjList = new ArrayList<>(Arrays.asList(sets));
+        return graph;
+    }
+
+    /**
+     * Convert a matrix graph in a single pass over its rows. Weights are
+     * truncated to int, the weight type of this representation.
+     */
+    public static WeightedGraphAdjList fromMatrix(WeightedGraphMatrix matrix) {
+        int vertexCount = matrix.getVertexCount();
+        WeightedGraphAdjList graph = new WeightedGraphAdjList(0);
+        for (int v = 0; v < vertexCount; v++) {
+            int degree = matrix.degree(v);
+            int[] targets = new int[degree];
+            int[] weights = new int[degree];
+            int[] count = new int[1];
+            // Matrix rows are visited in ascending column order
+            matrix.forEachEdge(v, (target, weight) -> {
+                targets[count[0]] = target;
+                weights[count[0]] = (int) weight;
+                count[0]++;
+            });
+            graph.adjList.add(NeighborSet.ofSorted(true, targets, weights, degree));
+        }
+        return graph;
+    }
+
     /**
      * Add a new vertex by appending an empty edge list.
      */
     public void addVertex() {
+        long start = GraphMetrics.start();
         if (adjList == null) {
             adjList = new ArrayList<>();
         }
-        adjList.add(new ArrayList<>());
+        adjList.add(new NeighborSet(true));
+        if (incoming != null) {
+            incoming.add(new NeighborSet(false));
+        }
+        version++;
+        GraphMetrics.record(GraphMetrics.Operation.ADD_VERTEX, this, start);
     }
 
     /**
@@ -64,26 +114,40 @@ public class WeightedGraphAdjList {
      * 1) Remove its list (the row).
      * 2) For all remaining vertices, remove edges pointing to 'vertex'
      *    and adjust edges' destination if their index was above the removed vertex.
+     * In tombstone mode only the vertex's own edges and its incoming edges are touched,
+     * and the vertex ids stay unchanged until compact().
      */
     public void removeVertex(int vertex) {
         if (!isValidVertex(vertex)) {
             throw new IllegalArgumentException("Vertex " + vertex + " is out of range.");
         }
+        long start = GraphMetrics.start();
+        version++;
+        if (tombstoneMode) {
+            adjList.get(vertex).forEach((int dest) -> incoming.get(dest).remove(vertex));
+            incoming.get(vertex).forEach((int src) -> adjList.get(src).remove(vertex));
+            adjList.get(vertex).clear();
+            incoming.get(vertex).clear();
+            removed.set(vertex);
+            removedCount++;
+            GraphMetrics.record(GraphMetrics.Operation.REMOVE_VERTEX, this, start);
+            return;
+        }
         // Remove the row
         adjList.remove(vertex);
 
-        // For each remaining list, remove or adjust edges
-        for (int src = 0; src < adjList.size(); src++) {
-            // Remove edges that point to 'vertex'
-            adjList.get(src).removeIf(e -> e.destination == vertex);
-
-            // Decrement destination indices that are above 'vertex'
-            for (Edge e : adjList.get(src)) {
-                if (e.destination > vertex) {
-                    e.destination--;
-                }
-            }
+        // For each remaining list, remove edges that point to 'vertex'
+        // and decrement destination indices that are above 'vertex'
+        for (NeighborSet edges : adjList) {
+            edges.removeAndRenumber(vertex);
         }
+        GraphMetrics.record(GraphMetrics.Operation.REMOVE_VERTEX, this, start);
+    }
+
+    // Add the arc src -> dest without validation, for bulk loaders
+    void addArc(int src, int dest, int weight) {
+        adjList.get(src).add(dest, weight);
+        version++;
     }
 
     public void addEdge(int src, int dest, int weight) {
@@ -91,11 +155,14 @@ public class WeightedGraphAdjList {
             System.out.println("Invalid operation or vertex index.");
             return;
         }
+        long start = GraphMetrics.start();
+        version++;
 
-        boolean edgeExists = adjList.get(src).stream().anyMatch(edge -> edge.destination == dest);
-        if (!edgeExists) {
-            adjList.get(src).add(new Edge(dest, weight));
+        boolean added = adjList.get(src).add(dest, weight);
+        if (added && incoming != null) {
+            incoming.get(dest).add(src);
         }
+        GraphMetrics.record(GraphMetrics.Operation.ADD_EDGE, this, start);
     }
 
     public void removeEdge(int src, int dest) {
@@ -103,23 +170,265 @@ public class WeightedGraphAdjList {
             System.out.println("Invalid operation or vertex index.");
             return;
         }
-        adjList.get(src).removeIf(edge -> edge.destination == dest);
+        long start = GraphMetrics.start();
+        version++;
+        boolean changed = adjList.get(src).remove(dest);
+        if (changed && incoming != null) {
+            incoming.get(dest).remove(src);
+        }
+        GraphMetrics.record(GraphMetrics.Operation.REMOVE_EDGE, this, start);
+    }
+
+    /**
+     * Add the directed edges src[i] -> dest[i] with weights[i] in one pass: the edges
+     * are grouped per source and deduplicated (the first weight wins, and existing
+     * edges keep theirs, as with addEdge), then merged into every edge set at once.
+     * Invalid edges are skipped and listed in the report instead of printed.
+     */
+    public BatchReport addEdges(int[] src, int[] dest, int[] weights) {
+        EdgeBatch batch = EdgeBatch.group(src, dest, weights, adjList.size(), this::isValidVertex, false);
+        int applied = 0;
+        for (int u = 0; u < adjList.size(); u++) {
+            int from = batch.start(u);
+            int to = batch.end(u);
+            if (from == to) {
+                continue;
+            }
+            NeighborSet edges = adjList.get(u);
+            if (incoming == null) {
+                applied += edges.addSorted(batch.targets, batch.values, from, to);
+                continue;
+            }
+            for (int i = from; i < to; i++) {
+                if (edges.add(batch.targets[i], batch.values[i])) {
+                    incoming.get(batch.targets[i]).add(u);
+                    applied++;
+                }
+            }
+        }
+        if (applied > 0) {
+            version++;
+        }
+        return batch.report(applied);
+    }
+
+    public BatchReport removeEdges(int[] src, int[] dest) {
+        EdgeBatch batch = EdgeBatch.group(src, dest, null, adjList.size(), this::isValidVertex, false);
+        int applied = 0;
+        for (int u = 0; u < adjList.size(); u++) {
+            int from = batch.start(u);
+            int to = batch.end(u);
+            if (from == to) {
+                continue;
+            }
+            NeighborSet edges = adjList.get(u);
+            if (incoming == null) {
+                applied += edges.removeSorted(batch.targets, from, to);
+                continue;
+            }
+            for (int i = from; i < to; i++) {
+                if (edges.remove(batch.targets[i])) {
+                    incoming.get(batch.targets[i]).remove(u);
+                    applied++;
+                }
+            }
+        }
+        if (applied > 0) {
+            version++;
+        }
+        return batch.report(applied);
+    }
+
+    public void addVertices(int count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("Cannot add " + count + " vertices.");
+        }
+        for (int i = 0; i < count; i++) {
+            adjList.add(new NeighborSet(true));
+            if (incoming != null) {
+                incoming.add(new NeighborSet(false));
+            }
+        }
+        version++;
+    }
+
+    /**
+     * Remove many vertices with a single renumbering pass over all edge sets,
+     * instead of one pass per vertex. In tombstone mode the vertices are tombstoned
+     * one by one, which is already cheap. Ids are those before the call.
+     */
+    public BatchReport removeVertices(int[] vertices) {
+        BitSet doomed = new BitSet();
+        BatchReport report = EdgeBatch.markVertices(vertices, this::isValidVertex, doomed);
+        if (tombstoneMode) {
+            for (int v = doomed.nextSetBit(0); v >= 0; v = doomed.nextSetBit(v + 1)) {
+                removeVertex(v);
+            }
+        } else if (report.getApplied() > 0) {
+            removed.or(doomed);
+            removedCount = report.getApplied();
+            compact();
+        }
+        return report;
+    }
+
+    public boolean hasEdge(int src, int dest) {
+        long start = GraphMetrics.start();
+        boolean found = isValidVertex(src) && isValidVertex(dest) && adjList.get(src).contains(dest);
+        GraphMetrics.record(GraphMetrics.Operation.HAS_EDGE, this, start);
+        return found;
+    }
+
+    // Weight of the edge src -> dest, or Double.POSITIVE_INFINITY when there is no such edge
+    public double getWeight(int src, int dest) {
+        if (!isValidVertex(src) || !isValidVertex(dest) || !adjList.get(src).contains(dest)) {
+            return Double.POSITIVE_INFINITY;
+        }
+        return adjList.get(src).getWeight(dest, 0);
+    }
+
+    public int degree(int vertex) {
+        checkVertexId(vertex);
+        return adjList.get(vertex).size();
+    }
+
+    public void forEachNeighbor(int vertex, IntConsumer action) {
+        checkVertexId(vertex);
+        adjList.get(vertex).forEach(action);
+    }
+
+    public void forEachEdge(int vertex, EdgeConsumer action) {
+        checkVertexId(vertex);
+        adjList.get(vertex).forEachEdge(action);
+    }
+
+    // Tombstoned ids are still iterable (they have no edges), so only check the range
+    private void checkVertexId(int vertex) {
+        if (vertex < 0 || vertex >= getVertexCount()) {
+            throw new IllegalArgumentException("Vertex " + vertex + " is out of range.");
+        }
     }
 
     private boolean isValidVertex(int vertex) {
-        return vertex >= 0 && vertex < adjList.size();
+        return vertex >= 0 && vertex < adjList.size() && !removed.get(vertex);
+    }
+
+    /**
+     * In tombstone mode removeVertex costs O(degree) instead of O(V + E): a reverse
+     * adjacency is kept so only the removed vertex's neighbours are visited, and
+     * vertex ids stay stable until compact(). Switching the mode off compacts
+     * any pending tombstones and drops the reverse adjacency.
+     */
+    public void setTombstoneMode(boolean enabled) {
+        if (enabled && incoming == null) {
+            incoming = new ArrayList<>(adjList.size());
+            for (int v = 0; v < adjList.size(); v++) {
+                incoming.add(new NeighborSet(false));
+            }
+            for (int src = 0; src < adjList.size(); src++) {
+                final int source = src;
+                adjList.get(src).forEach((int dest) -> incoming.get(dest).add(source));
+            }
+        } else if (!enabled) {
+            if (removedCount > 0) {
+                compact();
+            }
+            incoming = null;
+        }
+        tombstoneMode = enabled;
+    }
+
+    public boolean isTombstoneMode() {
+        return tombstoneMode;
+    }
+
+    public boolean isRemoved(int vertex) {
+        return removed.get(vertex);
     }
 
+    /**
+     * Drop all tombstoned vertices and renumber the remaining ones densely.
+     * Returns the mapping from old id to new id, with -1 for removed vertices.
+     */
+    public int[] compact() {
+        int oldSize = adjList.size();
+        int[] mapping = new int[oldSize];
+        int next = 0;
+        for (int v = 0; v < oldSize; v++) {
+            mapping[v] = removed.get(v) ? -1 : next++;
+        }
+        if (removedCount == 0) {
+            return mapping;
+        }
+
+        version++;
+        List<NeighborSet> compacted = new ArrayList<>(next);
+        List<NeighborSet> compactedIncoming = incoming == null ? null : new ArrayList<>(next);
+        for (int v = 0; v < oldSize; v++) {
+            if (mapping[v] < 0) {
+                continue;
+            }
+            adjList.get(v).remap(mapping);
+            compacted.add(adjList.get(v));
+            if (incoming != null) {
+                incoming.get(v).remap(mapping);
+                compactedIncoming.add(incoming.get(v));
+            }
+        }
+        adjList = compacted;
+        incoming = compactedIncoming;
+        removed.clear();
+        removedCount = 0;
+        return mapping;
+    }
+
+    // Number of vertex ids in use, including tombstoned ones
     public int getVertexCount() {
         return (adjList == null) ? 0 : adjList.size();
     }
 
+    public long getVersion() {
+        return version;
+    }
+
+    public int getLiveVertexCount() {
+        return getVertexCount() - removedCount;
+    }
+
+    // Direct view on the outgoing edges of a vertex, used by CsrGraph
+    NeighborSet getEdges(int vertex) {
+        return adjList.get(vertex);
+    }
+
+    // See MemoryFootprint; counts the reverse adjacency kept in tombstone mode
+    long estimateBytes() {
+        long bytes = MemoryFootprint.object(4 * MemoryFootprint.REFERENCE + 8 + 8)
+                + MemoryFootprint.array(adjList.size(), MemoryFootprint.REFERENCE);
+        for (NeighborSet edges : adjList) {
+            bytes += edges.estimateBytes();
+        }
+        if (incoming != null) {
+            bytes += MemoryFootprint.array(incoming.size(), MemoryFootprint.REFERENCE);
+            for (NeighborSet sources : incoming) {
+                bytes += sources.estimateBytes();
+            }
+        }
+        return bytes;
+    }
+
+    public CsrGraph toCsr() {
+        return CsrGraph.fromAdjList(this);
+    }
+
     public void printGraph() {
         if (adjList == null || adjList.isEmpty()) {
             System.out.println("The graph is empty.");
             return;
         }
         for (int i = 0; i < adjList.size(); i++) {
+            if (removed.get(i)) {
+                continue;
+            }
             System.out.println("Vertex " + i + ": " + adjList.get(i));
         }
     }
@@ -1,48 +1,83 @@
 package nl.han.asd;
 
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.List;
+import java.util.function.IntConsumer;
 
-public class WeightedGraphMatrix {
+public class WeightedGraphMatrix implements WeightedAdjacencyGraph {
 
-    private double[][] matrix;
+    // Flat row-major storage: the weight of src -> dest lives at src * capacity + dest.
+    // Capacity doubles when full, so addVertex is amortized O(n).
+    private double[] matrix;
+    // Number of edges per row, so degree is O(1) and row scans stop at the last edge
+    private int[] rowDegree;
+    private int capacity;
     private int vertexCount;
+    // Bumped by every mutation, see AdjacencyGraph.getVersion
+    private long version;
     private final double NO_EDGE = Double.POSITIVE_INFINITY;
 
+    // Largest n for which an n * n array still fits in a single Java array
+    private static final int MAX_CAPACITY = 46340;
+
 
     public WeightedGraphMatrix(int numVertices) {
-        this.vertexCount = numVertices;
-        this.matrix = new double[numVertices][numVertices];
-        for (int i = 0; i < numVertices; i++) {
-            for (int j = 0; j < numVertices; j++) {
-                matrix[i][j] = NO_EDGE;
-            }
+        if (numVertices < 0 || numVertices > MAX_CAPACITY) {
+            throw new IllegalArgumentException("WeightedGraphMatrix holds 0 to " + MAX_CAPACITY
+                    + " vertices, not " + numVertices + ".");
         }
+        this.vertexCount = numVertices;
+        this.capacity = numVertices;
+        this.matrix = new double[numVertices * numVertices];
+        this.rowDegree = new int[numVertices];
+        Arrays.fill(matrix, NO_EDGE);
     }
 
 
     public WeightedGraphMatrix(List<List<Double>> matrixData) {
-        this.vertexCount = matrixData.size();
-        this.matrix = new double[vertexCount][vertexCount];
+        this(matrixData.size());
 
         for (int i = 0; i < vertexCount; i++) {
             for (int j = 0; j < vertexCount; j++) {
                 double value = matrixData.get(i).get(j);
-                if (value <= 0.0) {
-                    matrix[i][j] = NO_EDGE;
-                } else {
-                    matrix[i][j] = value;
+                if (value > 0.0) {
+                    matrix[i * capacity + j] = value;
+                    rowDegree[i]++;
                 }
             }
         }
     }
 
+    /**
+     * Convert an adjacency-list graph in a single pass over its neighbour sets.
+     */
+    public static WeightedGraphMatrix fromAdjList(WeightedGraphAdjList list) {
+        WeightedGraphMatrix graph = new WeightedGraphMatrix(list.getVertexCount());
+        for (int v = 0; v < graph.vertexCount; v++) {
+            final int rowStart = v * graph.capacity;
+            list.getEdges(v).forEach((int dest, int weight) -> graph.matrix[rowStart + dest] = weight);
+            graph.rowDegree[v] = list.getEdges(v).size();
+        }
+        return graph;
+    }
+
     public void addEdge(int src, int dest, double weight) {
         if (!isValidVertex(src) || !isValidVertex(dest)) {
             System.out.println("Invalid vertex index for addEdge: " + src + " or " + dest);
             return;
         }
+        long start = GraphMetrics.start();
+        version++;
         // Directed: set only [src][dest]
-        matrix[src][dest] = weight;
+        int index = src * capacity + dest;
+        if (matrix[index] == NO_EDGE && weight != NO_EDGE) {
+            rowDegree[src]++;
+        } else if (matrix[index] != NO_EDGE && weight == NO_EDGE) {
+            rowDegree[src]--;
+        }
+        matrix[index] = weight;
+        GraphMetrics.record(GraphMetrics.Operation.ADD_EDGE, this, start);
     }
 
     public void removeEdge(int src, int dest) {
@@ -50,8 +85,73 @@ public class WeightedGraphMatrix {
             System.out.println("Invalid vertex index for removeEdge: " + src + " or " + dest);
             return;
         }
+        long start = GraphMetrics.start();
+        version++;
         // Directed: set only [src][dest] to NO_EDGE
-        matrix[src][dest] = NO_EDGE;
+        int index = src * capacity + dest;
+        if (matrix[index] != NO_EDGE) {
+            rowDegree[src]--;
+            matrix[index] = NO_EDGE;
+        }
+        GraphMetrics.record(GraphMetrics.Operation.REMOVE_EDGE, this, start);
+    }
+
+    /**
+     * Set the directed edges src[i] -> dest[i] to weights[i], as addEdge does,
+     * without per-call printing. Invalid edges are skipped and listed in the report.
+     */
+    public BatchReport addEdges(int[] src, int[] dest, double[] weights) {
+        if (src.length != dest.length || weights.length != src.length) {
+            throw new IllegalArgumentException("Batch arrays must have the same length.");
+        }
+        IntList invalid = new IntList();
+        int applied = 0;
+        for (int i = 0; i < src.length; i++) {
+            if (!isValidVertex(src[i]) || !isValidVertex(dest[i])) {
+                invalid.add(i);
+                continue;
+            }
+            int index = src[i] * capacity + dest[i];
+            double old = matrix[index];
+            if (old == weights[i]) {
+                continue;
+            }
+            if (old == NO_EDGE) {
+                rowDegree[src[i]]++;
+            } else if (weights[i] == NO_EDGE) {
+                rowDegree[src[i]]--;
+            }
+            matrix[index] = weights[i];
+            applied++;
+        }
+        if (applied > 0) {
+            version++;
+        }
+        return new BatchReport(src.length, applied, invalid.toArray());
+    }
+
+    public BatchReport removeEdges(int[] src, int[] dest) {
+        if (src.length != dest.length) {
+            throw new IllegalArgumentException("Batch arrays must have the same length.");
+        }
+        IntList invalid = new IntList();
+        int applied = 0;
+        for (int i = 0; i < src.length; i++) {
+            if (!isValidVertex(src[i]) || !isValidVertex(dest[i])) {
+                invalid.add(i);
+                continue;
+            }
+            int index = src[i] * capacity + dest[i];
+            if (matrix[index] != NO_EDGE) {
+                matrix[index] = NO_EDGE;
+                rowDegree[src[i]]--;
+                applied++;
+            }
+        }
+        if (applied > 0) {
+            version++;
+        }
+        return new BatchReport(src.length, applied, invalid.toArray());
     }
 
 
@@ -59,36 +159,60 @@ public class WeightedGraphMatrix {
         if (!isValidVertex(src) || !isValidVertex(dest)) {
             return NO_EDGE;
         }
-        return matrix[src][dest];
+        return matrix[src * capacity + dest];
     }
 
 
     public boolean hasEdge(int src, int dest) {
-        if (!isValidVertex(src) || !isValidVertex(dest)) {
-            return false;
-        }
-        return matrix[src][dest] != NO_EDGE;
+        long start = GraphMetrics.start();
+        boolean found = isValidVertex(src) && isValidVertex(dest) && matrix[src * capacity + dest] != NO_EDGE;
+        GraphMetrics.record(GraphMetrics.Operation.HAS_EDGE, this, start);
+        return found;
     }
 
 
     public void addVertex() {
-        int newSize = vertexCount + 1;
-        double[][] newMatrix = new double[newSize][newSize];
-
-        for (int i = 0; i < newSize; i++) {
-            for (int j = 0; j < newSize; j++) {
-                newMatrix[i][j] = NO_EDGE;
+        long start = GraphMetrics.start();
+        if (vertexCount == capacity) {
+            if (capacity == MAX_CAPACITY) {
+                throw new IllegalStateException("WeightedGraphMatrix cannot hold more than " + MAX_CAPACITY + " vertices.");
             }
+            grow(Math.min(MAX_CAPACITY, Math.max(1, capacity * 2)));
         }
+        // The new row and column are already NO_EDGE: fresh capacity is filled
+        // on grow and removeVertex resets the cells it vacates.
+        vertexCount++;
+        version++;
+        GraphMetrics.record(GraphMetrics.Operation.ADD_VERTEX, this, start);
+    }
 
-        for (int i = 0; i < vertexCount; i++) {
-            for (int j = 0; j < vertexCount; j++) {
-                newMatrix[i][j] = matrix[i][j];
-            }
+    /**
+     * Add count vertices, reallocating the matrix at most once.
+     */
+    public void addVertices(int count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("Cannot add " + count + " vertices.");
         }
+        int newSize = vertexCount + count;
+        if (newSize > MAX_CAPACITY) {
+            throw new IllegalStateException("WeightedGraphMatrix cannot hold more than " + MAX_CAPACITY + " vertices.");
+        }
+        if (newSize > capacity) {
+            grow(Math.min(MAX_CAPACITY, Math.max(newSize, capacity * 2)));
+        }
+        vertexCount = newSize;
+        version++;
+    }
 
+    private void grow(int newCapacity) {
+        double[] newMatrix = new double[newCapacity * newCapacity];
+        Arrays.fill(newMatrix, NO_EDGE);
+        for (int i = 0; i < vertexCount; i++) {
+            System.arraycopy(matrix, i * capacity, newMatrix, i * newCapacity, vertexCount);
+        }
         matrix = newMatrix;
-        vertexCount++;
+        rowDegree = Arrays.copyOf(rowDegree, newCapacity);
+        capacity = newCapacity;
     }
 
 
@@ -96,23 +220,71 @@ public class WeightedGraphMatrix {
         if (vertex < 0 || vertex >= vertexCount) {
             throw new IllegalArgumentException("Invalid vertex index: " + vertex);
         }
+        long start = GraphMetrics.start();
         int newSize = vertexCount - 1;
-        double[][] newMatrix = new double[newSize][newSize];
+        version++;
+
+        // Move all rows below 'vertex' up by one row block
+        System.arraycopy(matrix, (vertex + 1) * capacity, matrix, vertex * capacity, (newSize - vertex) * capacity);
+        Arrays.fill(matrix, newSize * capacity, newSize * capacity + vertexCount, NO_EDGE);
+        System.arraycopy(rowDegree, vertex + 1, rowDegree, vertex, newSize - vertex);
+        rowDegree[newSize] = 0;
+
+        // Within every remaining row, move the columns right of 'vertex' left by one
+        for (int i = 0; i < newSize; i++) {
+            int rowStart = i * capacity;
+            if (matrix[rowStart + vertex] != NO_EDGE) {
+                rowDegree[i]--;
+            }
+            System.arraycopy(matrix, rowStart + vertex + 1, matrix, rowStart + vertex, newSize - vertex);
+            matrix[rowStart + newSize] = NO_EDGE;
+        }
 
-        int newI = 0;
+        vertexCount = newSize;
+        GraphMetrics.record(GraphMetrics.Operation.REMOVE_VERTEX, this, start);
+    }
+
+
+    /**
+     * Remove many vertices with one in-place compaction of the kept rows and
+     * columns, instead of one shift of the whole matrix per vertex. Ids are those
+     * before the call.
+     */
+    public BatchReport removeVertices(int[] vertices) {
+        BitSet doomed = new BitSet();
+        BatchReport report = EdgeBatch.markVertices(vertices, this::isValidVertex, doomed);
+        if (report.getApplied() == 0) {
+            return report;
+        }
+        int newSize = 0;
+        // Cells only ever move towards the front, so copying in ascending order is safe
         for (int i = 0; i < vertexCount; i++) {
-            if (i == vertex) continue;  // skip row 'vertex'
-            int newJ = 0;
+            if (doomed.get(i)) {
+                continue;
+            }
+            int from = i * capacity;
+            int to = newSize * capacity;
+            int degree = 0;
+            int column = 0;
             for (int j = 0; j < vertexCount; j++) {
-                if (j == vertex) continue;  // skip col 'vertex'
-                newMatrix[newI][newJ] = matrix[i][j];
-                newJ++;
+                if (!doomed.get(j)) {
+                    double weight = matrix[from + j];
+                    matrix[to + column++] = weight;
+                    if (weight != NO_EDGE) {
+                        degree++;
+                    }
+                }
             }
-            newI++;
+            Arrays.fill(matrix, to + column, to + vertexCount, NO_EDGE);
+            rowDegree[newSize++] = degree;
+        }
+        for (int i = newSize; i < vertexCount; i++) {
+            Arrays.fill(matrix, i * capacity, i * capacity + vertexCount, NO_EDGE);
+            rowDegree[i] = 0;
         }
-
-        matrix = newMatrix;
         vertexCount = newSize;
+        version++;
+        return report;
     }
 
 
@@ -120,10 +292,11 @@ public class WeightedGraphMatrix {
         for (int i = 0; i < vertexCount; i++) {
             System.out.print("Vertex " + i + ": ");
             for (int j = 0; j < vertexCount; j++) {
-                if (matrix[i][j] == NO_EDGE) {
+                double weight = matrix[i * capacity + j];
+                if (weight == NO_EDGE) {
                     System.out.print("∞ ");
                 } else {
-                    System.out.print(matrix[i][j] + " ");
+                    System.out.print(weight + " ");
                 }
             }
             System.out.println();
@@ -135,7 +308,61 @@ public class WeightedGraphMatrix {
         return (v >= 0 && v < vertexCount);
     }
 
+    public int degree(int vertex) {
+        if (!isValidVertex(vertex)) {
+            throw new IllegalArgumentException("Invalid vertex index: " + vertex);
+        }
+        return rowDegree[vertex];
+    }
+
+    public void forEachNeighbor(int vertex, IntConsumer action) {
+        int remaining = degree(vertex);
+        int rowStart = vertex * capacity;
+        for (int j = 0; remaining > 0; j++) {
+            if (matrix[rowStart + j] != NO_EDGE) {
+                action.accept(j);
+                remaining--;
+            }
+        }
+    }
+
+    /**
+     * Scans the contiguous row, skipping empty rows entirely and stopping
+     * as soon as the last edge of the row has been seen.
+     */
+    public void forEachEdge(int vertex, EdgeConsumer action) {
+        int remaining = degree(vertex);
+        int rowStart = vertex * capacity;
+        for (int j = 0; remaining > 0; j++) {
+            double weight = matrix[rowStart + j];
+            if (weight != NO_EDGE) {
+                action.accept(j, weight);
+                remaining--;
+            }
+        }
+    }
+
+    // Copy the weights of row src (NO_EDGE where there is none) into dest at offset
+    void copyRow(int src, double[] dest, int offset) {
+        System.arraycopy(matrix, src * capacity, dest, offset, vertexCount);
+    }
+
+    // See MemoryFootprint; the whole capacity x capacity buffer is allocated
+    long estimateBytes() {
+        return MemoryFootprint.object(2 * MemoryFootprint.REFERENCE + 4 + 4 + 8 + 8)
+                + MemoryFootprint.array((long) capacity * capacity, 8)
+                + MemoryFootprint.array(rowDegree.length, 4);
+    }
+
+    public CsrGraph toCsr() {
+        return CsrGraph.fromMatrix(this);
+    }
+
     public int getVertexCount() {
         return vertexCount;
     }
+
+    public long getVersion() {
+        return version;
+    }
 }
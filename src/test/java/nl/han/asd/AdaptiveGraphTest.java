@@ -0,0 +1,54 @@
+package nl.han.asd;
+
+import junit.framework.TestCase;
+
+public class AdaptiveGraphTest extends TestCase {
+
+    public void testWeightedGraphSwitchesBothWaysAndKeepsEdges() {
+        AdaptiveWeightedGraph graph = new AdaptiveWeightedGraph(10, 0.3, 0.1, 100);
+        for (int i = 0; i < 10; i++) {
+            for (int j = 0; j < 4; j++) {
+                graph.addEdge(i, (i + j) % 10, 10 * i + j);
+            }
+        }
+        assertTrue(graph.isMatrix());
+        assertEquals(40, graph.getEdgeCount());
+        assertEquals(31.0, graph.getWeight(3, 4), 0.0);
+        assertEquals(4, graph.degree(9));
+
+        for (int i = 0; i < 10; i++) {
+            for (int j = 0; j < 4; j++) {
+                graph.removeEdge(i, (i + j) % 10);
+            }
+            graph.addEdge(i, (i + 1) % 10, 1);
+        }
+        assertFalse(graph.isMatrix());
+        assertEquals(2, graph.getConversionCount());
+        assertEquals(10, graph.getEdgeCount());
+        assertTrue(graph.hasEdge(9, 0));
+        assertEquals(1.0, graph.getWeight(9, 0), 0.0);
+    }
+
+    public void testUnweightedGraphConvertsOnDensityAndVertexRemoval() {
+        AdaptiveUnweightedGraph graph = new AdaptiveUnweightedGraph(8, 0.2, 0.05, 100);
+        for (int i = 0; i < 8; i++) {
+            graph.addEdge(i, (i + 1) % 8);
+        }
+        // 16 arcs over 64 cells
+        assertTrue(graph.isMatrix());
+        assertEquals(8, graph.getEdgeCount());
+        assertTrue(graph.hasEdge(0, 7));
+
+        graph.removeVertex(0);
+        assertEquals(6, graph.getEdgeCount());
+        assertFalse(graph.hasEdge(0, 6));
+        assertTrue(graph.hasEdge(6, 5));
+
+        for (int i = 0; i < 30; i++) {
+            graph.addVertex();
+        }
+        assertFalse(graph.isMatrix());
+        assertEquals(6, graph.getEdgeCount());
+        assertTrue(graph.hasEdge(5, 6));
+    }
+}
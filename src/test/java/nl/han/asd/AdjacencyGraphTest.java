@@ -0,0 +1,73 @@
+package nl.han.asd;
+
+import junit.framework.TestCase;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+public class AdjacencyGraphTest extends TestCase {
+
+    private static final int VERTICES = 150;
+
+    // The same undirected random graph in every representation
+    private List<AdjacencyGraph> buildAll() {
+        UnweightedGraphAdjList unweightedList = new UnweightedGraphAdjList(VERTICES);
+        UnweightedGraphMatrix unweightedMatrix = new UnweightedGraphMatrix(VERTICES);
+        WeightedGraphAdjList weightedList = new WeightedGraphAdjList(VERTICES);
+        WeightedGraphMatrix weightedMatrix = new WeightedGraphMatrix(VERTICES);
+        Random random = new Random(7);
+        for (int i = 0; i < 600; i++) {
+            int a = random.nextInt(VERTICES);
+            int b = random.nextInt(VERTICES);
+            unweightedList.addEdge(a, b);
+            unweightedMatrix.addEdge(a, b);
+            weightedList.addEdge(a, b, 1);
+            weightedList.addEdge(b, a, 1);
+            weightedMatrix.addEdge(a, b, 1);
+            weightedMatrix.addEdge(b, a, 1);
+        }
+        List<AdjacencyGraph> graphs = new ArrayList<>();
+        graphs.add(unweightedList);
+        graphs.add(unweightedMatrix);
+        graphs.add(weightedList);
+        graphs.add(weightedMatrix);
+        graphs.add(unweightedList.toCsr());
+        return graphs;
+    }
+
+    public void testAllRepresentationsAgree() {
+        List<AdjacencyGraph> graphs = buildAll();
+        AdjacencyGraph reference = graphs.get(0);
+        for (AdjacencyGraph graph : graphs) {
+            assertEquals(VERTICES, graph.getVertexCount());
+            for (int v = 0; v < VERTICES; v++) {
+                List<Integer> expected = GraphFixtures.neighbors(reference, v);
+                assertEquals(graph.getClass().getSimpleName(), expected, GraphFixtures.neighbors(graph, v));
+                assertEquals(expected.size(), graph.degree(v));
+            }
+        }
+    }
+
+    public void testWeightedMatrixDegreeFollowsMutations() {
+        WeightedGraphMatrix graph = new WeightedGraphMatrix(4);
+        graph.addEdge(0, 1, 2.0);
+        graph.addEdge(0, 1, 3.0);
+        graph.addEdge(0, 3, 4.0);
+        graph.addEdge(2, 3, 1.0);
+        assertEquals(2, graph.degree(0));
+
+        graph.removeEdge(0, 1);
+        graph.removeEdge(0, 1);
+        assertEquals(1, graph.degree(0));
+
+        graph.removeVertex(3);
+        assertEquals(0, graph.degree(0));
+        assertEquals(0, graph.degree(2));
+
+        final double[] sum = new double[1];
+        graph.addEdge(2, 0, 5.0);
+        graph.forEachEdge(2, (target, weight) -> sum[0] += target + weight);
+        assertEquals(5.0, sum[0], 0.0);
+    }
+}
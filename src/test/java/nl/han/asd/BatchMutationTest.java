@@ -0,0 +1,162 @@
+package nl.han.asd;
+
+import junit.framework.TestCase;
+
+import java.util.Arrays;
+
+public class BatchMutationTest extends TestCase {
+
+    private static final int VERTICES = 200;
+    private static final int EDGES = 3000;
+
+    private int[] src;
+    private int[] dest;
+    private int[] weights;
+    private double[] doubleWeights;
+    private int invalid;
+
+    @Override
+    protected void setUp() {
+        // Sources include out-of-range ids on both sides
+        GraphFixtures.RandomEdges edges = new GraphFixtures.RandomEdges(17, EDGES, -1, VERTICES + 1, VERTICES / 4, 9);
+        src = edges.sources;
+        dest = edges.targets;
+        weights = edges.weights;
+        doubleWeights = edges.doubleWeights;
+        invalid = edges.countSourcesOutside(VERTICES);
+    }
+
+    private int[] removals() {
+        return new int[]{5, 0, 5, VERTICES - 1, -3, 77, VERTICES, 120, 121};
+    }
+
+    public void testUnweightedListBatchMatchesSingleCalls() {
+        UnweightedGraphAdjList single = new UnweightedGraphAdjList(VERTICES);
+        UnweightedGraphAdjList batch = new UnweightedGraphAdjList(VERTICES);
+        int edges = 0;
+        for (int i = 0; i < EDGES; i++) {
+            if (src[i] >= 0 && src[i] < VERTICES && !single.hasEdge(src[i], dest[i])) {
+                single.addEdge(src[i], dest[i]);
+                edges++;
+            }
+        }
+        BatchReport report = batch.addEdges(src, dest);
+        assertEquals(edges, report.getApplied());
+        assertEquals(invalid, report.getInvalidCount());
+        assertEquals(EDGES - edges - invalid, report.getUnchanged());
+        GraphFixtures.assertSameGraph(single, batch);
+
+        int[] removeSrc = {0, 1, 2, VERTICES};
+        int[] removeDest = {dest[0], dest[1], 3, 0};
+        for (int i = 0; i < 3; i++) {
+            single.removeEdge(removeSrc[i], removeDest[i]);
+        }
+        assertEquals(1, batch.removeEdges(removeSrc, removeDest).getInvalidCount());
+        GraphFixtures.assertSameGraph(single, batch);
+
+        for (int v : new int[]{VERTICES - 1, 121, 120, 77, 5, 0}) {
+            single.removeVertex(v);
+        }
+        report = batch.removeVertices(removals());
+        assertEquals(6, report.getApplied());
+        assertEquals(2, report.getInvalidCount());
+        GraphFixtures.assertSameGraph(single, batch);
+
+        batch.addVertices(3);
+        assertEquals(VERTICES - 6 + 3, batch.getVertexCount());
+    }
+
+    public void testWeightedListBatchMatchesSingleCalls() {
+        WeightedGraphAdjList single = new WeightedGraphAdjList(VERTICES);
+        WeightedGraphAdjList batch = new WeightedGraphAdjList(VERTICES);
+        for (int i = 0; i < EDGES; i++) {
+            single.addEdge(src[i], dest[i], weights[i]);
+        }
+        BatchReport report = batch.addEdges(src, dest, weights);
+        assertEquals(invalid, report.getInvalidCount());
+        GraphFixtures.assertSameGraph(single, batch);
+
+        for (int i = 0; i < 100; i++) {
+            single.removeEdge(src[i], dest[i]);
+        }
+        batch.removeEdges(Arrays.copyOf(src, 100), Arrays.copyOf(dest, 100));
+        GraphFixtures.assertSameGraph(single, batch);
+
+        for (int v : new int[]{VERTICES - 1, 121, 120, 77, 5, 0}) {
+            single.removeVertex(v);
+        }
+        batch.removeVertices(removals());
+        GraphFixtures.assertSameGraph(single, batch);
+    }
+
+    public void testWeightedListBatchInTombstoneMode() {
+        WeightedGraphAdjList single = new WeightedGraphAdjList(VERTICES);
+        WeightedGraphAdjList batch = new WeightedGraphAdjList(VERTICES);
+        single.setTombstoneMode(true);
+        batch.setTombstoneMode(true);
+        for (int i = 0; i < EDGES; i++) {
+            single.addEdge(src[i], dest[i], weights[i]);
+        }
+        batch.addEdges(src, dest, weights);
+        for (int v : new int[]{VERTICES - 1, 121, 120, 77, 5, 0}) {
+            single.removeVertex(v);
+        }
+        batch.removeVertices(removals());
+        single.setTombstoneMode(false);
+        batch.setTombstoneMode(false);
+        GraphFixtures.assertSameGraph(single, batch);
+    }
+
+    public void testUnweightedMatrixBatchMatchesSingleCalls() {
+        UnweightedGraphMatrix single = new UnweightedGraphMatrix(VERTICES);
+        UnweightedGraphMatrix batch = new UnweightedGraphMatrix(VERTICES);
+        for (int i = 0; i < EDGES; i++) {
+            if (src[i] >= 0 && src[i] < VERTICES) {
+                single.addEdge(src[i], dest[i]);
+            }
+        }
+        assertEquals(invalid, batch.addEdges(src, dest).getInvalidCount());
+        GraphFixtures.assertSameGraph(single, batch);
+
+        for (int v : new int[]{VERTICES - 1, 121, 120, 77, 5, 0}) {
+            single.removeVertex(v);
+        }
+        batch.removeVertices(removals());
+        GraphFixtures.assertSameGraph(single, batch);
+
+        for (int i = 0; i < 70; i++) {
+            single.addVertex();
+        }
+        batch.addVertices(70);
+        single.addEdge(0, VERTICES + 60);
+        batch.addEdges(new int[]{0}, new int[]{VERTICES + 60});
+        GraphFixtures.assertSameGraph(single, batch);
+    }
+
+    public void testWeightedMatrixBatchMatchesSingleCalls() {
+        WeightedGraphMatrix single = new WeightedGraphMatrix(VERTICES);
+        WeightedGraphMatrix batch = new WeightedGraphMatrix(VERTICES);
+        for (int i = 0; i < EDGES; i++) {
+            if (src[i] >= 0 && src[i] < VERTICES) {
+                single.addEdge(src[i], dest[i], doubleWeights[i]);
+            }
+        }
+        assertEquals(invalid, batch.addEdges(src, dest, doubleWeights).getInvalidCount());
+        GraphFixtures.assertSameGraph(single, batch);
+
+        for (int v : new int[]{VERTICES - 1, 121, 120, 77, 5, 0}) {
+            single.removeVertex(v);
+        }
+        batch.removeVertices(removals());
+        GraphFixtures.assertSameGraph(single, batch);
+        for (int v = 0; v < batch.getVertexCount(); v++) {
+            assertEquals(single.degree(v), batch.degree(v));
+        }
+
+        for (int i = 0; i < 300; i++) {
+            single.addVertex();
+        }
+        batch.addVertices(300);
+        GraphFixtures.assertSameGraph(single, batch);
+    }
+}
@@ -0,0 +1,67 @@
+package nl.han.asd;
+
+import junit.framework.TestCase;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+public class BinaryGraphFormatTest extends TestCase {
+
+    private Path file;
+
+    @Override
+    protected void setUp() throws IOException {
+        file = Files.createTempFile("graph", ".bin");
+    }
+
+    @Override
+    protected void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    public void testWeightedRoundTrip() throws IOException {
+        WeightedGraphAdjList graph = new WeightedGraphAdjList(4);
+        graph.addEdge(0, 1, 10);
+        graph.addEdge(0, 3, 30);
+        graph.addEdge(2, 1, 21);
+
+        BinaryGraphFormat.write(graph, file);
+        MappedCsrGraph mapped = BinaryGraphFormat.map(file);
+
+        assertTrue(mapped.isWeighted());
+        assertEquals(4, mapped.getVertexCount());
+        assertEquals(3, mapped.getEdgeCount());
+        assertEquals(2, mapped.degree(0));
+        assertTrue(mapped.hasEdge(0, 3));
+        assertFalse(mapped.hasEdge(3, 0));
+        assertEquals(21.0, mapped.getWeight(2, 1), 0.0);
+        assertEquals(30.0, mapped.toCsr().getWeight(0, 3), 0.0);
+    }
+
+    public void testUnweightedMatrixRoundTrip() throws IOException {
+        UnweightedGraphMatrix graph = new UnweightedGraphMatrix(70);
+        graph.addEdge(0, 69);
+        graph.addEdge(5, 6);
+
+        BinaryGraphFormat.write(graph, file);
+        MappedCsrGraph mapped = BinaryGraphFormat.map(file);
+
+        assertFalse(mapped.isWeighted());
+        assertEquals(70, mapped.getVertexCount());
+        assertEquals(4, mapped.getEdgeCount());
+        assertTrue(mapped.hasEdge(69, 0));
+        assertTrue(mapped.hasEdge(6, 5));
+        assertFalse(mapped.hasEdge(0, 5));
+    }
+
+    public void testRejectsForeignFiles() throws IOException {
+        Files.write(file, new byte[64]);
+        try {
+            BinaryGraphFormat.map(file);
+            fail("Expected an IOException for a file without the magic number");
+        } catch (IOException expected) {
+            // expected
+        }
+    }
+}
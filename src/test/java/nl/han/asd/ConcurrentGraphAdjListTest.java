@@ -0,0 +1,199 @@
+package nl.han.asd;
+
+import junit.framework.TestCase;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class ConcurrentGraphAdjListTest extends TestCase {
+
+    private static final int THREADS = 8;
+
+    // Run every body on its own thread, all released at once; rethrows the first failure
+    private static void runConcurrently(List<Runnable> bodies) throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        List<Thread> threads = new ArrayList<>();
+        for (Runnable body : bodies) {
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                    body.run();
+                } catch (Throwable e) {
+                    failure.compareAndSet(null, e);
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        if (failure.get() != null) {
+            throw new AssertionError(failure.get());
+        }
+    }
+
+    public void testSequentialBehaviourMatchesAdjacencyLists() {
+        ConcurrentGraphAdjList undirected = new ConcurrentGraphAdjList(5, true, 3);
+        assertEquals(4, undirected.getStripeCount());
+        undirected.addEdge(0, 1);
+        undirected.addEdge(1, 4, 7);
+        assertTrue(undirected.hasEdge(1, 0));
+        assertEquals(7.0, undirected.getWeight(4, 1), 0.0);
+        assertEquals(2, undirected.degree(1));
+        undirected.removeVertex(0);
+        assertEquals(4, undirected.getVertexCount());
+        assertTrue(undirected.hasEdge(0, 3));
+        assertEquals(1, undirected.degree(0));
+
+        ConcurrentGraphAdjList directed = new ConcurrentGraphAdjList(3, false);
+        long version = directed.getVersion();
+        directed.addEdge(0, 2, 5);
+        assertTrue(directed.getVersion() != version);
+        assertFalse(directed.hasEdge(2, 0));
+        assertEquals(Double.POSITIVE_INFINITY, directed.getWeight(2, 0), 0.0);
+        directed.addVertex();
+        directed.addEdge(3, 0);
+        assertEquals(1, directed.toCsr().degree(3));
+        directed.removeEdge(0, 2);
+        assertFalse(directed.hasEdge(0, 2));
+        assertFalse(directed.hasEdge(7, 0));
+    }
+
+    public void testConcurrentWritersLoseNoEdges() throws InterruptedException {
+        int n = 2000;
+        int perThread = 5000;
+        ConcurrentGraphAdjList graph = new ConcurrentGraphAdjList(n, true, 16);
+        UnweightedGraphAdjList expected = new UnweightedGraphAdjList(n);
+        List<Runnable> writers = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            Random random = new Random(t);
+            int[][] edges = new int[perThread][];
+            for (int i = 0; i < perThread; i++) {
+                edges[i] = new int[]{random.nextInt(n), random.nextInt(n)};
+                expected.addEdge(edges[i][0], edges[i][1]);
+            }
+            writers.add(() -> {
+                for (int[] e : edges) {
+                    graph.addEdge(e[0], e[1]);
+                }
+            });
+        }
+        runConcurrently(writers);
+
+        for (int v = 0; v < n; v++) {
+            assertEquals(expected.degree(v), graph.degree(v));
+            final int source = v;
+            expected.forEachNeighbor(v, w -> assertTrue(graph.hasEdge(source, w)));
+        }
+    }
+
+    // Readers run against writers and vertex churn; every answer must be one a sequential graph could give
+    public void testReadersDuringWritesAndVertexChurn() throws InterruptedException {
+        int n = 500;
+        ConcurrentGraphAdjList graph = new ConcurrentGraphAdjList(n, false, 8);
+        // The ring i -> i + 1 is never touched, so readers can check it throughout
+        for (int v = 0; v + 1 < n; v++) {
+            graph.addEdge(v, v + 1, 1);
+        }
+        AtomicBoolean done = new AtomicBoolean();
+        List<Runnable> bodies = new ArrayList<>();
+        for (int t = 0; t < THREADS / 2; t++) {
+            Random random = new Random(100 + t);
+            bodies.add(() -> {
+                for (int i = 0; i < 20000; i++) {
+                    int u = random.nextInt(n);
+                    int w = random.nextInt(n);
+                    if (w != u + 1) {
+                        if (random.nextBoolean()) {
+                            graph.addEdge(u, w, 2);
+                        } else {
+                            graph.removeEdge(u, w);
+                        }
+                    }
+                }
+            });
+        }
+        bodies.add(() -> {
+            for (int i = 0; i < 200; i++) {
+                graph.addVertex();
+                graph.removeVertex(graph.getVertexCount() - 1);
+            }
+        });
+        for (int t = 0; t < THREADS / 2; t++) {
+            Random random = new Random(200 + t);
+            bodies.add(() -> {
+                while (!done.get()) {
+                    int u = random.nextInt(n - 1);
+                    assertTrue(graph.hasEdge(u, u + 1));
+                    assertEquals(1.0, graph.getWeight(u, u + 1), 0.0);
+                    assertTrue(graph.degree(u) >= 1);
+                    int[] count = new int[1];
+                    graph.forEachNeighbor(u, w -> count[0]++);
+                    assertTrue(count[0] >= 1);
+                }
+            });
+        }
+        // The last writer flips the flag so readers stop once the churn is over
+        Runnable churn = bodies.get(THREADS / 2);
+        bodies.set(THREADS / 2, () -> {
+            churn.run();
+            done.set(true);
+        });
+        runConcurrently(bodies);
+
+        assertEquals(n, graph.getVertexCount());
+        CsrGraph csr = graph.toCsr();
+        for (int v = 0; v < n; v++) {
+            assertEquals(graph.degree(v), csr.degree(v));
+        }
+    }
+
+    // A writer keeps moving one set between sorted and hashed form and through rehashes
+    public void testLookupsWhileTheSetChangesForm() throws InterruptedException {
+        ConcurrentGraphAdjList graph = new ConcurrentGraphAdjList(300, false, 1);
+        // Vertex 0 always keeps these neighbours, whatever form its set is in
+        for (int w = 1; w <= 8; w++) {
+            graph.addEdge(0, w, w);
+        }
+        AtomicBoolean done = new AtomicBoolean();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread reader = new Thread(() -> {
+            try {
+                Random random = new Random(5);
+                while (!done.get()) {
+                    int w = 1 + random.nextInt(8);
+                    assertTrue(graph.hasEdge(0, w));
+                    assertEquals((double) w, graph.getWeight(0, w), 0.0);
+                    graph.hasEdge(0, 9 + random.nextInt(291));
+                }
+            } catch (Throwable e) {
+                failure.compareAndSet(null, e);
+            }
+        });
+        reader.setDaemon(true);
+        reader.start();
+        for (int round = 0; round < 300; round++) {
+            // Past HASH_THRESHOLD the set is hashed and grows through several rehashes
+            for (int w = 9; w < 300; w++) {
+                graph.addEdge(0, w, 1);
+            }
+            // Below HASH_THRESHOLD / 2 it turns back into a sorted array
+            for (int w = 9; w < 300; w++) {
+                graph.removeEdge(0, w);
+            }
+        }
+        done.set(true);
+        reader.join(10000);
+        assertFalse("reader did not finish", reader.isAlive());
+        if (failure.get() != null) {
+            throw new AssertionError(failure.get());
+        }
+    }
+}
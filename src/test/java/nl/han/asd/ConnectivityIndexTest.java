@@ -0,0 +1,150 @@
+package nl.han.asd;
+
+import junit.framework.TestCase;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+public class ConnectivityIndexTest extends TestCase {
+
+    private final ForkJoinPool pool = new ForkJoinPool(4);
+
+    @Override
+    protected void tearDown() {
+        pool.shutdown();
+    }
+
+    // Component labels by plain BFS; tombstoned vertices get -1
+    private static int[] referenceLabels(UnweightedGraphAdjList graph) {
+        int[] labels = new int[graph.getVertexCount()];
+        Arrays.fill(labels, -1);
+        for (int s = 0; s < labels.length; s++) {
+            if (labels[s] >= 0 || graph.isRemoved(s)) {
+                continue;
+            }
+            labels[s] = s;
+            ArrayDeque<Integer> queue = new ArrayDeque<>();
+            queue.add(s);
+            while (!queue.isEmpty()) {
+                int u = queue.poll();
+                final int label = s;
+                graph.forEachNeighbor(u, v -> {
+                    if (labels[v] < 0) {
+                        labels[v] = label;
+                        queue.add(v);
+                    }
+                });
+            }
+        }
+        return labels;
+    }
+
+    private static void assertMatchesReference(UnweightedGraphAdjList graph, ConnectivityIndex index) {
+        int[] labels = referenceLabels(graph);
+        int components = 0;
+        for (int v = 0; v < labels.length; v++) {
+            if (labels[v] == v) {
+                components++;
+            }
+        }
+        assertEquals(components, index.getComponentCount());
+        Random random = new Random(labels.length);
+        for (int i = 0; i < 2000; i++) {
+            int u = random.nextInt(labels.length);
+            int v = random.nextInt(labels.length);
+            if (labels[u] >= 0 && labels[v] >= 0) {
+                assertEquals(labels[u] == labels[v], index.isConnected(u, v));
+            }
+        }
+    }
+
+    public void testIncrementalUnionsNeedNoRebuild() {
+        UnweightedGraphAdjList graph = new UnweightedGraphAdjList(6);
+        ConnectivityIndex index = graph.enableConnectivityIndex();
+        assertEquals(6, index.getComponentCount());
+        assertEquals(1, index.getRebuildCount());
+
+        graph.addEdge(0, 1);
+        graph.addEdge(2, 3);
+        graph.addEdges(new int[]{1, 4}, new int[]{2, 4});
+        graph.addVertex();
+        graph.addEdge(6, 5);
+        assertTrue(index.isConnected(0, 3));
+        assertFalse(index.isConnected(0, 4));
+        assertTrue(index.isConnected(5, 6));
+        assertEquals(3, index.getComponentCount());
+        assertEquals(1, index.getRebuildCount());
+    }
+
+    public void testRemovalsAreRebuiltOnceOnNextQuery() {
+        UnweightedGraphAdjList graph = new UnweightedGraphAdjList(5);
+        ConnectivityIndex index = graph.enableConnectivityIndex();
+        for (int v = 0; v + 1 < 5; v++) {
+            graph.addEdge(v, v + 1);
+        }
+        assertEquals(1, index.getComponentCount());
+        graph.removeEdge(1, 2);
+        graph.removeEdge(3, 4);
+        graph.removeEdge(3, 4);
+        assertTrue(index.isStale());
+        assertFalse(index.isConnected(0, 4));
+        assertEquals(3, index.getComponentCount());
+        assertEquals(2, index.getRebuildCount());
+
+        graph.removeVertex(0);
+        assertEquals(4, graph.getVertexCount());
+        assertTrue(index.isConnected(1, 2));
+        assertEquals(3, index.getRebuildCount());
+    }
+
+    public void testTombstonedVerticesAreNotComponents() {
+        UnweightedGraphAdjList graph = new UnweightedGraphAdjList(4);
+        graph.setTombstoneMode(true);
+        graph.addEdge(0, 1);
+        graph.addEdge(1, 2);
+        ConnectivityIndex index = graph.enableConnectivityIndex();
+        graph.removeVertex(1);
+        assertEquals(3, index.getComponentCount());
+        assertFalse(index.isConnected(0, 2));
+        try {
+            index.isConnected(1, 0);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException expected) {
+            // Tombstoned vertex
+        }
+    }
+
+    public void testRandomMutationsMatchBfs() {
+        int n = 400;
+        UnweightedGraphAdjList graph = new UnweightedGraphAdjList(n);
+        ConnectivityIndex index = graph.enableConnectivityIndex();
+        Random random = new Random(19);
+        for (int round = 0; round < 10; round++) {
+            for (int i = 0; i < 60; i++) {
+                graph.addEdge(random.nextInt(graph.getVertexCount()), random.nextInt(graph.getVertexCount()));
+            }
+            if (round % 3 == 2) {
+                graph.removeVertex(random.nextInt(graph.getVertexCount()));
+                graph.removeEdge(random.nextInt(graph.getVertexCount()), random.nextInt(graph.getVertexCount()));
+            }
+            assertMatchesReference(graph, index);
+        }
+    }
+
+    public void testParallelRebuildMatchesBfs() {
+        int n = 20000;
+        UnweightedGraphAdjList graph = new UnweightedGraphAdjList(n);
+        Random random = new Random(23);
+        // Below the percolation threshold, so there are many components of varied size
+        for (int i = 0; i < n * 9 / 20; i++) {
+            graph.addEdge(random.nextInt(n), random.nextInt(n));
+        }
+        ConnectivityIndex index = graph.enableConnectivityIndex(pool, 1);
+        assertMatchesReference(graph, index);
+        graph.removeEdge(0, 1);
+        graph.addEdge(5, 6);
+        assertMatchesReference(graph, index);
+    }
+}
@@ -0,0 +1,54 @@
+package nl.han.asd;
+
+import junit.framework.TestCase;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class CsrGraphTest extends TestCase {
+
+    public void testFromUnweightedAdjList() {
+        UnweightedGraphAdjList list = new UnweightedGraphAdjList(5);
+        list.addEdge(0, 3);
+        list.addEdge(0, 1);
+        list.addEdge(2, 4);
+
+        CsrGraph csr = CsrGraph.fromAdjList(list);
+        assertEquals(5, csr.getVertexCount());
+        assertEquals(6, csr.getEdgeCount());
+        assertFalse(csr.isWeighted());
+        assertEquals(2, csr.degree(0));
+        assertTrue(csr.hasEdge(0, 3));
+        assertTrue(csr.hasEdge(3, 0));
+        assertFalse(csr.hasEdge(0, 2));
+        assertFalse(csr.hasEdge(0, 7));
+
+        // Rows are sorted regardless of insertion order
+        final List<Integer> neighbours = new ArrayList<>();
+        csr.forEachNeighbor(0, neighbours::add);
+        assertEquals(Arrays.asList(1, 3), neighbours);
+    }
+
+    public void testFromWeightedAdjListKeepsWeightsWithTargets() {
+        WeightedGraphAdjList list = new WeightedGraphAdjList(4);
+        list.addEdge(0, 3, 30);
+        list.addEdge(0, 1, 10);
+        list.addEdge(0, 2, 20);
+
+        CsrGraph csr = list.toCsr();
+        assertTrue(csr.isWeighted());
+        assertEquals(3, csr.getEdgeCount());
+        assertEquals(10.0, csr.getWeight(0, 1), 0.0);
+        assertEquals(20.0, csr.getWeight(0, 2), 0.0);
+        assertEquals(30.0, csr.getWeight(0, 3), 0.0);
+        assertFalse(csr.hasEdge(1, 0));
+        assertEquals(Double.POSITIVE_INFINITY, csr.getWeight(1, 0), 0.0);
+
+        int previous = -1;
+        for (int i = csr.getRowStart(0); i < csr.getRowEnd(0); i++) {
+            assertTrue(csr.getTargetAt(i) > previous);
+            previous = csr.getTargetAt(i);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package nl.han.asd;
+
+import junit.framework.TestCase;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+public class DeltaSteppingTest extends TestCase {
+
+    private final ForkJoinPool pool = new ForkJoinPool(4);
+
+    @Override
+    protected void tearDown() {
+        pool.shutdown();
+    }
+
+    // Grid with random weights, roughly what a road network looks like
+    private static WeightedGraphAdjList grid(int side, int maxWeight, long seed) {
+        WeightedGraphAdjList graph = new WeightedGraphAdjList(side * side);
+        Random random = new Random(seed);
+        for (int r = 0; r < side; r++) {
+            for (int c = 0; c < side; c++) {
+                int v = r * side + c;
+                if (c + 1 < side) {
+                    int weight = random.nextInt(maxWeight + 1);
+                    graph.addEdge(v, v + 1, weight);
+                    graph.addEdge(v + 1, v, weight);
+                }
+                if (r + 1 < side) {
+                    int weight = random.nextInt(maxWeight + 1);
+                    graph.addEdge(v, v + side, weight);
+                    graph.addEdge(v + side, v, weight);
+                }
+            }
+        }
+        return graph;
+    }
+
+    private static void assertMatchesDijkstra(CsrGraph graph, Dijkstra.Result result, int source) {
+        Dijkstra.Result expected = Dijkstra.singleSource(graph, source);
+        for (int v = 0; v < graph.getVertexCount(); v++) {
+            assertEquals(expected.getDistance(v), result.getDistance(v), 0.0);
+            if (result.isReachable(v) && v != source) {
+                int parent = result.getParents()[v];
+                assertEquals(result.getDistance(v), result.getDistance(parent) + graph.getWeight(parent, v), 0.0);
+            }
+        }
+        assertEquals(Dijkstra.NO_PARENT, result.getParents()[source]);
+    }
+
+    public void testMatchesDijkstraForSeveralDeltas() {
+        CsrGraph graph = grid(60, 100, 1).toCsr();
+        for (double delta : new double[]{0, 1, 10, 250}) {
+            DeltaStepping search = new DeltaStepping(pool, delta, 0);
+            assertMatchesDijkstra(graph, search.search(graph, 0), 0);
+            assertMatchesDijkstra(graph, search.search(graph, 1234), 1234);
+        }
+    }
+
+    /**
+     * Buckets far smaller than most weights, weights over six orders of magnitude and
+     * one outlier edge: the buckets in use are sparse and vertices often move down.
+     */
+    public void testTinyDeltaWithOutlierWeight() {
+        int n = 3000;
+        Random random = new Random(13);
+        int[] offsets = new int[n + 1];
+        int[] targets = new int[n * 6];
+        double[] weights = new double[targets.length];
+        for (int v = 0; v < n; v++) {
+            offsets[v + 1] = offsets[v] + 6;
+            // Distinct targets per row (one per residue mod 6), so every edge has a unique weight
+            for (int i = offsets[v], k = 0; i < offsets[v + 1]; i++, k++) {
+                targets[i] = (v + 1 + k + 6 * random.nextInt(n / 6 - 1)) % n;
+                weights[i] = Math.pow(10, random.nextDouble() * 6);
+            }
+        }
+        weights[7] = 1e12;
+        CsrGraph graph = new CsrGraph(offsets, targets, weights);
+        for (double delta : new double[]{0.001, 0}) {
+            DeltaStepping search = new DeltaStepping(pool, delta, 0);
+            assertMatchesDijkstra(graph, search.search(graph, 0), 0);
+            assertMatchesDijkstra(graph, search.search(graph, 77), 77);
+        }
+    }
+
+    public void testZeroWeightsAndUnreachableVertices() {
+        WeightedGraphAdjList list = grid(30, 2, 4);
+        list.addVertex();
+        CsrGraph graph = list.toCsr();
+        Dijkstra.Result result = new DeltaStepping(pool, 1, 0).search(list, 17);
+        assertMatchesDijkstra(graph, result, 17);
+        assertFalse(result.isReachable(900));
+        // Parents must form a tree back to the source
+        for (int v = 0; v < 900; v++) {
+            assertEquals(17, result.pathTo(v)[0]);
+        }
+    }
+
+    public void testSmallGraphsFallBackToDijkstra() {
+        WeightedGraphAdjList graph = grid(5, 9, 2);
+        Dijkstra.Result result = new DeltaStepping().search(graph, 0);
+        assertMatchesDijkstra(graph.toCsr(), result, 0);
+    }
+
+    public void testReusesCsrUntilTheListChanges() {
+        WeightedGraphAdjList graph = grid(30, 2, 4);
+        DeltaStepping search = new DeltaStepping(pool, 1, 0);
+        CsrGraph first = search.csrOf(graph);
+        assertMatchesDijkstra(first, search.search(graph, 0), 0);
+        assertSame(first, search.csrOf(graph));
+
+        graph.addEdge(0, 899, 1);
+        assertNotSame(first, search.csrOf(graph));
+        assertTrue(search.csrOf(graph).hasEdge(0, 899));
+        assertMatchesDijkstra(graph.toCsr(), search.search(graph, 0), 0);
+        assertNotSame(search.csrOf(graph), search.csrOf(grid(30, 2, 4)));
+    }
+}
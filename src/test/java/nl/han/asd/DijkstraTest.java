@@ -0,0 +1,116 @@
+package nl.han.asd;
+
+import junit.framework.TestCase;
+
+import java.util.Arrays;
+import java.util.Random;
+
+public class DijkstraTest extends TestCase {
+
+    private static final int VERTICES = 300;
+
+    private static WeightedGraphAdjList randomGraph(long seed) {
+        WeightedGraphAdjList graph = new WeightedGraphAdjList(VERTICES);
+        Random random = new Random(seed);
+        for (int i = 0; i < 4 * VERTICES; i++) {
+            graph.addEdge(random.nextInt(VERTICES), random.nextInt(VERTICES), 1 + random.nextInt(20));
+        }
+        return graph;
+    }
+
+    // Bellman-Ford as an independent reference
+    private static double[] reference(WeightedAdjacencyGraph graph, int source) {
+        double[] distances = new double[graph.getVertexCount()];
+        Arrays.fill(distances, Double.POSITIVE_INFINITY);
+        distances[source] = 0;
+        for (int round = 0; round < graph.getVertexCount(); round++) {
+            boolean changed = false;
+            for (int u = 0; u < graph.getVertexCount(); u++) {
+                for (int v = 0; v < graph.getVertexCount(); v++) {
+                    double candidate = distances[u] + graph.getWeight(u, v);
+                    if (candidate < distances[v]) {
+                        distances[v] = candidate;
+                        changed = true;
+                    }
+                }
+            }
+            if (!changed) {
+                break;
+            }
+        }
+        return distances;
+    }
+
+    private static double pathLength(WeightedAdjacencyGraph graph, int[] path) {
+        double length = 0;
+        for (int i = 1; i < path.length; i++) {
+            assertTrue(graph.hasEdge(path[i - 1], path[i]));
+            length += graph.getWeight(path[i - 1], path[i]);
+        }
+        return length;
+    }
+
+    public void testSingleSourceMatchesReferenceOnListAndMatrix() {
+        WeightedGraphAdjList list = randomGraph(3);
+        WeightedGraphMatrix matrix = WeightedGraphMatrix.fromAdjList(list);
+        double[] expected = reference(list, 0);
+
+        Dijkstra.Result fromList = Dijkstra.singleSource(list, 0);
+        Dijkstra.Result fromMatrix = Dijkstra.singleSource(matrix, 0);
+        for (int v = 0; v < VERTICES; v++) {
+            assertEquals(expected[v], fromList.getDistance(v), 0.0);
+            assertEquals(expected[v], fromMatrix.getDistance(v), 0.0);
+            if (fromList.isReachable(v)) {
+                assertEquals(expected[v], pathLength(list, fromList.pathTo(v)), 0.0);
+            }
+        }
+    }
+
+    public void testPointToPointAndBidirectionalAgree() {
+        WeightedGraphAdjList list = randomGraph(5);
+        CsrGraph csr = list.toCsr();
+        CsrGraph reverse = csr.transpose();
+        Random random = new Random(9);
+        for (int i = 0; i < 200; i++) {
+            int source = random.nextInt(VERTICES);
+            int target = random.nextInt(VERTICES);
+            double expected = Dijkstra.singleSource(list, source).getDistance(target);
+            assertEquals(expected, Dijkstra.distance(list, source, target), 0.0);
+            assertEquals(expected, Dijkstra.bidirectionalDistance(csr, reverse, source, target), 0.0);
+
+            int[] path = Dijkstra.bidirectionalPath(csr, reverse, source, target);
+            int[] forwardPath = Dijkstra.shortestPath(list, source, target);
+            if (expected == Double.POSITIVE_INFINITY) {
+                assertEquals(0, path.length);
+                assertEquals(0, forwardPath.length);
+            } else {
+                assertEquals(source, path[0]);
+                assertEquals(target, path[path.length - 1]);
+                assertEquals(expected, pathLength(csr, path), 0.0);
+                assertEquals(expected, pathLength(list, forwardPath), 0.0);
+            }
+        }
+    }
+
+    public void testTransposeReversesEveryEdge() {
+        CsrGraph csr = randomGraph(7).toCsr();
+        CsrGraph reverse = csr.transpose();
+        assertEquals(csr.getEdgeCount(), reverse.getEdgeCount());
+        for (int u = 0; u < VERTICES; u++) {
+            for (int v = 0; v < VERTICES; v++) {
+                assertEquals(csr.getWeight(u, v), reverse.getWeight(v, u), 0.0);
+            }
+        }
+    }
+
+    public void testNegativeWeightIsRejected() {
+        WeightedGraphMatrix graph = new WeightedGraphMatrix(2);
+        graph.addEdge(0, 1, -1);
+        try {
+            Dijkstra.singleSource(graph, 0);
+            fail();
+        } catch (IllegalArgumentException expected) {
+            // expected
+        }
+    }
+}
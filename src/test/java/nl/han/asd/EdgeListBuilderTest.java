@@ -0,0 +1,160 @@
+package nl.han.asd;
+
+import junit.framework.TestCase;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+public class EdgeListBuilderTest extends TestCase {
+
+    private static final int VERTICES = 300;
+    private static final int EDGES = 5000;
+
+    private int[] src;
+    private int[] dest;
+    private int[] weights;
+
+    @Override
+    protected void setUp() {
+        GraphFixtures.RandomEdges edges = new GraphFixtures.RandomEdges(21, EDGES, 0, VERTICES, VERTICES / 3, 50);
+        src = edges.sources;
+        dest = edges.targets;
+        weights = edges.weights;
+    }
+
+    private WeightedGraphAdjList referenceWeighted(boolean symmetric) {
+        WeightedGraphAdjList graph = new WeightedGraphAdjList(VERTICES);
+        for (int i = 0; i < EDGES; i++) {
+            graph.addEdge(src[i], dest[i], weights[i]);
+            if (symmetric) {
+                graph.addEdge(dest[i], src[i], weights[i]);
+            }
+        }
+        return graph;
+    }
+
+    private void checkAllForms(EdgeListBuilder builder) {
+        EdgeList edges = new EdgeList(src, dest, weights);
+
+        UnweightedGraphAdjList expected = new UnweightedGraphAdjList(VERTICES);
+        for (int i = 0; i < EDGES; i++) {
+            expected.addEdge(src[i], dest[i]);
+        }
+        UnweightedGraphAdjList unweighted = builder.buildUnweightedAdjList(edges, VERTICES);
+        for (int v = 0; v < VERTICES; v++) {
+            assertEquals(GraphFixtures.neighbors(expected, v), GraphFixtures.neighbors(unweighted, v));
+        }
+
+        GraphFixtures.assertSameGraph(referenceWeighted(false), builder.buildWeightedAdjList(edges, VERTICES, false));
+        GraphFixtures.assertSameGraph(referenceWeighted(false), builder.buildCsr(edges, VERTICES, false));
+        CsrGraph symmetric = builder.buildCsr(edges, VERTICES, true);
+        for (int v = 0; v < VERTICES; v++) {
+            assertEquals(GraphFixtures.neighbors(expected, v), GraphFixtures.neighbors(symmetric, v));
+        }
+    }
+
+    public void testMatchesAddEdge() {
+        checkAllForms(new EdgeListBuilder());
+    }
+
+    public void testParallelMatchesAddEdge() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            checkAllForms(new EdgeListBuilder(pool, 1));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    public void testFirstDuplicateKeepsItsWeight() {
+        EdgeList edges = new EdgeList(new int[]{0, 0, 1, 0}, new int[]{1, 1, 0, 2}, new int[]{5, 7, 9, 3});
+        CsrGraph directed = new EdgeListBuilder().buildCsr(edges, 3, false);
+        assertEquals(3, directed.getEdgeCount());
+        assertEquals(5.0, directed.getWeight(0, 1));
+        assertEquals(9.0, directed.getWeight(1, 0));
+
+        WeightedGraphAdjList symmetric = new EdgeListBuilder().buildWeightedAdjList(edges, 3, true);
+        assertEquals(5.0, symmetric.getWeight(1, 0));
+        assertEquals(3.0, symmetric.getWeight(2, 0));
+    }
+
+    public void testUnweightedListGetsUnitWeights() {
+        EdgeList edges = new EdgeList(new int[]{0, 1}, new int[]{1, 2}, null);
+        assertFalse(new EdgeListBuilder().buildCsr(edges, 3, false).isWeighted());
+        assertEquals(1.0, new EdgeListBuilder().buildWeightedAdjList(edges, 3, false).getWeight(0, 1));
+    }
+
+    public void testInfersVertexCount() {
+        EdgeList edges = new EdgeList(new int[]{0, 4}, new int[]{2, 1}, null);
+        UnweightedGraphAdjList graph = new EdgeListBuilder().buildUnweightedAdjList(edges, -1);
+        assertEquals(5, graph.getVertexCount());
+        assertTrue(graph.hasEdge(1, 4));
+        assertEquals(0, graph.degree(3));
+    }
+
+    public void testRejectsEndpointOutOfRange() {
+        EdgeList edges = new EdgeList(new int[]{0, 3}, new int[]{1, 1}, null);
+        try {
+            new EdgeListBuilder().buildCsr(edges, 3, false);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException expected) {
+            // Expected
+        }
+        try {
+            new EdgeList(new int[]{0}, new int[0], null);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException expected) {
+            // Expected
+        }
+    }
+
+    public void testPrefixSums() {
+        int[] counts = new int[100000];
+        Arrays.fill(counts, 3);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            int[] offsets = new EdgeListBuilder(pool, 1).prefixSums(counts);
+            for (int v = 0; v <= counts.length; v++) {
+                assertEquals(3 * v, offsets[v]);
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    public void testJsonMatchesDataset() {
+        List<List<Double>> json = new ArrayList<>();
+        json.add(Arrays.asList(0.0, 1.0, 99.0));
+        json.add(Arrays.asList(1.0, 2.0, 50.0));
+        EdgeList edges = EdgeList.fromJson(json, true);
+        assertEquals(2, edges.size());
+        assertTrue(Arrays.equals(new int[]{99, 50}, edges.getWeights()));
+        WeightedGraphAdjList graph = new EdgeListBuilder().buildWeightedAdjList(edges, -1, false);
+        assertEquals(99.0, graph.getWeight(0, 1));
+        assertFalse(graph.hasEdge(1, 0));
+    }
+
+    public void testBinaryRoundTrip() throws Exception {
+        Path file = File.createTempFile("edges", ".bin").toPath();
+        try {
+            new EdgeList(src, dest, weights).writeBinary(file);
+            assertEquals(12L * EDGES, Files.size(file));
+            EdgeList read = EdgeList.readBinary(file, true);
+            assertTrue(Arrays.equals(src, read.getSources()));
+            assertTrue(Arrays.equals(dest, read.getTargets()));
+            assertTrue(Arrays.equals(weights, read.getWeights()));
+
+            new EdgeList(src, dest, null).writeBinary(file);
+            EdgeList unweighted = EdgeList.readBinary(file, false);
+            assertNull(unweighted.getWeights());
+            assertTrue(Arrays.equals(dest, unweighted.getTargets()));
+        } finally {
+            Files.delete(file);
+        }
+    }
+}
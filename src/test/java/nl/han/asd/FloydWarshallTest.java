@@ -0,0 +1,55 @@
+package nl.han.asd;
+
+import junit.framework.TestCase;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+public class FloydWarshallTest extends TestCase {
+
+    private final ForkJoinPool pool = new ForkJoinPool(4);
+
+    @Override
+    protected void tearDown() {
+        pool.shutdown();
+    }
+
+    // 150 is not a multiple of the tile size, so the padding is exercised too
+    private static WeightedGraphMatrix randomGraph(int n, long seed) {
+        WeightedGraphMatrix graph = new WeightedGraphMatrix(n);
+        Random random = new Random(seed);
+        for (int i = 0; i < 3 * n; i++) {
+            graph.addEdge(random.nextInt(n), random.nextInt(n), 1 + random.nextInt(50));
+        }
+        return graph;
+    }
+
+    public void testMatchesDijkstraFromEverySource() {
+        WeightedGraphMatrix graph = randomGraph(150, 3);
+        FloydWarshall.Result result = new FloydWarshall(pool).solve(graph);
+        FloydWarshall.Result floats = new FloydWarshall(pool).solveFloat(graph);
+        assertNull(floats.getDistances());
+        for (int s = 0; s < 150; s++) {
+            Dijkstra.Result expected = Dijkstra.singleSource(graph, s);
+            for (int t = 0; t < 150; t++) {
+                assertEquals(expected.getDistance(t), result.getDistance(s, t), 0.0);
+                assertEquals(expected.getDistance(t), floats.getDistance(s, t), 0.0);
+                assertEquals(result.getDistance(s, t), result.getDistances()[s * 150 + t], 0.0);
+            }
+        }
+        assertFalse(result.hasNegativeCycle());
+    }
+
+    public void testNegativeEdgesAndCycles() {
+        WeightedGraphMatrix graph = new WeightedGraphMatrix(3);
+        graph.addEdge(0, 1, 4);
+        graph.addEdge(1, 2, -3);
+        graph.addEdge(0, 2, 2);
+        FloydWarshall.Result result = new FloydWarshall(pool).solve(graph);
+        assertEquals(1.0, result.getDistance(0, 2), 0.0);
+        assertFalse(result.hasNegativeCycle());
+
+        graph.addEdge(2, 0, -2);
+        assertTrue(new FloydWarshall(pool).solve(graph).hasNegativeCycle());
+    }
+}
@@ -0,0 +1,78 @@
+package nl.han.asd;
+
+import junit.framework.Assert;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Helpers shared by the tests that compare two ways of building the same graph.
+ */
+final class GraphFixtures {
+
+    private GraphFixtures() {
+    }
+
+    // Neighbours of vertex in ascending order, whatever order the representation iterates in
+    static List<Integer> neighbors(AdjacencyGraph graph, int vertex) {
+        List<Integer> result = new ArrayList<>();
+        graph.forEachNeighbor(vertex, result::add);
+        Collections.sort(result);
+        return result;
+    }
+
+    static void assertSameGraph(AdjacencyGraph expected, AdjacencyGraph actual) {
+        Assert.assertEquals(expected.getVertexCount(), actual.getVertexCount());
+        for (int v = 0; v < expected.getVertexCount(); v++) {
+            Assert.assertEquals(neighbors(expected, v), neighbors(actual, v));
+        }
+    }
+
+    static void assertSameGraph(WeightedAdjacencyGraph expected, WeightedAdjacencyGraph actual) {
+        assertSameGraph((AdjacencyGraph) expected, actual);
+        for (int v = 0; v < expected.getVertexCount(); v++) {
+            for (int w : neighbors(expected, v)) {
+                Assert.assertEquals(expected.getWeight(v, w), actual.getWeight(v, w), 0.0);
+            }
+        }
+    }
+
+    /**
+     * Seeded random edges. Targets come from a smaller range than sources, so the
+     * list holds duplicates and reversed duplicates; sources outside the graph
+     * can be included by passing a range wider than the vertex count.
+     */
+    static final class RandomEdges {
+        final int[] sources;
+        final int[] targets;
+        final int[] weights;
+        final double[] doubleWeights;
+
+        // Sources in [minSource, sourceBound), targets in [0, targetBound), weights in [1, maxWeight]
+        RandomEdges(long seed, int count, int minSource, int sourceBound, int targetBound, int maxWeight) {
+            sources = new int[count];
+            targets = new int[count];
+            weights = new int[count];
+            doubleWeights = new double[count];
+            Random random = new Random(seed);
+            for (int i = 0; i < count; i++) {
+                sources[i] = minSource + random.nextInt(sourceBound - minSource);
+                targets[i] = random.nextInt(targetBound);
+                weights[i] = 1 + random.nextInt(maxWeight);
+                doubleWeights[i] = weights[i];
+            }
+        }
+
+        int countSourcesOutside(int vertexCount) {
+            int count = 0;
+            for (int source : sources) {
+                if (source < 0 || source >= vertexCount) {
+                    count++;
+                }
+            }
+            return count;
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package nl.han.asd;
+
+import junit.framework.TestCase;
+
+import javax.management.Attribute;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+public class GraphMetricsTest extends TestCase {
+
+    private final GraphMetrics metrics = GraphMetrics.get();
+
+    @Override
+    protected void setUp() {
+        metrics.reset();
+    }
+
+    @Override
+    protected void tearDown() {
+        metrics.setEnabled(false);
+        metrics.reset();
+    }
+
+    public void testNothingIsRecordedWhileDisabled() {
+        UnweightedGraphAdjList graph = new UnweightedGraphAdjList(3);
+        graph.addEdge(0, 1);
+        graph.hasEdge(0, 1);
+        assertEquals(0, metrics.getCount(GraphMetrics.Operation.ADD_EDGE));
+        assertEquals(0, metrics.getCount(GraphMetrics.Operation.HAS_EDGE));
+        assertEquals(0, metrics.getPercentileNanos(GraphMetrics.Operation.HAS_EDGE, 50));
+    }
+
+    public void testOperationsAreCountedAndTimed() {
+        metrics.setEnabled(true);
+        WeightedGraphMatrix matrix = new WeightedGraphMatrix(4);
+        matrix.addEdge(0, 1, 2.0);
+        matrix.addEdge(1, 2, 2.0);
+        matrix.addEdge(9, 2, 2.0);
+        matrix.removeEdge(0, 1);
+        matrix.addVertex();
+        matrix.removeVertex(4);
+        for (int i = 0; i < 10; i++) {
+            matrix.hasEdge(1, 2);
+        }
+        Dijkstra.singleSource(matrix, 0);
+        new FloydWarshall().solve(matrix);
+
+        // The invalid addEdge is not recorded
+        assertEquals(2, metrics.getCount(GraphMetrics.Operation.ADD_EDGE));
+        assertEquals(1, metrics.getCount(GraphMetrics.Operation.REMOVE_EDGE));
+        assertEquals(1, metrics.getCount(GraphMetrics.Operation.ADD_VERTEX));
+        assertEquals(1, metrics.getCount(GraphMetrics.Operation.REMOVE_VERTEX));
+        assertEquals(10, metrics.getCount(GraphMetrics.Operation.HAS_EDGE));
+        assertEquals(1, metrics.getCount(GraphMetrics.Operation.SHORTEST_PATH));
+        assertEquals(1, metrics.getCount(GraphMetrics.Operation.ALL_PAIRS));
+
+        long total = 0;
+        for (long count : metrics.getHistogram(GraphMetrics.Operation.HAS_EDGE)) {
+            total += count;
+        }
+        assertEquals(10, total);
+        long median = metrics.getPercentileNanos(GraphMetrics.Operation.HAS_EDGE, 50);
+        assertTrue(median <= metrics.getPercentileNanos(GraphMetrics.Operation.HAS_EDGE, 100));
+        assertTrue(metrics.getMeanNanos(GraphMetrics.Operation.ALL_PAIRS) > 0);
+    }
+
+    public void testListenerSeesEveryRecordedOperation() {
+        List<GraphMetrics.Operation> seen = new ArrayList<>();
+        GraphMetrics.Listener listener = (operation, source, nanos) -> seen.add(operation);
+        metrics.addListener(listener);
+        try {
+            metrics.setEnabled(true);
+            UnweightedGraphAdjList graph = new UnweightedGraphAdjList(2);
+            graph.addEdge(0, 1);
+            graph.removeEdge(0, 1);
+            new ParallelBfs().search(graph, 0);
+        } finally {
+            metrics.removeListener(listener);
+        }
+        assertEquals(3, seen.size());
+        assertEquals(GraphMetrics.Operation.ADD_EDGE, seen.get(0));
+        assertEquals(GraphMetrics.Operation.TRAVERSAL, seen.get(2));
+    }
+
+    public void testFootprintReflectsRepresentation() {
+        int n = 1000;
+        UnweightedGraphAdjList list = new UnweightedGraphAdjList(n);
+        UnweightedGraphMatrix bits = new UnweightedGraphMatrix(n);
+        WeightedGraphMatrix weighted = new WeightedGraphMatrix(n);
+        for (int v = 0; v + 1 < n; v++) {
+            list.addEdge(v, v + 1);
+            bits.addEdge(v, v + 1);
+            weighted.addEdge(v, v + 1, 1.0);
+        }
+        MemoryFootprint listFootprint = MemoryFootprint.of(list);
+        MemoryFootprint weightedFootprint = MemoryFootprint.of(weighted);
+        assertEquals(2 * (n - 1), listFootprint.getArcCount());
+        // A sparse path is far cheaper as lists than as an n x n matrix of doubles
+        assertTrue(listFootprint.getBytes() < MemoryFootprint.of(bits).getBytes());
+        assertTrue(MemoryFootprint.of(bits).getBytes() < weightedFootprint.getBytes());
+        assertTrue(weightedFootprint.getBytes() >= 8L * n * n);
+        assertTrue(MemoryFootprint.of(list.toCsr()).getBytesPerEdge() < listFootprint.getBytesPerEdge());
+    }
+
+    public void testMBeanExposesCountsAndWatchedGraphs() throws Exception {
+        GraphMetrics.registerMBean();
+        GraphMetrics.registerMBean();
+        UnweightedGraphAdjList graph = new UnweightedGraphAdjList(10);
+        metrics.watch("sample", graph);
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName(GraphMetrics.OBJECT_NAME);
+
+        server.setAttribute(name, new Attribute("Enabled", true));
+        graph.addVertex();
+        assertTrue(metrics.isEnabled());
+        assertEquals(1, metrics.getOperationCounts().get("ADD_VERTEX").longValue());
+        assertNotNull(server.getAttribute(name, "OperationCounts"));
+        assertTrue(metrics.getFootprintBytes().get("sample") > 0);
+        assertNotNull(server.getAttribute(name, "FootprintBytes"));
+        metrics.unwatch("sample");
+        assertFalse(metrics.getFootprintBytes().containsKey("sample"));
+    }
+
+    public void testFootprintIsMeasuredOnWatchAndRefresh() {
+        UnweightedGraphAdjList graph = new UnweightedGraphAdjList(100);
+        metrics.watch("growing", graph);
+        long watched = metrics.getFootprintBytes().get("growing");
+        for (int v = 1; v < 100; v++) {
+            graph.addEdge(0, v);
+        }
+        // The JMX view does not walk the graph, so it still reports the old estimate
+        assertEquals(watched, metrics.getFootprintBytes().get("growing").longValue());
+
+        metrics.refreshFootprint("growing");
+        assertEquals(MemoryFootprint.of(graph).getBytes(), metrics.getFootprintBytes().get("growing").longValue());
+        assertTrue(metrics.getFootprintBytes().get("growing") > watched);
+        metrics.refreshFootprint("unknown");
+        metrics.unwatch("growing");
+    }
+}
@@ -0,0 +1,69 @@
+package nl.han.asd;
+
+import junit.framework.TestCase;
+
+import java.util.Random;
+import java.util.TreeMap;
+
+public class NeighborSetTest extends TestCase {
+
+    public void testSwitchesToHashTableAndBack() {
+        NeighborSet set = new NeighborSet(false);
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(set.add(i * 3));
+        }
+        assertFalse(set.add(30));
+        assertTrue(set.isHashed());
+        assertEquals(1000, set.size());
+        assertTrue(set.contains(2997));
+        assertFalse(set.contains(2998));
+
+        for (int i = 0; i < 990; i++) {
+            assertTrue(set.remove(i * 3));
+        }
+        assertFalse(set.isHashed());
+        assertEquals(10, set.size());
+        assertTrue(set.contains(2970));
+        assertFalse(set.contains(0));
+    }
+
+    public void testMatchesReferenceMapUnderRandomOperations() {
+        NeighborSet set = new NeighborSet(true);
+        TreeMap<Integer, Integer> reference = new TreeMap<>();
+        Random random = new Random(42);
+        for (int op = 0; op < 20000; op++) {
+            int key = random.nextInt(300);
+            if (random.nextInt(3) == 0) {
+                assertEquals(reference.remove(key) != null, set.remove(key));
+            } else {
+                int weight = random.nextInt(100);
+                assertEquals(!reference.containsKey(key), set.add(key, weight));
+                reference.putIfAbsent(key, weight);
+            }
+            assertEquals(reference.size(), set.size());
+        }
+        for (int key = 0; key < 300; key++) {
+            Integer expected = reference.get(key);
+            assertEquals(expected != null, set.contains(key));
+            assertEquals(expected == null ? -1 : expected, set.getWeight(key, -1));
+        }
+    }
+
+    public void testRemoveAndRenumberInBothModes() {
+        NeighborSet small = new NeighborSet(false);
+        small.add(1);
+        small.add(5);
+        small.add(9);
+        small.removeAndRenumber(5);
+        assertEquals("[1, 8]", small.toString());
+
+        NeighborSet large = new NeighborSet(true);
+        for (int i = 0; i < 200; i++) {
+            large.add(i, i);
+        }
+        large.removeAndRenumber(100);
+        assertEquals(199, large.size());
+        assertEquals(101, large.getWeight(100, -1));
+        assertFalse(large.contains(199));
+    }
+}
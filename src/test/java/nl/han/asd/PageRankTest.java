@@ -0,0 +1,163 @@
+package nl.han.asd;
+
+import junit.framework.TestCase;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+public class PageRankTest extends TestCase {
+
+    private static final double EPSILON = 1e-9;
+
+    // Push-based power iteration straight from the definition
+    private static double[] reference(WeightedAdjacencyGraph graph, double[] teleport, int iterations) {
+        int n = graph.getVertexCount();
+        double[] rank = teleport.clone();
+        for (int iteration = 0; iteration < iterations; iteration++) {
+            double[] next = new double[n];
+            double dangling = 0;
+            for (int u = 0; u < n; u++) {
+                double[] total = new double[1];
+                graph.forEachEdge(u, (v, weight) -> total[0] += weight);
+                if (total[0] == 0) {
+                    dangling += rank[u];
+                    continue;
+                }
+                double share = rank[u] / total[0];
+                graph.forEachEdge(u, (v, weight) -> next[v] += 0.85 * share * weight);
+            }
+            for (int v = 0; v < n; v++) {
+                next[v] += (0.15 + 0.85 * dangling) * teleport[v];
+            }
+            rank = next;
+        }
+        return rank;
+    }
+
+    private static WeightedGraphAdjList randomWeighted(int n, int edges, long seed) {
+        Random random = new Random(seed);
+        WeightedGraphAdjList graph = new WeightedGraphAdjList(n);
+        for (int i = 0; i < edges; i++) {
+            graph.addEdge(random.nextInt(n), random.nextInt(n), 1 + random.nextInt(9));
+        }
+        return graph;
+    }
+
+    // Converged far below EPSILON, so it can be compared with the reference
+    private static PageRank precise() {
+        return new PageRank(ForkJoinPool.commonPool(), 0.85, 1e-14, 500);
+    }
+
+    private static double sum(double[] values) {
+        double total = 0;
+        for (double value : values) {
+            total += value;
+        }
+        return total;
+    }
+
+    private static void assertClose(double[] expected, double[] actual) {
+        assertEquals(expected.length, actual.length);
+        for (int v = 0; v < expected.length; v++) {
+            assertEquals(expected[v], actual[v], EPSILON);
+        }
+    }
+
+    public void testMatchesReferenceOnWeightedGraph() {
+        // Sparse enough to leave dangling vertices
+        WeightedGraphAdjList graph = randomWeighted(60, 90, 3);
+        PageRank.Result result = precise().compute(graph);
+        assertTrue(result.isConverged());
+        assertEquals(1.0, sum(result.getRanks()), EPSILON);
+        double[] uniform = new double[60];
+        Arrays.fill(uniform, 1.0 / 60);
+        assertClose(reference(graph, uniform, 200), result.getRanks());
+    }
+
+    public void testUnweightedListAndCsrAgree() {
+        Random random = new Random(8);
+        UnweightedGraphAdjList graph = new UnweightedGraphAdjList(40);
+        for (int i = 0; i < 100; i++) {
+            graph.addEdge(random.nextInt(40), random.nextInt(40));
+        }
+        PageRank pageRank = precise();
+        assertClose(pageRank.compute(graph.toCsr()).getRanks(), pageRank.compute(graph).getRanks());
+        double[] uniform = new double[40];
+        Arrays.fill(uniform, 1.0 / 40);
+        assertClose(reference(graph.toCsr(), uniform, 200), pageRank.compute(graph).getRanks());
+    }
+
+    public void testStarCenterRanksFirst() {
+        UnweightedGraphAdjList star = new UnweightedGraphAdjList(6);
+        for (int v = 1; v < 6; v++) {
+            star.addEdge(0, v);
+        }
+        PageRank.Result result = new PageRank().compute(star);
+        assertEquals(0, result.top(1)[0]);
+        assertEquals(result.getRank(1), result.getRank(5), EPSILON);
+        assertTrue(Arrays.equals(new int[]{0, 1, 2}, result.top(3)));
+    }
+
+    public void testPersonalizedStaysNearSeeds() {
+        // Two components: 0-1-2 and 3-4
+        UnweightedGraphAdjList graph = new UnweightedGraphAdjList(5);
+        graph.addEdge(0, 1);
+        graph.addEdge(1, 2);
+        graph.addEdge(3, 4);
+        PageRank.Result result = new PageRank().personalized(graph, 0, 0);
+        assertEquals(1.0, sum(result.getRanks()), EPSILON);
+        assertEquals(0.0, result.getRank(3));
+        assertEquals(0.0, result.getRank(4));
+        assertTrue(result.getRank(0) > result.getRank(2));
+
+        WeightedGraphAdjList weighted = randomWeighted(30, 80, 11);
+        double[] teleport = new double[30];
+        teleport[2] = 0.5;
+        teleport[7] = 0.5;
+        assertClose(reference(weighted, teleport, 200), precise().personalized(weighted, 2, 7).getRanks());
+    }
+
+    public void testParallelMatchesSequentialExactly() {
+        WeightedGraphAdjList graph = randomWeighted(20000, 100000, 5);
+        ForkJoinPool single = new ForkJoinPool(1);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            double[] expected = new PageRank(single, 0.85, 1e-10, 100).compute(graph).getRanks();
+            double[] actual = new PageRank(pool, 0.85, 1e-10, 100).compute(graph).getRanks();
+            assertTrue(Arrays.equals(expected, actual));
+        } finally {
+            single.shutdown();
+            pool.shutdown();
+        }
+    }
+
+    public void testIterationLimit() {
+        PageRank.Result result = new PageRank(ForkJoinPool.commonPool(), 0.85, 0, 3).compute(randomWeighted(20, 50, 1));
+        assertEquals(3, result.getIterations());
+        assertFalse(result.isConverged());
+    }
+
+    public void testInvalidArguments() {
+        try {
+            new PageRank(ForkJoinPool.commonPool(), 1.0, 1e-9, 10);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException expected) {
+            // Expected
+        }
+        try {
+            new PageRank().personalized(new UnweightedGraphAdjList(3), 5);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException expected) {
+            // Expected
+        }
+        WeightedGraphAdjList negative = new WeightedGraphAdjList(2);
+        negative.addEdge(0, 1, -3);
+        try {
+            new PageRank().compute(negative);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException expected) {
+            // Expected
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package nl.han.asd;
+
+import junit.framework.TestCase;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+public class ParallelBfsTest extends TestCase {
+
+    private final ForkJoinPool pool = new ForkJoinPool(4);
+
+    @Override
+    protected void tearDown() {
+        pool.shutdown();
+    }
+
+    // Plain queue-based BFS as the reference
+    private static int[] referenceDistances(AdjacencyGraph graph, int source) {
+        int[] distances = new int[graph.getVertexCount()];
+        Arrays.fill(distances, ParallelBfs.UNREACHED);
+        distances[source] = 0;
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        queue.add(source);
+        while (!queue.isEmpty()) {
+            int u = queue.poll();
+            graph.forEachNeighbor(u, v -> {
+                if (distances[v] == ParallelBfs.UNREACHED) {
+                    distances[v] = distances[u] + 1;
+                    queue.add(v);
+                }
+            });
+        }
+        return distances;
+    }
+
+    private static void assertValidTree(AdjacencyGraph graph, ParallelBfs.Result result, int source) {
+        assertEquals(source, result.getParent(source));
+        for (int v = 0; v < graph.getVertexCount(); v++) {
+            if (v != source && result.isReachable(v)) {
+                int parent = result.getParent(v);
+                assertTrue(graph.hasEdge(parent, v));
+                assertEquals(result.getDistance(v) - 1, result.getDistance(parent));
+            }
+        }
+    }
+
+    public void testMatchesSequentialBfsOnBothRepresentations() {
+        int n = 5000;
+        UnweightedGraphAdjList list = new UnweightedGraphAdjList(n);
+        UnweightedGraphMatrix matrix = new UnweightedGraphMatrix(n);
+        Random random = new Random(11);
+        // Sparse enough to leave some vertices unreached, dense enough to go bottom-up
+        for (int i = 0; i < 3 * n; i++) {
+            int a = random.nextInt(n);
+            int b = random.nextInt(n);
+            list.addEdge(a, b);
+            matrix.addEdge(a, b);
+        }
+        ParallelBfs bfs = new ParallelBfs(pool);
+        int[] expected = referenceDistances(list, 0);
+
+        ParallelBfs.Result fromList = bfs.search(list, 0);
+        assertTrue(Arrays.equals(expected, fromList.getDistances()));
+        assertValidTree(list, fromList, 0);
+        assertTrue(fromList.getBottomUpLevels() > 0);
+
+        ParallelBfs.Result fromMatrix = bfs.search(matrix, 0);
+        assertTrue(Arrays.equals(expected, fromMatrix.getDistances()));
+        assertValidTree(matrix, fromMatrix, 0);
+    }
+
+    public void testPathAndUnreachableVertices() {
+        UnweightedGraphMatrix graph = new UnweightedGraphMatrix(70);
+        for (int i = 0; i < 65; i++) {
+            graph.addEdge(i, i + 1);
+        }
+        ParallelBfs.Result result = new ParallelBfs(pool).search(graph, 0);
+        assertEquals(65, result.getDistance(65));
+        assertEquals(66, result.pathTo(65).length);
+        assertEquals(64, result.pathTo(65)[64]);
+        assertFalse(result.isReachable(69));
+        assertEquals(0, result.pathTo(69).length);
+    }
+
+    public void testReusesCsrUntilTheListChanges() {
+        UnweightedGraphAdjList graph = new UnweightedGraphAdjList(4);
+        graph.addEdge(0, 1);
+        ParallelBfs bfs = new ParallelBfs(pool);
+        CsrGraph first = bfs.csrOf(graph);
+        assertEquals(1, bfs.search(graph, 0).getDistance(1));
+        assertSame(first, bfs.csrOf(graph));
+
+        graph.addEdge(1, 2);
+        assertNotSame(first, bfs.csrOf(graph));
+        assertEquals(2, bfs.search(graph, 0).getDistance(2));
+        assertNotSame(bfs.csrOf(graph), bfs.csrOf(new UnweightedGraphAdjList(4)));
+    }
+
+    public void testRejectsInvalidSource() {
+        try {
+            new ParallelBfs(pool).search(new UnweightedGraphAdjList(3), 3);
+            fail();
+        } catch (IllegalArgumentException expected) {
+            // expected
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package nl.han.asd;
+
+import junit.framework.TestCase;
+
+import java.util.Arrays;
+
+public class QueryCacheTest extends TestCase {
+
+    private static UnweightedGraphAdjList path(int n) {
+        UnweightedGraphAdjList graph = new UnweightedGraphAdjList(n);
+        for (int i = 0; i + 1 < n; i++) {
+            graph.addEdge(i, i + 1);
+        }
+        return graph;
+    }
+
+    public void testRepeatedQueriesHitTheCache() {
+        QueryCache cache = new QueryCache(path(10), 100);
+        assertEquals(9.0, cache.distance(0, 9), 0.0);
+        assertEquals(9.0, cache.distance(0, 9), 0.0);
+        assertTrue(cache.isReachable(2, 7));
+        assertTrue(cache.isReachable(2, 7));
+        assertEquals(2, cache.getHitCount());
+        assertEquals(2, cache.getMissCount());
+        assertEquals(0.5, cache.getHitRate(), 0.0);
+    }
+
+    public void testMutationsInvalidateEveryAnswer() {
+        UnweightedGraphAdjList graph = path(10);
+        QueryCache cache = new QueryCache(graph, 100);
+        assertTrue(Arrays.equals(new int[]{0, 1, 2, 3}, cache.shortestPath(0, 3)));
+
+        graph.addEdge(0, 3);
+        assertTrue(Arrays.equals(new int[]{0, 3}, cache.shortestPath(0, 3)));
+        graph.removeEdge(0, 3);
+        graph.removeEdge(4, 5);
+        assertFalse(cache.isReachable(0, 9));
+        graph.addVertex();
+        assertEquals(Double.POSITIVE_INFINITY, cache.distance(0, 10), 0.0);
+        graph.removeVertex(10);
+        assertEquals(4.0, cache.distance(0, 4), 0.0);
+        assertEquals(0, cache.getHitCount());
+        assertEquals(4, cache.getInvalidationCount());
+    }
+
+    public void testWeightedGraphsUseWeightsAndMatrixVersions() {
+        WeightedGraphMatrix graph = new WeightedGraphMatrix(3);
+        graph.addEdge(0, 1, 5);
+        graph.addEdge(1, 2, 5);
+        graph.addEdge(0, 2, 20);
+        QueryCache cache = new QueryCache(graph, 10);
+        assertEquals(10.0, cache.distance(0, 2), 0.0);
+        graph.addEdge(0, 2, 1);
+        assertEquals(1.0, cache.distance(0, 2), 0.0);
+    }
+
+    public void testLeastRecentlyUsedAnswersAreEvictedBySize() {
+        QueryCache cache = new QueryCache(path(10), 12);
+        cache.shortestPath(0, 4);           // cost 6
+        cache.distance(0, 1);               // cost 1
+        cache.shortestPath(0, 4);           // hit, now most recent
+        cache.shortestPath(5, 9);           // cost 6, evicts distance(0, 1)
+        assertEquals(12, cache.getCost());
+        assertEquals(1, cache.getEvictionCount());
+        cache.shortestPath(0, 4);
+        assertEquals(2, cache.getHitCount());
+        cache.distance(0, 1);
+        assertEquals(2, cache.getHitCount());
+    }
+}
@@ -0,0 +1,61 @@
+package nl.han.asd;
+
+import junit.framework.TestCase;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Arrays;
+
+public class StreamingDatasetLoaderTest extends TestCase {
+
+    public void testLoadsBundledDataset() throws IOException {
+        StreamingDatasetLoader.Dataset dataset = new StreamingDatasetLoader().loadResource("/dataset.json");
+
+        UnweightedGraphAdjList list = dataset.getAdjacencyList();
+        assertEquals(7, list.getVertexCount());
+        assertTrue(list.hasEdge(1, 3));
+        assertFalse(list.hasEdge(0, 3));
+
+        UnweightedGraphMatrix matrix = dataset.getAdjacencyMatrix();
+        assertEquals(7, matrix.getVertexCount());
+        assertTrue(matrix.hasEdge(4, 5));
+        assertEquals(3, matrix.degree(4));
+
+        WeightedGraphAdjList weighted = dataset.getWeightedAdjacencyList();
+        assertEquals(5, weighted.getVertexCount());
+        assertEquals(99.0, weighted.getWeight(0, 1), 0.0);
+        assertEquals(75.0, weighted.getWeight(3, 4), 0.0);
+
+        WeightedGraphMatrix weightedMatrix = dataset.getWeightedAdjacencyMatrix();
+        assertEquals(50.0, weightedMatrix.getWeight(1, 4), 0.0);
+        assertFalse(weightedMatrix.hasEdge(4, 0));
+
+        assertEquals(8, dataset.getEdgeSources().length);
+        assertEquals(6, dataset.getEdgeTargets()[7]);
+        assertEquals(Arrays.toString(new int[]{99, 50, 50, 50, 50, 99, 75}),
+                Arrays.toString(dataset.getWeightedEdgeWeights()));
+        assertTrue(dataset.getLoadTimeNanos() > 0);
+    }
+
+    public void testMissingSectionsAndUnknownKeys() throws IOException {
+        String json = "{\"comment\": {\"a\": [1, 2]}, \"verbindingslijst\": [[1], [0], []]}";
+        StreamingDatasetLoader.Dataset dataset = new StreamingDatasetLoader().load(new StringReader(json));
+
+        assertEquals(3, dataset.getAdjacencyList().getVertexCount());
+        assertTrue(dataset.getAdjacencyList().hasEdge(0, 1));
+        assertNull(dataset.getWeightedAdjacencyMatrix());
+        assertNull(dataset.getEdgeSources());
+    }
+
+    public void testFractionalNumbersAreTruncated() throws IOException {
+        String json = "{\"verbindingslijst\": [[1.0], []],"
+                + " \"verbindingslijst_gewogen\": [[[1, 2.5]], [[0.0, 7.9]]],"
+                + " \"lijnlijst_gewogen\": [[0, 1.0, 3.5]]}";
+        StreamingDatasetLoader.Dataset dataset = new StreamingDatasetLoader().load(new StringReader(json));
+
+        assertTrue(dataset.getAdjacencyList().hasEdge(0, 1));
+        assertEquals(2.0, dataset.getWeightedAdjacencyList().getWeight(0, 1), 0.0);
+        assertEquals(7.0, dataset.getWeightedAdjacencyList().getWeight(1, 0), 0.0);
+        assertEquals("[3]", Arrays.toString(dataset.getWeightedEdgeWeights()));
+    }
+}
@@ -0,0 +1,105 @@
+package nl.han.asd;
+
+import junit.framework.TestCase;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+public class TextEdgeListReaderTest extends TestCase {
+
+    private Path file;
+    private ForkJoinPool pool;
+
+    @Override
+    protected void setUp() throws IOException {
+        file = Files.createTempFile("edges", ".txt");
+        pool = new ForkJoinPool(4);
+    }
+
+    @Override
+    protected void tearDown() throws IOException {
+        pool.shutdown();
+        Files.deleteIfExists(file);
+    }
+
+    private void write(String text) throws IOException {
+        Files.write(file, text.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    public void testParsesSeparatorsCommentsAndWeights() throws IOException {
+        write("# SNAP style header\n% another comment\n\n0 1 99\r\n0,2,50\n1\t2\t50.75\n  1 ; 3 ; -4 extra\n4 5 6");
+        EdgeList edges = new TextEdgeListReader().read(file, true);
+        assertTrue(Arrays.equals(new int[]{0, 0, 1, 1, 4}, edges.getSources()));
+        assertTrue(Arrays.equals(new int[]{1, 2, 2, 3, 5}, edges.getTargets()));
+        assertTrue(Arrays.equals(new int[]{99, 50, 50, -4, 6}, edges.getWeights()));
+
+        EdgeList unweighted = new TextEdgeListReader().read(file, false);
+        assertNull(unweighted.getWeights());
+        assertEquals(5, unweighted.size());
+    }
+
+    public void testEmptyFile() throws IOException {
+        write("");
+        assertEquals(0, new TextEdgeListReader().read(file, false).size());
+    }
+
+    public void testSmallChunksMatchOneChunk() throws IOException {
+        Random random = new Random(5);
+        int m = 20000;
+        int[] src = new int[m];
+        int[] dest = new int[m];
+        int[] weights = new int[m];
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.US_ASCII)) {
+            for (int i = 0; i < m; i++) {
+                src[i] = random.nextInt(100000);
+                dest[i] = random.nextInt(100000);
+                weights[i] = random.nextInt(1000);
+                writer.write(src[i] + (i % 2 == 0 ? " " : ",") + dest[i] + " " + weights[i] + "\n");
+                if (i % 1000 == 0) {
+                    writer.write("# checkpoint " + i + "\n\n");
+                }
+            }
+        }
+        // Chunks far shorter than some lines, and chunks of a few lines each
+        for (int chunkBytes : new int[]{1, 7, 64, 4096}) {
+            EdgeList edges = new TextEdgeListReader(pool, chunkBytes).read(file, true);
+            assertTrue(Arrays.equals(src, edges.getSources()));
+            assertTrue(Arrays.equals(dest, edges.getTargets()));
+            assertTrue(Arrays.equals(weights, edges.getWeights()));
+        }
+    }
+
+    public void testFeedsBuilder() throws IOException {
+        write("0 1\n0 2\n1 2\n1 3\n2 4\n3 4\n4 5\n5 6\n");
+        EdgeList edges = new TextEdgeListReader(pool, 8).read(file, false);
+        UnweightedGraphAdjList graph = new EdgeListBuilder().buildUnweightedAdjList(edges, -1);
+        assertEquals(7, graph.getVertexCount());
+        assertTrue(graph.hasEdge(4, 2));
+        assertEquals(3, graph.degree(4));
+    }
+
+    public void testMalformedLines() throws IOException {
+        for (String text : new String[]{"0 1\n2\n", "0 x\n", "0 1a\n", "0 -\n", "0 3000000000\n"}) {
+            write(text);
+            try {
+                new TextEdgeListReader(pool, 2).read(file, false);
+                fail("Expected IOException for " + text);
+            } catch (IOException expected) {
+                assertTrue(expected.getMessage().startsWith("Malformed edge line"));
+            }
+        }
+        write("0 1\n");
+        try {
+            new TextEdgeListReader().read(file, true);
+            fail("Expected IOException for a missing weight");
+        } catch (IOException expected) {
+            // Expected
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package nl.han.asd;
+
+import junit.framework.TestCase;
+
+public class TombstoneRemovalTest extends TestCase {
+
+    public void testUnweightedRemovalKeepsIdsUntilCompact() {
+        UnweightedGraphAdjList graph = new UnweightedGraphAdjList(4);
+        graph.setTombstoneMode(true);
+        graph.addEdge(0, 1);
+        graph.addEdge(1, 2);
+        graph.addEdge(2, 3);
+
+        graph.removeVertex(1);
+
+        assertEquals(4, graph.getVertexCount());
+        assertEquals(3, graph.getLiveVertexCount());
+        assertTrue(graph.isRemoved(1));
+        assertFalse(graph.hasEdge(0, 1));
+        assertFalse(graph.hasEdge(2, 1));
+        assertTrue(graph.hasEdge(2, 3));
+
+        int[] mapping = graph.compact();
+        assertEquals(0, mapping[0]);
+        assertEquals(-1, mapping[1]);
+        assertEquals(1, mapping[2]);
+        assertEquals(2, mapping[3]);
+        assertEquals(3, graph.getVertexCount());
+        assertTrue(graph.hasEdge(1, 2));
+        assertFalse(graph.hasEdge(0, 1));
+    }
+
+    public void testWeightedRemovalUsesIncomingEdges() {
+        WeightedGraphAdjList graph = new WeightedGraphAdjList(4);
+        graph.addEdge(0, 2, 5);
+        graph.addEdge(3, 2, 6);
+        graph.addEdge(2, 1, 7);
+        graph.setTombstoneMode(true);
+        graph.addEdge(1, 3, 8);
+
+        graph.removeVertex(2);
+
+        assertEquals(3, graph.getLiveVertexCount());
+        assertEquals(0, graph.toCsr().degree(0));
+        assertEquals(0, graph.toCsr().degree(3));
+        assertTrue(graph.toCsr().hasEdge(1, 3));
+
+        // Turning the mode off compacts the pending tombstones
+        graph.setTombstoneMode(false);
+        assertEquals(3, graph.getVertexCount());
+        CsrGraph csr = graph.toCsr();
+        assertEquals(1, csr.getEdgeCount());
+        assertEquals(8.0, csr.getWeight(1, 2), 0.0);
+    }
+}
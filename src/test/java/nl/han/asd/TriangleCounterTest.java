@@ -0,0 +1,122 @@
+package nl.han.asd;
+
+import junit.framework.TestCase;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+public class TriangleCounterTest extends TestCase {
+
+    // Every vertex triple checked directly
+    private static long[] bruteForce(AdjacencyGraph graph) {
+        int n = graph.getVertexCount();
+        long[] triangles = new long[n];
+        for (int a = 0; a < n; a++) {
+            for (int b = a + 1; b < n; b++) {
+                if (!graph.hasEdge(a, b)) {
+                    continue;
+                }
+                for (int c = b + 1; c < n; c++) {
+                    if (graph.hasEdge(a, c) && graph.hasEdge(b, c)) {
+                        triangles[a]++;
+                        triangles[b]++;
+                        triangles[c]++;
+                    }
+                }
+            }
+        }
+        return triangles;
+    }
+
+    private static UnweightedGraphAdjList randomGraph(int n, int edges, long seed) {
+        Random random = new Random(seed);
+        UnweightedGraphAdjList graph = new UnweightedGraphAdjList(n);
+        for (int i = 0; i < edges; i++) {
+            // Includes self-loops and duplicates
+            graph.addEdge(random.nextInt(n), random.nextInt(n));
+        }
+        return graph;
+    }
+
+    private static void assertCounts(long[] expected, TriangleCounter.Result result) {
+        long sum = 0;
+        for (int v = 0; v < expected.length; v++) {
+            assertEquals("vertex " + v, expected[v], result.getTriangles(v));
+            sum += expected[v];
+        }
+        assertEquals(sum / 3, result.getTotal());
+    }
+
+    public void testCompleteGraph() {
+        UnweightedGraphAdjList k5 = new UnweightedGraphAdjList(5);
+        for (int u = 0; u < 5; u++) {
+            for (int v = u + 1; v < 5; v++) {
+                k5.addEdge(u, v);
+            }
+        }
+        k5.addEdge(2, 2);
+        TriangleCounter.Result result = new TriangleCounter().count(k5);
+        assertEquals(10, result.getTotal());
+        assertEquals(6, result.getTriangles(2));
+        assertEquals(1.0, result.getClusteringCoefficient(2));
+        assertEquals(1.0, result.getAverageClustering());
+
+        TriangleCounter.Result matrix = new TriangleCounter().count(UnweightedGraphMatrix.fromAdjList(k5));
+        assertEquals(10, matrix.getTotal());
+        assertEquals(1.0, matrix.getClusteringCoefficient(2));
+    }
+
+    public void testClusteringCoefficient() {
+        // Triangle 0-1-2 with a pendant 3 on vertex 0
+        UnweightedGraphAdjList graph = new UnweightedGraphAdjList(4);
+        graph.addEdge(0, 1);
+        graph.addEdge(1, 2);
+        graph.addEdge(2, 0);
+        graph.addEdge(0, 3);
+        TriangleCounter.Result result = new TriangleCounter().count(graph);
+        assertEquals(1.0 / 3, result.getClusteringCoefficient(0), 1e-12);
+        assertEquals(1.0, result.getClusteringCoefficient(1));
+        assertEquals(0.0, result.getClusteringCoefficient(3));
+        assertEquals((1.0 / 3 + 2) / 4, result.getAverageClustering(), 1e-12);
+    }
+
+    public void testMatchesBruteForce() {
+        UnweightedGraphAdjList graph = randomGraph(80, 600, 4);
+        long[] expected = bruteForce(graph);
+        assertCounts(expected, new TriangleCounter().count(graph));
+        assertCounts(expected, new TriangleCounter().count(UnweightedGraphMatrix.fromAdjList(graph)));
+    }
+
+    public void testSkewedDegreesAndParallelPool() {
+        // Hubs connected to everything make the galloping path run
+        UnweightedGraphAdjList graph = randomGraph(3000, 6000, 9);
+        for (int v = 0; v < 3000; v += 2) {
+            graph.addEdge(0, v);
+            graph.addEdge(1, v);
+        }
+        long[] expected = new TriangleCounter(new ForkJoinPool(1)).count(UnweightedGraphMatrix.fromAdjList(graph))
+                .getTriangleCounts();
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            assertCounts(expected, new TriangleCounter(pool).count(graph));
+            assertCounts(expected, new TriangleCounter(pool).count(UnweightedGraphMatrix.fromAdjList(graph)));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    public void testIntersectMergeAndGallop() {
+        int[] targets = {1, 3, 5, 7, 0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16,
+                17, 18, 19, 20, 21, 22, 23, 24, 25, 26, 27, 28, 29, 30, 31, 32, 33, 34, 35, 36,
+                37, 38, 39, 40, 41, 42, 43, 44, 45, 46, 47, 48, 49, 50, 51, 52, 53, 54, 55, 56,
+                57, 58, 59, 60, 61, 62, 63, 64, 65, 66, 67, 68, 69, 70, 71, 72, 73, 74, 75, 76};
+        AtomicLongArray counts = new AtomicLongArray(100);
+        // 2 against 73 elements gallops, 4 against 73 merges
+        assertEquals(2, TriangleCounter.intersect(targets, 1, 3, 4, targets.length, counts));
+        assertEquals(4, TriangleCounter.intersect(targets, 4, targets.length, 0, 4, counts));
+        assertEquals(2, counts.get(3));
+        assertEquals(1, counts.get(1));
+        assertEquals(0, TriangleCounter.intersect(targets, 0, 0, 4, targets.length, counts));
+    }
+}
@@ -0,0 +1,70 @@
+package nl.han.asd;
+
+import junit.framework.TestCase;
+
+import java.util.BitSet;
+
+public class UnweightedGraphMatrixTest extends TestCase {
+
+    public void testEdgesAcrossWordBoundaries() {
+        UnweightedGraphMatrix graph = new UnweightedGraphMatrix(0);
+        for (int i = 0; i < 200; i++) {
+            graph.addVertex();
+        }
+        graph.addEdge(0, 63);
+        graph.addEdge(0, 64);
+        graph.addEdge(0, 199);
+
+        assertTrue(graph.hasEdge(0, 63));
+        assertTrue(graph.hasEdge(64, 0));
+        assertTrue(graph.hasEdge(199, 0));
+        assertFalse(graph.hasEdge(0, 65));
+        assertEquals(3, graph.degree(0));
+
+        graph.removeEdge(0, 64);
+        assertFalse(graph.hasEdge(0, 64));
+        assertEquals(2, graph.degree(0));
+    }
+
+    public void testRemoveVertexShiftsHigherColumns() {
+        UnweightedGraphMatrix graph = new UnweightedGraphMatrix(130);
+        graph.addEdge(1, 63);
+        graph.addEdge(1, 64);
+        graph.addEdge(1, 129);
+        graph.addEdge(2, 10);
+
+        graph.removeVertex(10);
+
+        assertEquals(129, graph.getVertexCount());
+        assertTrue(graph.hasEdge(1, 62));
+        assertTrue(graph.hasEdge(1, 63));
+        assertTrue(graph.hasEdge(1, 128));
+        assertTrue(graph.hasEdge(128, 1));
+        assertEquals(3, graph.degree(1));
+        assertEquals(0, graph.degree(2));
+
+        // The freed column must not reappear after growing again
+        graph.addVertex();
+        assertFalse(graph.hasEdge(1, 129));
+        assertEquals(0, graph.degree(129));
+    }
+
+    public void testCommonAndUnionNeighbours() {
+        UnweightedGraphMatrix graph = new UnweightedGraphMatrix(100);
+        graph.addEdge(0, 5);
+        graph.addEdge(0, 70);
+        graph.addEdge(0, 90);
+        graph.addEdge(1, 70);
+        graph.addEdge(1, 90);
+        graph.addEdge(1, 3);
+
+        assertEquals(2, graph.commonNeighbourCount(0, 1));
+        assertEquals(4, graph.unionNeighbourCount(0, 1));
+
+        BitSet common = graph.neighbourIntersection(0, 1);
+        assertEquals(2, common.cardinality());
+        assertTrue(common.get(70));
+        assertTrue(common.get(90));
+        assertEquals(4, graph.neighbourUnion(0, 1).cardinality());
+    }
+}
@@ -0,0 +1,128 @@
+package nl.han.asd;
+
+import junit.framework.TestCase;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class VersionedGraphTest extends TestCase {
+
+    public void testSnapshotIsIsolatedFromLaterWrites() {
+        VersionedGraph graph = new VersionedGraph(4, true);
+        graph.addEdge(0, 1);
+        graph.addEdge(1, 2, 5);
+        VersionedGraph.Snapshot before = graph.snapshot();
+
+        graph.addEdge(0, 3);
+        graph.removeEdge(1, 2);
+        graph.addVertex();
+        graph.addEdge(4, 0);
+
+        assertEquals(4, before.getVertexCount());
+        assertEquals(4, before.getArcCount());
+        assertTrue(before.hasEdge(2, 1));
+        assertEquals(5.0, before.getWeight(1, 2), 0.0);
+        assertFalse(before.hasEdge(0, 3));
+        assertEquals(1, before.degree(0));
+
+        VersionedGraph.Snapshot after = graph.snapshot();
+        assertEquals(5, after.getVertexCount());
+        assertFalse(after.hasEdge(1, 2));
+        assertEquals(3, after.degree(0));
+        assertTrue(after.getVersion() > before.getVersion());
+    }
+
+    public void testMatchesAdjacencyListUnderRandomWrites() {
+        int n = 300;
+        VersionedGraph graph = new VersionedGraph(n, true);
+        UnweightedGraphAdjList expected = new UnweightedGraphAdjList(n);
+        Random random = new Random(3);
+        List<VersionedGraph.Snapshot> snapshots = new ArrayList<>();
+        for (int i = 0; i < 20000; i++) {
+            int u = random.nextInt(n);
+            int v = random.nextInt(n);
+            if (random.nextInt(4) == 0) {
+                graph.removeEdge(u, v);
+                expected.removeEdge(u, v);
+            } else {
+                graph.addEdge(u, v);
+                expected.addEdge(u, v);
+            }
+            if (i % 1000 == 0) {
+                snapshots.add(graph.snapshot());
+            }
+        }
+        graph.removeVertex(17);
+        expected.removeVertex(17);
+        VersionedGraph.Snapshot snapshot = graph.snapshot();
+        CsrGraph csr = snapshot.toCsr();
+        for (int v = 0; v < n - 1; v++) {
+            List<Integer> expectedNeighbors = GraphFixtures.neighbors(expected.toCsr(), v);
+            assertEquals(expectedNeighbors, GraphFixtures.neighbors(snapshot, v));
+            assertEquals(expectedNeighbors, GraphFixtures.neighbors(csr, v));
+            assertEquals(expectedNeighbors, GraphFixtures.neighbors(graph, v));
+        }
+        // Old snapshots stay internally consistent
+        for (VersionedGraph.Snapshot old : snapshots) {
+            long arcs = 0;
+            for (int v = 0; v < old.getVertexCount(); v++) {
+                arcs += old.degree(v);
+                final int source = v;
+                old.forEachNeighbor(v, w -> assertTrue(old.hasEdge(w, source)));
+            }
+            assertEquals(old.getArcCount(), arcs);
+        }
+    }
+
+    public void testUntouchedPagesAreShared() {
+        int n = 100 * VersionedGraph.PAGE_SIZE;
+        VersionedGraph graph = new VersionedGraph(n, false);
+        for (int v = 0; v + 1 < n; v++) {
+            graph.addEdge(v, v + 1);
+        }
+        VersionedGraph.Snapshot first = graph.snapshot();
+        graph.addEdge(0, 5);
+        graph.addEdge(VersionedGraph.PAGE_SIZE * 50, 7);
+        VersionedGraph.Snapshot second = graph.snapshot();
+        assertEquals(98, first.sharedPages(second));
+        assertFalse(first.hasEdge(0, 5));
+        assertTrue(second.hasEdge(0, 5));
+    }
+
+    // A reader walks snapshots while a writer keeps adding a growing path
+    public void testReaderTraversesSnapshotsDuringWrites() throws InterruptedException {
+        int n = 5000;
+        VersionedGraph graph = new VersionedGraph(n, false);
+        AtomicBoolean done = new AtomicBoolean();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread reader = new Thread(() -> {
+            try {
+                while (!done.get()) {
+                    VersionedGraph.Snapshot snapshot = graph.snapshot();
+                    // The path 0 -> 1 -> ... must be unbroken up to its end in every snapshot
+                    int length = 0;
+                    for (int v = 0; snapshot.degree(v) > 0; v++) {
+                        assertTrue(snapshot.hasEdge(v, v + 1));
+                        length++;
+                    }
+                    assertEquals(snapshot.getArcCount(), length);
+                }
+            } catch (Throwable e) {
+                failure.set(e);
+            }
+        });
+        reader.start();
+        for (int v = 0; v + 1 < n; v++) {
+            graph.addEdge(v, v + 1);
+        }
+        done.set(true);
+        reader.join();
+        if (failure.get() != null) {
+            throw new AssertionError(failure.get());
+        }
+        assertEquals(n - 1, graph.getArcCount());
+    }
+}
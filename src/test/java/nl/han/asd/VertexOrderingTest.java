@@ -0,0 +1,162 @@
+package nl.han.asd;
+
+import junit.framework.TestCase;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+public class VertexOrderingTest extends TestCase {
+
+    private static final int SIDE = 20;
+
+    // SIDE x SIDE grid with its ids shuffled
+    private static UnweightedGraphAdjList shuffledGrid(long seed) {
+        List<Integer> ids = new ArrayList<>();
+        for (int v = 0; v < SIDE * SIDE; v++) {
+            ids.add(v);
+        }
+        Collections.shuffle(ids, new Random(seed));
+        UnweightedGraphAdjList graph = new UnweightedGraphAdjList(SIDE * SIDE);
+        for (int row = 0; row < SIDE; row++) {
+            for (int col = 0; col < SIDE; col++) {
+                int v = ids.get(row * SIDE + col);
+                if (col + 1 < SIDE) {
+                    graph.addEdge(v, ids.get(row * SIDE + col + 1));
+                }
+                if (row + 1 < SIDE) {
+                    graph.addEdge(v, ids.get((row + 1) * SIDE + col));
+                }
+            }
+        }
+        return graph;
+    }
+
+    private static void assertPermutation(VertexOrdering ordering, int n) {
+        assertEquals(n, ordering.size());
+        boolean[] seen = new boolean[n];
+        for (int v = 0; v < n; v++) {
+            int id = ordering.toNew(v);
+            assertFalse(seen[id]);
+            seen[id] = true;
+            assertEquals(v, ordering.toOld(id));
+        }
+    }
+
+    // Every edge of original appears between the translated ids in reordered, and nothing else
+    private static void assertSameGraph(VertexOrdering ordering, WeightedAdjacencyGraph original,
+                                        WeightedAdjacencyGraph reordered) {
+        assertEquals(original.getVertexCount(), reordered.getVertexCount());
+        for (int u = 0; u < original.getVertexCount(); u++) {
+            int source = u;
+            assertEquals(original.degree(u), reordered.degree(ordering.toNew(u)));
+            original.forEachEdge(u, (v, weight) ->
+                    assertEquals(weight, reordered.getWeight(ordering.toNew(source), ordering.toNew(v))));
+        }
+    }
+
+    public void testOrdersArePermutations() {
+        UnweightedGraphAdjList graph = shuffledGrid(1);
+        // A second component and an isolated vertex
+        graph.addVertex();
+        graph.addVertex();
+        graph.addVertex();
+        graph.addEdge(400, 401);
+        int n = graph.getVertexCount();
+        assertPermutation(VertexOrdering.reverseCuthillMcKee(graph), n);
+        assertPermutation(VertexOrdering.byDegree(graph), n);
+        assertPermutation(VertexOrdering.bfs(graph, 7), n);
+        assertEquals(0, VertexOrdering.bfs(graph, 7).toNew(7));
+    }
+
+    public void testReverseCuthillMcKeeOnDirectedGraphs() {
+        WeightedGraphAdjList single = new WeightedGraphAdjList(3);
+        single.addEdge(0, 1, 1);
+        assertPermutation(VertexOrdering.reverseCuthillMcKee(single), 3);
+
+        WeightedGraphAdjList chain = new WeightedGraphAdjList(4);
+        chain.addEdge(3, 0, 1);
+        chain.addEdge(0, 1, 1);
+        chain.addEdge(2, 1, 1);
+        assertPermutation(VertexOrdering.reverseCuthillMcKee(chain), 4);
+
+        // Edges from later components back into vertices that are already placed
+        Random random = new Random(6);
+        for (int round = 0; round < 20; round++) {
+            WeightedGraphAdjList graph = new WeightedGraphAdjList(30);
+            for (int i = 0; i < 25; i++) {
+                graph.addEdge(random.nextInt(30), random.nextInt(30), 1);
+            }
+            VertexOrdering ordering = VertexOrdering.reverseCuthillMcKee(graph);
+            assertPermutation(ordering, 30);
+            assertSameGraph(ordering, graph, ordering.apply(graph));
+        }
+    }
+
+    public void testReverseCuthillMcKeeShrinksBandwidth() {
+        UnweightedGraphAdjList graph = shuffledGrid(2);
+        UnweightedGraphAdjList reordered = VertexOrdering.reverseCuthillMcKee(graph).apply(graph);
+        assertTrue(VertexOrdering.bandwidth(graph) > 10 * SIDE);
+        // A grid in RCM order only links vertices on neighbouring anti-diagonals
+        assertTrue(VertexOrdering.bandwidth(reordered) <= 2 * SIDE);
+    }
+
+    public void testByDegreePutsHubsFirst() {
+        UnweightedGraphAdjList star = new UnweightedGraphAdjList(5);
+        for (int v = 0; v < 4; v++) {
+            star.addEdge(3, v == 3 ? 4 : v);
+        }
+        star.addEdge(0, 1);
+        VertexOrdering ordering = VertexOrdering.byDegree(star);
+        assertEquals(3, ordering.toOld(0));
+        assertEquals(0, ordering.toOld(1));
+        assertEquals(1, ordering.toOld(2));
+        assertEquals(2, ordering.toOld(3));
+    }
+
+    public void testApplyKeepsEveryRepresentation() {
+        UnweightedGraphAdjList list = shuffledGrid(3);
+        list.addEdge(5, 5);
+        VertexOrdering ordering = VertexOrdering.reverseCuthillMcKee(list);
+        assertSameGraph(ordering, list.toCsr(), ordering.apply(list).toCsr());
+        assertSameGraph(ordering, list.toCsr(), ordering.apply(list.toCsr()));
+        UnweightedGraphMatrix matrix = UnweightedGraphMatrix.fromAdjList(list);
+        assertSameGraph(ordering, matrix.toCsr(), ordering.apply(matrix).toCsr());
+
+        Random random = new Random(4);
+        WeightedGraphAdjList weighted = new WeightedGraphAdjList(50);
+        for (int i = 0; i < 200; i++) {
+            weighted.addEdge(random.nextInt(50), random.nextInt(50), 1 + random.nextInt(9));
+        }
+        VertexOrdering directed = VertexOrdering.byDegree(weighted);
+        assertSameGraph(directed, weighted, directed.apply(weighted));
+        assertSameGraph(directed, weighted.toCsr(), directed.apply(weighted.toCsr()));
+        WeightedGraphMatrix weightedMatrix = WeightedGraphMatrix.fromAdjList(weighted);
+        assertSameGraph(directed, weightedMatrix, directed.apply(weightedMatrix));
+    }
+
+    public void testInvalidInput() {
+        try {
+            VertexOrdering.of(new int[]{0, 0});
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException expected) {
+            // Expected
+        }
+        try {
+            VertexOrdering.of(new int[]{1, 0}).apply(new UnweightedGraphAdjList(3));
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException expected) {
+            // Expected
+        }
+        UnweightedGraphAdjList tombstoned = new UnweightedGraphAdjList(3);
+        tombstoned.setTombstoneMode(true);
+        tombstoned.removeVertex(1);
+        try {
+            VertexOrdering.of(new int[]{2, 1, 0}).apply(tombstoned);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException expected) {
+            // Expected
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package nl.han.asd;
+
+import junit.framework.TestCase;
+
+public class WeightedGraphMatrixTest extends TestCase {
+
+    public void testAddVertexKeepsExistingWeights() {
+        WeightedGraphMatrix graph = new WeightedGraphMatrix(3);
+        graph.addEdge(0, 2, 5.0);
+        graph.addEdge(2, 1, 7.0);
+
+        for (int i = 0; i < 10; i++) {
+            graph.addVertex();
+        }
+
+        assertEquals(13, graph.getVertexCount());
+        assertEquals(5.0, graph.getWeight(0, 2), 0.0);
+        assertEquals(7.0, graph.getWeight(2, 1), 0.0);
+        assertFalse(graph.hasEdge(0, 12));
+        assertFalse(graph.hasEdge(12, 0));
+
+        graph.addEdge(12, 0, 3.0);
+        assertEquals(3.0, graph.getWeight(12, 0), 0.0);
+    }
+
+    public void testRemoveVertexCompactsRowsAndColumns() {
+        WeightedGraphMatrix graph = new WeightedGraphMatrix(4);
+        graph.addEdge(0, 3, 1.0);
+        graph.addEdge(3, 0, 2.0);
+        graph.addEdge(1, 2, 3.0);
+        graph.addEdge(3, 2, 4.0);
+
+        graph.removeVertex(1);
+
+        assertEquals(3, graph.getVertexCount());
+        assertEquals(1.0, graph.getWeight(0, 2), 0.0);
+        assertEquals(2.0, graph.getWeight(2, 0), 0.0);
+        assertEquals(4.0, graph.getWeight(2, 1), 0.0);
+        assertFalse(graph.hasEdge(0, 1));
+
+        // Re-added vertex starts without edges
+        graph.addVertex();
+        for (int v = 0; v < 4; v++) {
+            assertFalse(graph.hasEdge(3, v));
+            assertFalse(graph.hasEdge(v, 3));
+        }
+    }
+
+    public void testConstructorRejectsSizesThatOverflow() {
+        // 65536 * 65536 wraps to 0 in int arithmetic, 50000 * 50000 to a negative size
+        for (int size : new int[]{-1, 46341, 50000, 65536}) {
+            try {
+                new WeightedGraphMatrix(size);
+                fail("Expected IllegalArgumentException for " + size);
+            } catch (IllegalArgumentException expected) {
+                // Expected
+            }
+        }
+    }
+}